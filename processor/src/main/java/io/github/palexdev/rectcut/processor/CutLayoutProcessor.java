@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.processor;
+
+import io.github.palexdev.rectcut.plan.CutLayout;
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import io.github.palexdev.rectcut.plan.PlanSourceGenerator;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+/// Annotation processor which generates a [io.github.palexdev.rectcut.plan.CompiledLayout] for every type annotated
+/// with [CutLayout].
+///
+/// The annotation is converted to a [LayoutPlan] with [LayoutPlan#of(CutLayout)], so the steps are validated exactly
+/// as they would be at runtime, and the plan is compiled to source by [PlanSourceGenerator]. Invalid descriptions are
+/// reported as compilation errors on the annotated type.
+///
+/// For every generated class, a `reflect-config.json` is also written under `META-INF/native-image`, which GraalVM's
+/// `native-image` picks up automatically, so that [io.github.palexdev.rectcut.plan.CompiledLayouts] can load the
+/// generated class in native executables too.
+@SupportedAnnotationTypes("io.github.palexdev.rectcut.plan.CutLayout")
+public class CutLayoutProcessor extends AbstractProcessor {
+
+    //================================================================================
+    // Overridden Methods
+    //================================================================================
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(CutLayout.class)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.INTERFACE &&
+                element.getKind() != ElementKind.RECORD && element.getKind() != ElementKind.ENUM) continue;
+            generate((TypeElement) element);
+        }
+        return true;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+    private void generate(TypeElement type) {
+        CutLayout annotation = type.getAnnotation(CutLayout.class);
+        LayoutPlan plan;
+        try {
+            plan = LayoutPlan.of(annotation);
+        } catch (IllegalArgumentException ex) {
+            error(type, "Invalid @CutLayout: " + ex.getMessage());
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String className = annotation.className().isEmpty()
+            ? type.getSimpleName() + "Layout"
+            : annotation.className();
+        if (!SourceVersion.isIdentifier(className) || SourceVersion.isKeyword(className)) {
+            error(type, "Invalid generated class name: " + className);
+            return;
+        }
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+
+        String source = PlanSourceGenerator.generate(plan, packageName, className, type.getQualifiedName().toString());
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException ex) {
+            error(type, "Could not write " + qualifiedName + ": " + ex.getMessage());
+            return;
+        }
+
+        // Reflection metadata, so that CompiledLayouts can find the generated class in native images
+        String metadata = "META-INF/native-image/rectcut/" + qualifiedName + "/reflect-config.json";
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", metadata, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(reflectConfig(qualifiedName, processingEnv.getElementUtils().getBinaryName(type).toString()));
+            }
+        } catch (IOException ex) {
+            error(type, "Could not write " + metadata + ": " + ex.getMessage());
+        }
+    }
+
+    /// Registers the `INSTANCE` field of the generated class, and the annotated type so that its annotation can be
+    /// read when falling back to the interpreter.
+    static String reflectConfig(String generated, String annotated) {
+        return """
+            [
+              {
+                "name": "%s",
+                "fields": [{"name": "INSTANCE"}]
+              },
+              {
+                "name": "%s"
+              }
+            ]
+            """.formatted(generated, annotated);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
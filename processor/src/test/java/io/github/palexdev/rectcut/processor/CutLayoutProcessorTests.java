@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.processor;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.plan.CompiledLayout;
+import io.github.palexdev.rectcut.plan.CompiledLayouts;
+import io.github.palexdev.rectcut.plan.CutLayout;
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CutLayoutProcessorTests {
+    private static final String DASHBOARD = """
+        package test;
+
+        import io.github.palexdev.rectcut.RectSide;
+        import io.github.palexdev.rectcut.plan.Cut;
+        import io.github.palexdev.rectcut.plan.CutLayout;
+        import io.github.palexdev.rectcut.plan.PlanOp;
+
+        @CutLayout(params = {"sidebar"}, value = {
+            @Cut(op = PlanOp.INSETS, values = {8}),
+            @Cut(side = RectSide.TOP, amount = 40, name = "toolbar"),
+            @Cut(op = PlanOp.SPACING, from = "toolbar", values = {4, 0}),
+            @Cut(from = "toolbar", side = RectSide.RIGHT, amount = 32, name = "close"),
+            @Cut(from = "toolbar", side = RectSide.RIGHT, amount = 32, name = "max"),
+            @Cut(op = PlanOp.MIDDLE_H, from = "toolbar", amount = 120, name = "title"),
+            @Cut(side = RectSide.BOTTOM, amount = 10, percent = true, name = "status"),
+            @Cut(side = RectSide.LEFT, param = "sidebar", name = "sidebar"),
+            @Cut(op = PlanOp.GET, from = "sidebar", side = RectSide.TOP, amount = 24, name = "header"),
+            @Cut(op = PlanOp.ADD, from = "status", side = RectSide.TOP, amount = 2, name = "divider"),
+            @Cut(op = PlanOp.MIDDLE_V, from = "sidebar", param = "logo", name = "logo"),
+            @Cut(op = PlanOp.REST, name = "content")
+        })
+        public class Dashboard {}
+        """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testGeneratedMatchesRect() throws Exception {
+        try (URLClassLoader loader = compile("test.Dashboard", DASHBOARD)) {
+            Class<?> type = loader.loadClass("test.Dashboard");
+            CompiledLayout generated = (CompiledLayout) loader.loadClass("test.DashboardLayout")
+                .getField("INSTANCE").get(null);
+            CompiledLayout interpreted = LayoutPlan.of(type.getAnnotation(CutLayout.class));
+            assertEquals(11, generated.size());
+            assertEquals(interpreted.size(), generated.size());
+            assertEquals("content", generated.name(10));
+            assertEquals(0, generated.paramIndex("sidebar"));
+            assertEquals(1, generated.paramIndex("logo"));
+
+            Random random = new Random(7);
+            RectBuffer gOut = new RectBuffer();
+            RectBuffer iOut = new RectBuffer();
+            for (int i = 0; i < 1000; i++) {
+                // Small bounds too, so that clamping kicks in
+                double x = random.nextInt(100);
+                double y = random.nextInt(100);
+                double w = random.nextInt(i % 2 == 0 ? 100 : 1000);
+                double h = random.nextInt(i % 2 == 0 ? 100 : 1000);
+                Rect bounds = Rect.of(x, y, x + w, y + h)
+                    .withHSpacing(random.nextInt(5))
+                    .withVSpacing(random.nextInt(5));
+                double[] params = {random.nextInt(300), random.nextInt(80)};
+
+                Rect[] expected = reference(copy(bounds).withHSpacing(bounds.hSpacing()).withVSpacing(bounds.vSpacing()), params);
+                generated.layout(bounds, params, gOut);
+                interpreted.layout(bounds, params, iOut);
+                for (int r = 0; r < expected.length; r++) {
+                    assertEquals(expected[r], gOut.rect(r), generated.name(r));
+                    assertEquals(expected[r], iOut.rect(r), interpreted.name(r));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCompiledLayoutsFindsGenerated() throws Exception {
+        try (URLClassLoader loader = compile("test.Dashboard", DASHBOARD)) {
+            Class<?> type = loader.loadClass("test.Dashboard");
+            CompiledLayout layout = CompiledLayouts.of(type);
+            assertTrue(CompiledLayouts.isGenerated(layout));
+            assertSame(loader.loadClass("test.DashboardLayout"), layout.getClass());
+            assertSame(layout, CompiledLayouts.of(type));
+
+            Path metadata = dir.resolve("classes/META-INF/native-image/rectcut/test.DashboardLayout/reflect-config.json");
+            assertTrue(Files.exists(metadata));
+            String config = Files.readString(metadata);
+            assertTrue(config.contains("\"name\": \"test.DashboardLayout\""), config);
+            assertTrue(config.contains("\"name\": \"test.Dashboard\""), config);
+        }
+    }
+
+    @Test
+    void testInvalidLayoutFails() throws IOException {
+        String source = """
+            package test;
+
+            import io.github.palexdev.rectcut.RectSide;
+            import io.github.palexdev.rectcut.plan.Cut;
+            import io.github.palexdev.rectcut.plan.CutLayout;
+
+            @CutLayout(@Cut(from = "missing", side = RectSide.TOP, amount = 10, name = "a"))
+            public class Broken {}
+            """;
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(run("test.Broken", source, diagnostics));
+        assertTrue(diagnostics.getDiagnostics().stream()
+            .anyMatch(d -> d.getKind() == Diagnostic.Kind.ERROR && d.getMessage(null).contains("Unknown area: missing")));
+    }
+
+    /// The same layout as [#DASHBOARD], written by hand.
+    private static Rect[] reference(Rect root, double[] params) {
+        root.withInsets(8);
+        Rect toolbar = root.cutTop(40).withHSpacing(4).withVSpacing(0);
+        Rect close = toolbar.cutRight(32);
+        Rect max = toolbar.cutRight(32);
+        Rect title = toolbar.middleHCut(120)[1];
+        Rect status = root.cutBottom(root.height() * 0.1);
+        Rect sidebar = root.cutLeft(params[0]);
+        Rect header = sidebar.getTop(24);
+        Rect divider = status.addTop(2);
+        Rect logo = sidebar.middleVCut(params[1])[1];
+        Rect content = copy(root);
+        return new Rect[]{root, toolbar, close, max, title, status, sidebar, header, divider, logo, content};
+    }
+
+    private static Rect copy(Rect r) {
+        return Rect.of(r.minX(), r.minY(), r.maxX(), r.maxY());
+    }
+
+    private URLClassLoader compile(String name, String source) throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(run(name, source, diagnostics), () -> diagnostics.getDiagnostics().toString());
+        return new URLClassLoader(new URL[]{dir.resolve("classes").toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private boolean run(String name, String source, DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+        Path src = dir.resolve("src").resolve(name.replace('.', '/') + ".java");
+        Files.createDirectories(src.getParent());
+        Files.writeString(src, source);
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        Path generated = Files.createDirectories(dir.resolve("generated"));
+
+        List<String> options = new ArrayList<>(List.of("-d", classes.toString(), "-s", generated.toString()));
+        // The library must be visible to the compiler, wherever the test runner put it
+        String library;
+        try {
+            library = Path.of(Rect.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException ex) {
+            throw new IOException(ex);
+        }
+        options.add("-cp");
+        options.add(library + File.pathSeparator + System.getProperty("java.class.path", ""));
+        options.add("-proc:full");
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                null, files, diagnostics, options, null, files.getJavaFileObjects(src)
+            );
+            task.setProcessors(List.of(new CutLayoutProcessor()));
+            return task.call();
+        }
+    }
+}
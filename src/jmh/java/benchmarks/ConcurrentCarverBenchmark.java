@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.concurrent.ConcurrentCarver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures many threads claiming strips from a shared area, with a [ConcurrentCarver] and with a [Rect] guarded by a
+/// lock. The thread count can be changed with JMH's `-t` option, the default is 4.
+///
+/// The area is reset whenever it's exhausted, so both variants do the same amount of work per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentCarverBenchmark {
+    static final double HEIGHT = 1_000_000;
+
+    ConcurrentCarver carver;
+    Rect rect;
+    final Object lock = new Object();
+
+    @Setup
+    public void setup() {
+        carver = ConcurrentCarver.vertical(Rect.of(0, 0, 1920, HEIGHT).withVSpacing(1));
+        rect = Rect.of(0, 0, 1920, HEIGHT).withVSpacing(1);
+    }
+
+    @Benchmark
+    public Rect lockFree() {
+        Rect slice = carver.claim(RectSide.TOP, 16);
+        if (slice == null) {
+            carver.reset();
+            slice = carver.claim(RectSide.TOP, 16);
+        }
+        return slice;
+    }
+
+    @Benchmark
+    public Rect synchronizedRect() {
+        synchronized (lock) {
+            if (rect.height() <= 0) rect = Rect.of(0, 0, 1920, HEIGHT).withVSpacing(1);
+            return rect.cutTop(16);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.damage.DamageCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Measures the cost of [DamageCalculator#compute(RectBuffer, RectBuffer, RectBuffer)] on a grid of cells, for
+/// different change patterns:
+/// - `NONE`: nothing changed, the cost of the comparison alone
+/// - `FEW`: a handful of cells moved by a few pixels, the typical case (hover, small animation)
+/// - `SCATTERED`: 10% of the cells, spread over the whole grid, changed size
+/// - `ALL`: every cell moved, as when scrolling or resizing the window, the worst case
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DamageBenchmark {
+    public enum Pattern {NONE, FEW, SCATTERED, ALL}
+
+    @Param({"1000", "100000"})
+    int regions;
+
+    @Param
+    Pattern pattern;
+
+    @Param({"8"})
+    int maxRegions;
+
+    RectBuffer before;
+    RectBuffer after;
+    RectBuffer out;
+    DamageCalculator calculator;
+
+    @Setup
+    public void setup() {
+        int cols = (int) Math.ceil(Math.sqrt(regions));
+        double size = 20;
+        before = new RectBuffer(regions);
+        for (int i = 0; i < regions; i++) {
+            double x = (i % cols) * size;
+            double y = (i / cols) * size;
+            before.add(x, y, x + size, y + size);
+        }
+        after = new RectBuffer(regions).copyFrom(before);
+
+        Random random = new Random(42);
+        double[] data = after.array();
+        switch (pattern) {
+            case NONE -> {}
+            case FEW -> {
+                for (int k = 0; k < 5; k++) {
+                    int o = random.nextInt(regions) * 4;
+                    data[o] += 3;
+                    data[o + 2] += 3;
+                }
+            }
+            case SCATTERED -> {
+                for (int i = 0; i < regions; i += 10) {
+                    data[i * 4 + 2] -= 2;
+                }
+            }
+            case ALL -> {
+                for (int i = 0; i < regions; i++) {
+                    data[i * 4 + 1] -= 7;
+                    data[i * 4 + 3] -= 7;
+                }
+            }
+        }
+        out = new RectBuffer(maxRegions);
+        calculator = new DamageCalculator().withMaxRegions(maxRegions);
+    }
+
+    @Benchmark
+    public int compute() {
+        return calculator.compute(before, after, out);
+    }
+}
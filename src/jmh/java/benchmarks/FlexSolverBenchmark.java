@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.flex.FlexSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Measures [FlexSolver#solve(double)] at large child counts, both when space must be added and when it must be taken.
+/// A fraction of the children have tight min/max constraints, so that more than one round is needed.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlexSolverBenchmark {
+    @Param({"100", "10000", "1000000"})
+    int children;
+
+    FlexSolver solver;
+    double prefTotal;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        solver = new FlexSolver();
+        prefTotal = 0;
+        for (int i = 0; i < children; i++) {
+            double pref = 20 + random.nextInt(80);
+            boolean tight = random.nextInt(10) == 0;
+            double min = tight ? pref * 0.9 : 0;
+            double max = tight ? pref * 1.1 : Double.MAX_VALUE;
+            solver.add(min, pref, max, 1 + random.nextInt(3), 1);
+            prefTotal += pref;
+        }
+    }
+
+    @Benchmark
+    public double grow() {
+        return solver.solve(prefTotal * 1.5);
+    }
+
+    @Benchmark
+    public double shrink() {
+        return solver.solve(prefTotal * 0.5);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.flow.FlowAlignment;
+import io.github.palexdev.rectcut.flow.FlowLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Compares [FlowLayout] with the equivalent layout built from [Rect] cuts, which needs a first pass to find where the
+/// lines break and then allocates a [Rect] per line and per item. Item sizes are those of typical chips: random widths
+/// between 40 and 160, a fixed height of 32.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowLayoutBenchmark {
+    @Param({"100", "10000"})
+    int items;
+
+    @Param({"START", "CENTER"})
+    FlowAlignment alignment;
+
+    double[] sizes;
+    Rect area;
+    FlowLayout flow;
+    RectBuffer out;
+    RectBuffer lines;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        sizes = new double[items * 2];
+        for (int i = 0; i < items; i++) {
+            sizes[i * 2] = 40 + random.nextInt(121);
+            sizes[i * 2 + 1] = 32;
+        }
+        area = Rect.of(0, 0, 1280, Double.MAX_VALUE).withHSpacing(8).withVSpacing(8);
+        flow = new FlowLayout().withAlignment(alignment);
+        out = new RectBuffer(items);
+        lines = new RectBuffer();
+    }
+
+    @Benchmark
+    public double flow() {
+        return flow.layout(sizes, area, out, lines);
+    }
+
+    @Benchmark
+    public double cuts() {
+        Rect remaining = Rect.of(area.minX(), area.minY(), area.maxX(), area.maxY()).withVSpacing(area.vSpacing());
+        double available = area.width();
+        double hSpacing = area.hSpacing();
+        int n = items;
+        int start = 0;
+        double sink = 0;
+        while (start < n) {
+            // Find where the line breaks, then cut it and its items
+            double lineW = sizes[start * 2];
+            double lineH = sizes[start * 2 + 1];
+            int end = start + 1;
+            while (end < n && lineW + hSpacing + sizes[end * 2] <= available) {
+                lineW += hSpacing + sizes[end * 2];
+                lineH = Math.max(lineH, sizes[end * 2 + 1]);
+                end++;
+            }
+            Rect line = remaining.cutTop(lineH).withHSpacing(hSpacing);
+            if (alignment == FlowAlignment.CENTER) line.cutLeft(Math.max(0, available - lineW) / 2.0 - hSpacing);
+            for (int i = start; i < end; i++) {
+                Rect item = line.cutLeft(sizes[i * 2]);
+                sink += item.minX() + item.minY();
+            }
+            start = end;
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.packing.FitHeuristic;
+import io.github.palexdev.rectcut.packing.GuillotinePacker;
+import io.github.palexdev.rectcut.packing.SplitHeuristic;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Measures how many items per second the [GuillotinePacker] can place, for a glyph-like distribution of sizes.
+///
+/// The packing efficiency does not depend on timing, so it's printed by [#main(String[])] for every combination of
+/// heuristics instead.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuillotinePackerBenchmark {
+    @Param({"1000", "10000"})
+    int items;
+
+    @Param({"BEST_AREA_FIT", "BEST_SHORT_SIDE_FIT", "FIRST_FIT"})
+    FitHeuristic fit;
+
+    double[] sizes;
+    RectBuffer out;
+    int[] bins;
+    GuillotinePacker packer;
+
+    @Setup
+    public void setup() {
+        sizes = glyphSizes(items, 42);
+        out = new RectBuffer(items);
+        bins = new int[items];
+        packer = GuillotinePacker.of(Rect.of(0, 0, 1024, 1024).withHSpacing(1).withVSpacing(1))
+            .withFit(fit);
+    }
+
+    /// The reported score multiplied by the number of items gives the items packed per second.
+    @Benchmark
+    public int insertAll() {
+        packer.reset();
+        return packer.insertAll(sizes, out, bins);
+    }
+
+    static double[] glyphSizes(int n, long seed) {
+        Random random = new Random(seed);
+        double[] sizes = new double[n * 2];
+        for (int i = 0; i < n; i++) {
+            sizes[i * 2] = 4 + random.nextInt(44);
+            sizes[i * 2 + 1] = 8 + random.nextInt(40);
+        }
+        return sizes;
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        double[] sizes = glyphSizes(n, 42);
+        RectBuffer out = new RectBuffer(n);
+        System.out.printf("%-20s %-22s %6s %10s%n", "Fit", "Split", "Bins", "Occupancy");
+        for (FitHeuristic fit : FitHeuristic.values()) {
+            for (SplitHeuristic split : SplitHeuristic.values()) {
+                GuillotinePacker packer = GuillotinePacker.of(Rect.of(0, 0, 1024, 1024).withHSpacing(1).withVSpacing(1))
+                    .withFit(fit)
+                    .withSplit(split);
+                packer.insertAll(sizes, out, null);
+                System.out.printf("%-20s %-22s %6d %9.2f%%%n", fit, split, packer.bins(), packer.occupancy() * 100);
+            }
+        }
+    }
+}
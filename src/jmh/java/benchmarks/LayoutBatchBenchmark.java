@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.LayoutBatch;
+import io.github.palexdev.rectcut.LayoutFunction;
+import io.github.palexdev.rectcut.Rect;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Compares laying out a list of rows by applying each row's bounds as soon as it is cut (`direct`) against recording
+/// them in a [LayoutBatch] and applying them all at the end (`batched`).
+///
+/// The targets stand in for toolkit nodes: each one touches a block of memory of its own when positioned, and they are
+/// allocated in shuffled order, so that applying them evicts the data of the cuts. `updates` is how many times each row
+/// is laid out in a pass, e.g. because a parent measures and then positions its children; with the batch, only the
+/// last one reaches the nodes. `batchedHeld` keeps the functions returned by [LayoutBatch#of(Object)] instead of
+/// asking for them on every pass, which saves the identity lookup of the target.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutBatchBenchmark {
+    @Param({"1000", "10000"})
+    int rows;
+
+    @Param({"1", "2"})
+    int updates;
+
+    Node[] nodes;
+    LayoutBatch<Node> batch;
+    LayoutFunction[] functions;
+
+    @Setup
+    public void setup() {
+        List<Node> shuffled = new ArrayList<>();
+        for (int i = 0; i < rows; i++) shuffled.add(null);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < rows; i++) order.add(i);
+        Collections.shuffle(order, new Random(42));
+        for (int i : order) shuffled.set(i, new Node());
+        nodes = shuffled.toArray(Node[]::new);
+        batch = new LayoutBatch<>(Node::resizeRelocate);
+        functions = new LayoutFunction[rows];
+        for (int i = 0; i < rows; i++) functions[i] = batch.of(nodes[i]);
+    }
+
+    @Benchmark
+    public double direct() {
+        double sum = 0;
+        for (int u = 0; u < updates; u++) {
+            Rect area = Rect.of(0, 0, 800, rows * 24.0);
+            for (Node node : nodes) {
+                area.cutTop(24 + u).layout(node::resizeRelocate);
+            }
+            sum += area.height();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double batched() {
+        double sum = 0;
+        for (int u = 0; u < updates; u++) {
+            Rect area = Rect.of(0, 0, 800, rows * 24.0);
+            for (Node node : nodes) {
+                area.cutTop(24 + u).layout(batch.of(node));
+            }
+            sum += area.height();
+        }
+        return sum + batch.flush();
+    }
+
+    @Benchmark
+    public double batchedHeld() {
+        double sum = 0;
+        for (int u = 0; u < updates; u++) {
+            Rect area = Rect.of(0, 0, 800, rows * 24.0);
+            for (LayoutFunction f : functions) {
+                area.cutTop(24 + u).layout(f);
+            }
+            sum += area.height();
+        }
+        return sum + batch.flush();
+    }
+
+    static final class Node {
+        final double[] state = new double[32];
+
+        void resizeRelocate(double x, double y, double w, double h) {
+            state[0] = x;
+            state[1] = y;
+            state[2] = w;
+            state[3] = h;
+            // Stand-in for the toolkit's bookkeeping, e.g. bounds in parent, dirty flags
+            for (int i = 4; i < state.length; i += 4) {
+                state[i] = x + w;
+                state[i + 1] = y + h;
+            }
+        }
+    }
+}
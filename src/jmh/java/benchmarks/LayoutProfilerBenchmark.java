@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.plan.Amount;
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import io.github.palexdev.rectcut.profile.LayoutProfiler;
+import io.github.palexdev.rectcut.tree.LayoutNode;
+import io.github.palexdev.rectcut.tree.LayoutTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Measures the overhead of [LayoutProfiler] on sequential [LayoutTree] and [LayoutPlan] passes. The `disabled`
+/// variants are the plain engines, trees check for a profiler once per node and plans once per pass, the `enabled`
+/// ones time every node. Since the cost of the checks is expected to be tiny, run with several forks, for example
+/// `-f 5 -i 10`, and compare the confidence intervals rather than the scores.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutProfilerBenchmark {
+    @Param({"1000", "100000"})
+    int nodes;
+
+    LayoutTree tree;
+    LayoutTree profiledTree;
+    LayoutPlan plan;
+    LayoutProfiler profiler;
+    Rect bounds;
+    RectBuffer out;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        RectSide[] sides = RectSide.values();
+        int groups = Math.max(1, nodes / 50);
+        LayoutNode root = LayoutNode.fill("root");
+        LayoutPlan.Builder builder = LayoutPlan.builder();
+        for (int i = 0; i < groups; i++) {
+            RectSide side = sides[random.nextInt(4)];
+            LayoutNode group = LayoutNode.cut("g" + i, side, 1).withHSpacing(1).withVSpacing(1);
+            builder.cut(LayoutPlan.ROOT, side, Amount.of(1), "g" + i);
+            for (int j = 0; j < 49; j++) {
+                RectSide s = sides[random.nextInt(4)];
+                group.add(LayoutNode.cut(null, s, 0.01));
+                builder.cut("g" + i, s, Amount.of(0.01), "g" + i + "_" + j);
+            }
+            root.add(group);
+        }
+        tree = LayoutTree.of(root).withPool(null);
+        profiler = new LayoutProfiler();
+        profiledTree = LayoutTree.of(root).withPool(null).withProfiler(profiler);
+        plan = builder.build();
+        bounds = Rect.of(0, 0, 1e5, 1e5);
+        out = new RectBuffer(Math.max(tree.size(), plan.size()));
+    }
+
+    @Benchmark
+    public RectBuffer treeDisabled() {
+        return tree.layout(bounds, out);
+    }
+
+    @Benchmark
+    public RectBuffer treeEnabled() {
+        return profiledTree.layout(bounds, out);
+    }
+
+    @Benchmark
+    public RectBuffer planDisabled() {
+        return plan.layout(bounds, out);
+    }
+
+    @Benchmark
+    public RectBuffer planEnabled() {
+        return plan.layout(bounds, LayoutPlan.NO_PARAMS, out, profiler);
+    }
+}
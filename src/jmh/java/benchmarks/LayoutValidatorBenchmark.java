@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.validation.LayoutValidator;
+import io.github.palexdev.rectcut.validation.ValidationReport;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures [LayoutValidator] on valid grid layouts, the common case in CI, with and without the gap check.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LayoutValidatorBenchmark {
+    @Param({"10000", "100000"})
+    int regions;
+
+    RectBuffer rects;
+    Rect bounds;
+    LayoutValidator withGaps;
+    LayoutValidator withoutGaps;
+
+    @Setup
+    public void setup() {
+        int columns = (int) Math.sqrt(regions);
+        int rows = (regions + columns - 1) / columns;
+        bounds = Rect.of(0, 0, columns * 10.0, rows * 10.0);
+        rects = new RectBuffer(regions);
+        Rect area = Rect.of(bounds.minX(), bounds.minY(), bounds.maxX(), bounds.maxY());
+        for (int r = 0; r < rows; r++) {
+            Rect row = area.cutTop(10);
+            for (int c = 0; c < columns && rects.size() < regions; c++) rects.add(row.cutLeft(10));
+        }
+        withGaps = new LayoutValidator();
+        withoutGaps = new LayoutValidator().withGapCheck(false);
+    }
+
+    @Benchmark
+    public ValidationReport overlapsAndGaps() {
+        return withGaps.validate(rects, bounds);
+    }
+
+    @Benchmark
+    public ValidationReport overlapsOnly() {
+        return withoutGaps.validate(rects, bounds);
+    }
+}
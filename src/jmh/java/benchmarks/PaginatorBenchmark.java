@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.pagination.Paginator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Measures how [Paginator] scales with the number of blocks in a document: mostly short paragraphs, a keep-together
+/// group of a heading and its first paragraph every 20 blocks, and a block taller than a page every 1000 blocks. The
+/// time per block should stay flat as the document grows.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginatorBenchmark {
+    @Param({"1000", "100000", "500000"})
+    int blocks;
+
+    double[] heights;
+    Paginator paginator;
+    double sink;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        heights = new double[blocks];
+        for (int i = 0; i < blocks; i++) {
+            heights[i] = i % 1000 == 999 ? 2500 : 12 + random.nextInt(120);
+        }
+        Rect page = Rect.of(0, 0, 595, 842).withInsets(48).withVSpacing(6);
+        paginator = Paginator.of(page, (p, b, x, y, w, h) -> sink += y + h);
+    }
+
+    @Benchmark
+    public int paginate() {
+        paginator.reset();
+        for (int i = 0; i < blocks; i++) {
+            if (i % 20 == 0 && i + 1 < blocks) {
+                paginator.beginGroup();
+                paginator.add(heights[i]);
+                paginator.add(heights[++i]);
+                paginator.endGroup();
+                continue;
+            }
+            paginator.add(heights[i]);
+        }
+        return paginator.finish();
+    }
+}
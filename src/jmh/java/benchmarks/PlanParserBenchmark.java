@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import io.github.palexdev.rectcut.plan.PlanCache;
+import io.github.palexdev.rectcut.plan.PlanParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Measures reloading a set of layout descriptions, by parsing all of them and through a [PlanCache] where only a
+/// fraction of them changed since the last reload.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanParserBenchmark {
+    @Param({"100", "500"})
+    int files;
+
+    @Param({"0", "10"})
+    int changedPercent;
+
+    String[] texts;
+    String[] changed;
+    PlanCache cache;
+    Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(42);
+        texts = new String[files];
+        changed = new String[files];
+        for (int i = 0; i < files; i++) {
+            texts[i] = description(i, 40);
+            changed[i] = description(i, 48);
+        }
+        cache = new PlanCache(files * 4);
+        for (String text : texts) cache.get(text);
+    }
+
+    @Benchmark
+    public void parseAll(Blackhole bh) {
+        for (String text : texts) bh.consume(PlanParser.parse(text));
+    }
+
+    @Benchmark
+    public void reloadCached(Blackhole bh) {
+        for (int i = 0; i < files; i++) {
+            // Changed files alternate between two versions, so they are cached too after the first reloads
+            boolean edit = random.nextInt(100) < changedPercent;
+            String text = edit ? changed[i] : texts[i];
+            LayoutPlan plan = cache.get(text);
+            bh.consume(plan);
+        }
+    }
+
+    private static String description(int seed, int toolbar) {
+        StringBuilder sb = new StringBuilder()
+            .append("# Layout ").append(seed).append('\n')
+            .append("param sidebar\n")
+            .append("insets 8\n")
+            .append("toolbar = cut top ").append(toolbar).append('\n')
+            .append("toolbar spacing 4 0\n");
+        for (int b = 0; b < 8; b++) {
+            sb.append("btn").append(b).append(" = toolbar cut right 32\n");
+        }
+        sb.append("title = toolbar middleh 50%\n")
+            .append("status = cut bottom 24\n")
+            .append("sidebar = cut left $sidebar\n")
+            .append("sidebar spacing 0 2\n");
+        for (int r = 0; r < 16; r++) {
+            sb.append("row").append(r).append(" = sidebar cut top ").append(20 + seed % 7).append('\n');
+        }
+        return sb.append("content = rest\n").toString();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures scrolling a laid out canvas of `regions` cells, a grid of rows cut from a column:
+/// - `relayout`: the cuts are run again at the new scroll offset
+/// - `perRect`: every stored area is mapped by hand, through a [Rect]
+/// - `translate`: [RectBuffer#transformTo(RectBuffer, double, double, double, double)] from the stored results
+/// - `translateSnapped`: same, also zoomed and snapped to a 1.5 render scale in the same pass
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RectBufferTransformBenchmark {
+    private static final int COLUMNS = 10;
+
+    @Param({"1000", "100000"})
+    int regions;
+
+    RectBuffer base;
+    RectBuffer view;
+    double scroll;
+
+    @Setup
+    public void setup() {
+        base = new RectBuffer(regions);
+        view = new RectBuffer(regions);
+        layout(base, 0);
+    }
+
+    private void layout(RectBuffer out, double offset) {
+        out.clear();
+        Rect column = Rect.of(0, -offset, 1000, regions / COLUMNS * 24.0 - offset).withVSpacing(2);
+        for (int r = 0; r < regions / COLUMNS; r++) {
+            Rect row = column.cutTop(22).withHSpacing(2);
+            for (int c = 0; c < COLUMNS; c++) out.add(row.cutLeft(98));
+        }
+    }
+
+    private double nextScroll() {
+        scroll = (scroll + 13.7) % 10_000;
+        return scroll;
+    }
+
+    @Benchmark
+    public RectBuffer relayout() {
+        layout(view, nextScroll());
+        return view;
+    }
+
+    @Benchmark
+    public RectBuffer perRect() {
+        double dy = -nextScroll();
+        view.clear();
+        for (int i = 0; i < base.size(); i++) {
+            Rect r = base.rect(i);
+            view.add(r.minX(), r.minY() + dy, r.maxX(), r.maxY() + dy);
+        }
+        return view;
+    }
+
+    @Benchmark
+    public RectBuffer translate() {
+        return base.transformTo(view, 1, 1, 0, -nextScroll());
+    }
+
+    @Benchmark
+    public RectBuffer translateSnapped() {
+        return base.transformTo(view, 1.25, 1.25, 0, -nextScroll(), 1.5);
+    }
+}
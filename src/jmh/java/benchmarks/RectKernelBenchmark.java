@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectKernel;
+import io.github.palexdev.rectcut.RectSide;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Compares three ways of performing a sequence of cuts whose sides are data, as layout engines do:
+/// - `rect`, cutting a [Rect] through [Rect#cut(RectSide, double)], which dispatches on the [RectSide] constants
+/// - `branches`, a per-side `if` chain on a coordinates array, like the interpreter of `LayoutPlan`
+/// - `kernel`, [RectKernel#cut(double[], int, int, int, double, double)]
+///
+/// With `MIXED` sides every call site sees all four sides in a random order, with `SINGLE` only one, as a baseline for
+/// the cost of the dispatch itself.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RectKernelBenchmark {
+    private static final RectSide[] SIDES = RectSide.values();
+
+    @Param({"MIXED", "SINGLE"})
+    String sides;
+
+    @Param({"1024", "65536"})
+    int cuts;
+
+    int[] sideIndexes;
+    double[] amounts;
+    RectBuffer out;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        sideIndexes = new int[cuts];
+        amounts = new double[cuts];
+        for (int i = 0; i < cuts; i++) {
+            sideIndexes[i] = sides.equals("MIXED") ? random.nextInt(4) : RectSide.LEFT.ordinal();
+            amounts[i] = 1 + random.nextInt(10);
+        }
+        out = new RectBuffer(cuts + 1);
+        out.resize(cuts + 1);
+    }
+
+    @Benchmark
+    public double[] rect() {
+        double[] o = out.array();
+        Rect area = Rect.of(0, 0, 1e7, 1e7).withHSpacing(2).withVSpacing(2);
+        for (int i = 0; i < cuts; i++) {
+            Rect r = area.cut(SIDES[sideIndexes[i]], amounts[i]);
+            int d = (i + 1) * RectBuffer.STRIDE;
+            o[d] = r.minX();
+            o[d + 1] = r.minY();
+            o[d + 2] = r.maxX();
+            o[d + 3] = r.maxY();
+        }
+        return o;
+    }
+
+    @Benchmark
+    public double[] branches() {
+        double[] o = start();
+        for (int i = 0; i < cuts; i++) {
+            int d = (i + 1) * RectBuffer.STRIDE;
+            double minX = o[0], minY = o[1], maxX = o[2], maxY = o[3];
+            double amount = amounts[i];
+            int side = sideIndexes[i];
+            if (side == 0) {
+                double cut = Math.min(maxY, minY + amount);
+                set(o, d, minX, minY, maxX, cut);
+                o[1] = cut + 2;
+            } else if (side == 1) {
+                double cut = Math.max(minX, maxX - amount);
+                set(o, d, cut, minY, maxX, maxY);
+                o[2] = cut - 2;
+            } else if (side == 2) {
+                double cut = Math.max(minY, maxY - amount);
+                set(o, d, minX, cut, maxX, maxY);
+                o[3] = cut - 2;
+            } else {
+                double cut = Math.min(maxX, minX + amount);
+                set(o, d, minX, minY, cut, maxY);
+                o[0] = cut + 2;
+            }
+        }
+        return o;
+    }
+
+    @Benchmark
+    public double[] kernel() {
+        double[] o = start();
+        for (int i = 0; i < cuts; i++) {
+            RectKernel.cut(o, 0, (i + 1) * RectBuffer.STRIDE, sideIndexes[i], amounts[i], 2);
+        }
+        return o;
+    }
+
+    private double[] start() {
+        double[] o = out.array();
+        set(o, 0, 0, 0, 1e7, 1e7);
+        return o;
+    }
+
+    private static void set(double[] o, int d, double minX, double minY, double maxX, double maxY) {
+        o[d] = minX;
+        o[d + 1] = minY;
+        o[d + 2] = maxX;
+        o[d + 3] = maxY;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import io.github.palexdev.rectcut.plan.PlanParser;
+import io.github.palexdev.rectcut.plan.ResponsiveLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures an interactive resize, a sweep over many window sizes, by replaying a [LayoutPlan] for every size and by
+/// resolving the precomputed coefficients of a [ResponsiveLayout]. The plan is a toolbar, sidebar and status bar shell
+/// whose content is a column of `rows` cards, each split into an icon, a title and an action.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponsiveLayoutBenchmark {
+    private static final int SIZES = 256;
+
+    @Param({"4", "64"})
+    int rows;
+
+    LayoutPlan plan;
+    ResponsiveLayout responsive;
+    double[] params;
+    RectBuffer out;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("""
+            insets 8
+            toolbar = cut top 40
+            close = toolbar cut right 32
+            title = toolbar middleh 50%
+            status = cut bottom 24
+            sidebar = cut left 20%
+            """);
+        for (int i = 0; i < rows; i++) {
+            sb.append("card").append(i).append(" = cut top 48\n");
+            sb.append("icon").append(i).append(" = card").append(i).append(" cut left 48\n");
+            sb.append("action").append(i).append(" = card").append(i).append(" cut right 10%\n");
+            sb.append("label").append(i).append(" = card").append(i).append(" middlev 20\n");
+        }
+        sb.append("content = rest\n");
+        plan = PlanParser.parse(sb.toString());
+        responsive = ResponsiveLayout.builder().base(plan).spacing(4, 4).build();
+        params = new double[0];
+        out = new RectBuffer(plan.size());
+    }
+
+    @Benchmark
+    public double replay() {
+        double sum = 0;
+        for (int i = 0; i < SIZES; i++) {
+            double w = 400 + i * 7.5;
+            double h = 300 + i * 11.25;
+            plan.layout(Rect.of(0, 0, w, h).withHSpacing(4).withVSpacing(4), params, out);
+            sum += out.array()[out.size() * RectBuffer.STRIDE - 1];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double resolve() {
+        double sum = 0;
+        for (int i = 0; i < SIZES; i++) {
+            double w = 400 + i * 7.5;
+            double h = 300 + i * 11.25;
+            responsive.layout(0, 0, w, h, out);
+            sum += out.array()[out.size() * RectBuffer.STRIDE - 1];
+        }
+        return sum;
+    }
+}
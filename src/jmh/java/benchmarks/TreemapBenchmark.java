@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package benchmarks;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.treemap.Treemap;
+import io.github.palexdev.rectcut.treemap.TreemapAlgorithm;
+import io.github.palexdev.rectcut.treemap.WeightedTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Measures the time needed by the [Treemap] engine to lay out random trees, sequentially and in parallel.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreemapBenchmark {
+    @Param({"100000", "1000000"})
+    int nodes;
+
+    @Param({"SQUARIFIED", "SLICE_AND_DICE"})
+    TreemapAlgorithm algorithm;
+
+    WeightedTree tree;
+    Rect bounds;
+    RectBuffer out;
+    Treemap sequential;
+    Treemap parallel;
+
+    @Setup
+    public void setup() {
+        // Shallow and wide, like a file system: the first nodes act as directories
+        Random random = new Random(42);
+        WeightedTree.Builder builder = WeightedTree.builder();
+        int dirs = Math.max(1, nodes / 50);
+        for (int i = 1; i < nodes; i++) {
+            int parent = random.nextInt(Math.min(i, dirs));
+            builder.add(parent, i < dirs ? 0 : 1 + random.nextInt(1000));
+        }
+        tree = builder.build();
+        bounds = Rect.of(0, 0, 1920, 1080);
+        out = new RectBuffer(nodes);
+        sequential = new Treemap(algorithm).withPool(null);
+        parallel = new Treemap(algorithm).withParallelThreshold(2048);
+    }
+
+    @Benchmark
+    public RectBuffer sequential() {
+        return sequential.layout(tree, bounds, out);
+    }
+
+    @Benchmark
+    public RectBuffer parallel() {
+        return parallel.layout(tree, bounds, out);
+    }
+}
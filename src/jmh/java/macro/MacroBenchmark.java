@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package macro;
+
+import io.github.palexdev.rectcut.RectBuffer;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ThreadLocalRandom;
+
+/// Macro scalability suite: lays out whole synthetic screens (see [Scenario]) of increasing size, from `10^3` to
+/// `10^6` regions, on an increasing number of threads, and writes a JSON report.
+///
+/// Unlike the JMH micro benchmarks, which measure single operations, this measures complete layout passes and reports
+/// for each combination of scenario, size and thread count:
+/// - the throughput, in passes and regions per second, summed over all threads
+/// - the latency percentiles of a single pass
+/// - the allocation rate, measured per thread through [com.sun.management.ThreadMXBean]
+///
+/// Each thread lays out its own screen in a loop, like a server rendering many independent views, so that contention
+/// and allocation pressure show up as the thread count grows. The report is meant to be stored and compared across
+/// releases to spot scaling regressions.
+///
+/// Run it with `./gradlew macroBenchmark`, options can be passed with `-PmacroArgs="..."`:
+/// - `--out <file>` where the report is written, by default `build/reports/macro/report.json`
+/// - `--scenarios <list>` comma separated [Scenario] names, by default all of them
+/// - `--regions <list>` comma separated region counts, by default `1000,10000,100000,1000000`
+/// - `--threads <list>` comma separated thread counts, by default `1,2,4` and the number of processors
+/// - `--warmup <seconds>` warmup time for each combination, by default `1`
+/// - `--time <seconds>` measurement time for each combination, by default `3`
+public final class MacroBenchmark {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final int MAX_SAMPLES = 1 << 16;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private List<Scenario> scenarios = List.of(Scenario.values());
+    private int[] regions = {1_000, 10_000, 100_000, 1_000_000};
+    private int[] threads = defaultThreads();
+    private double warmup = 1;
+    private double time = 3;
+    private Path out = Path.of("build", "reports", "macro", "report.json");
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private MacroBenchmark() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+    public static void main(String[] args) throws Exception {
+        MacroBenchmark bench = new MacroBenchmark();
+        bench.parse(args);
+        bench.run();
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 == args.length)
+                throw new IllegalArgumentException("Missing value for option " + arg);
+            String value = args[++i];
+            switch (arg) {
+                case "--out" -> out = Path.of(value);
+                case "--scenarios" -> scenarios = Arrays.stream(value.split(","))
+                    .map(s -> Scenario.valueOf(s.trim().toUpperCase(Locale.ROOT)))
+                    .toList();
+                case "--regions" -> regions = ints(value);
+                case "--threads" -> threads = ints(value);
+                case "--warmup" -> warmup = Double.parseDouble(value);
+                case "--time" -> time = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+    }
+
+    private void run() throws Exception {
+        List<Result> results = new ArrayList<>();
+        System.out.printf("%-10s %9s %7s %12s %14s %10s %10s %10s %12s%n",
+            "scenario", "regions", "threads", "passes/s", "regions/s", "p50 ms", "p99 ms", "max ms", "MB/s alloc");
+        for (Scenario scenario : scenarios) {
+            for (int n : regions) {
+                for (int t : threads) {
+                    Result r = measure(scenario, n, t);
+                    results.add(r);
+                    System.out.printf(Locale.ROOT, "%-10s %9d %7d %12.1f %14.0f %10.3f %10.3f %10.3f %12.1f%n",
+                        scenario, r.regions, t, r.passesPerSecond(), r.regionsPerSecond(),
+                        r.percentiles[0] / 1e6, r.percentiles[2] / 1e6, r.max / 1e6, r.allocationRate() / 1e6);
+                }
+            }
+        }
+        write(results);
+        System.out.println("Report written to " + out.toAbsolutePath());
+    }
+
+    private Result measure(Scenario scenario, int regions, int threadCount) throws Exception {
+        Worker[] workers = new Worker[threadCount];
+        CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            Worker w = workers[i] = new Worker(scenario, regions, barrier, (long) (warmup * 1e9), (long) (time * 1e9));
+            threads[i] = new Thread(w, "macro-" + scenario + "-" + i);
+            threads[i].start();
+        }
+        for (Thread t : threads) t.join();
+        for (Worker w : workers) {
+            if (w.failure != null) throw new IllegalStateException("Worker failed", w.failure);
+        }
+        return Result.merge(scenario, threadCount, workers);
+    }
+
+    private void write(List<Result> results) throws IOException {
+        StringBuilder sb = new StringBuilder(256 + results.size() * 384);
+        sb.append("{\n");
+        sb.append("  \"suite\": \"rectcut-macro\",\n");
+        sb.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+        sb.append("  \"environment\": {\n");
+        sb.append("    \"java\": \"").append(System.getProperty("java.version")).append("\",\n");
+        sb.append("    \"vm\": \"").append(System.getProperty("java.vm.name")).append("\",\n");
+        sb.append("    \"os\": \"").append(System.getProperty("os.name")).append(' ')
+            .append(System.getProperty("os.arch")).append("\",\n");
+        sb.append("    \"processors\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        sb.append("    \"maxHeap\": ").append(Runtime.getRuntime().maxMemory()).append('\n');
+        sb.append("  },\n");
+        sb.append("  \"config\": {\n");
+        sb.append("    \"warmupSeconds\": ").append(num(warmup)).append(",\n");
+        sb.append("    \"measureSeconds\": ").append(num(time)).append(",\n");
+        sb.append("    \"allocationTracking\": ").append(THREADS != null).append('\n');
+        sb.append("  },\n");
+        sb.append("  \"results\": [");
+        for (int i = 0; i < results.size(); i++) {
+            sb.append(i == 0 ? "\n" : ",\n");
+            results.get(i).toJson(sb, "    ");
+        }
+        sb.append("\n  ]\n}\n");
+
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.writeString(out, sb);
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean &&
+            bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId()) : 0;
+    }
+
+    private static int[] defaultThreads() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        return Arrays.stream(new int[]{1, 2, 4, cpus}).distinct().sorted().toArray();
+    }
+
+    private static int[] ints(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static String num(double d) {
+        return Double.isFinite(d) ? String.format(Locale.ROOT, "%.3f", d) : "null";
+    }
+
+    //================================================================================
+    // Inner Classes
+    //================================================================================
+
+    /// Runs passes in a loop on its own thread. Latencies are kept with reservoir sampling, so that long runs of small
+    /// screens do not need unbounded memory, while every pass still counts for the throughput.
+    private static final class Worker implements Runnable {
+        private final Scenario scenario;
+        private final int regions;
+        private final CyclicBarrier barrier;
+        private final long warmupNanos;
+        private final long measureNanos;
+
+        private final long[] samples = new long[MAX_SAMPLES];
+        private int sampled = 0;
+        private long passes = 0;
+        private long elapsed = 0;
+        private long allocated = 0;
+        private long max = 0;
+        private double sum = 0;
+        private long produced = 0;
+        private long checksum = 0;
+        private Throwable failure;
+
+        Worker(Scenario scenario, int regions, CyclicBarrier barrier, long warmupNanos, long measureNanos) {
+            this.scenario = scenario;
+            this.regions = regions;
+            this.barrier = barrier;
+            this.warmupNanos = warmupNanos;
+            this.measureNanos = measureNanos;
+        }
+
+        @Override
+        public void run() {
+            try {
+                RectBuffer buffer = new RectBuffer(regions);
+                long end = System.nanoTime() + warmupNanos;
+                do {
+                    checksum += scenario.pass(regions, buffer);
+                } while (System.nanoTime() < end);
+
+                barrier.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long allocStart = allocatedBytes();
+                long start = System.nanoTime();
+                end = start + measureNanos;
+                long now = start;
+                do {
+                    long t0 = now;
+                    produced = scenario.pass(regions, buffer);
+                    now = System.nanoTime();
+                    record(now - t0, random);
+                } while (now < end);
+                elapsed = now - start;
+                allocated = allocatedBytes() - allocStart;
+                checksum += (long) buffer.maxX(buffer.size() - 1);
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+
+        private void record(long latency, ThreadLocalRandom random) {
+            passes++;
+            sum += latency;
+            max = Math.max(max, latency);
+            if (sampled < MAX_SAMPLES) {
+                samples[sampled++] = latency;
+            } else {
+                long slot = random.nextLong(passes);
+                if (slot < MAX_SAMPLES) samples[(int) slot] = latency;
+            }
+        }
+    }
+
+    private static final class Result {
+        private final Scenario scenario;
+        private final int regions;
+        private final int threads;
+        private final long passes;
+        private final double seconds;
+        private final long allocated;
+        private final double[] percentiles = new double[PERCENTILES.length];
+        private final double mean;
+        private final long max;
+
+        private Result(Scenario scenario, int regions, int threads, long passes, double seconds, long allocated,
+                       double mean, long max) {
+            this.scenario = scenario;
+            this.regions = regions;
+            this.threads = threads;
+            this.passes = passes;
+            this.seconds = seconds;
+            this.allocated = allocated;
+            this.mean = mean;
+            this.max = max;
+        }
+
+        static Result merge(Scenario scenario, int threads, Worker[] workers) {
+            long passes = 0, allocated = 0, max = 0, elapsed = 0, produced = 0;
+            double sum = 0;
+            int samples = 0;
+            for (Worker w : workers) {
+                passes += w.passes;
+                allocated += w.allocated;
+                max = Math.max(max, w.max);
+                elapsed = Math.max(elapsed, w.elapsed);
+                sum += w.sum;
+                samples += w.sampled;
+                produced = w.produced;
+            }
+            long[] all = new long[samples];
+            int at = 0;
+            for (Worker w : workers) {
+                System.arraycopy(w.samples, 0, all, at, w.sampled);
+                at += w.sampled;
+            }
+            Arrays.sort(all);
+
+            Result r = new Result(scenario, (int) produced, threads, passes, elapsed / 1e9, allocated, sum / passes, max);
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                int index = (int) Math.ceil(PERCENTILES[i] / 100.0 * all.length) - 1;
+                r.percentiles[i] = all[Math.max(0, Math.min(all.length - 1, index))];
+            }
+            return r;
+        }
+
+        double passesPerSecond() {
+            return passes / seconds;
+        }
+
+        double regionsPerSecond() {
+            return passes * (double) regions / seconds;
+        }
+
+        double allocationRate() {
+            return allocated / seconds;
+        }
+
+        void toJson(StringBuilder sb, String indent) {
+            sb.append(indent).append("{\n");
+            String in = indent + "  ";
+            sb.append(in).append("\"scenario\": \"").append(scenario).append("\",\n");
+            sb.append(in).append("\"regions\": ").append(regions).append(",\n");
+            sb.append(in).append("\"threads\": ").append(threads).append(",\n");
+            sb.append(in).append("\"passes\": ").append(passes).append(",\n");
+            sb.append(in).append("\"seconds\": ").append(num(seconds)).append(",\n");
+            sb.append(in).append("\"passesPerSecond\": ").append(num(passesPerSecond())).append(",\n");
+            sb.append(in).append("\"regionsPerSecond\": ").append(num(regionsPerSecond())).append(",\n");
+            sb.append(in).append("\"latencyNanos\": {");
+            sb.append("\"mean\": ").append(num(mean));
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                sb.append(", \"p").append(String.valueOf(PERCENTILES[i]).replace(".0", "").replace('.', '_'))
+                    .append("\": ").append(num(percentiles[i]));
+            }
+            sb.append(", \"max\": ").append(max).append("},\n");
+            sb.append(in).append("\"allocatedBytesPerPass\": ").append(num((double) allocated / passes)).append(",\n");
+            sb.append(in).append("\"allocationBytesPerSecond\": ").append(num(allocationRate())).append('\n');
+            sb.append(indent).append('}');
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package macro;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+
+/// Synthetic screens for [MacroBenchmark], modeled on the scenarios of the interactive test suite.
+///
+/// A screen is a grid of identical tiles, each tile being laid out with plain [Rect] cuts like the corresponding
+/// scenario, and every resulting region is written to a [RectBuffer]. The number of tiles is chosen so that a pass
+/// produces approximately the requested number of regions.
+public enum Scenario {
+    /// A toolbar with three buttons on the left and two on the right.
+    TOOLBAR(6, 400, 40) {
+        @Override
+        void tile(Rect area, RectBuffer out) {
+            area.withHSpacing(4);
+            out.add(area.minX(), area.minY(), area.maxX(), area.maxY());
+            out.add(area.cutLeft(60));
+            out.add(area.cutLeft(60));
+            out.add(area.cutLeft(60));
+            out.add(area.cutRight(40));
+            out.add(area.cutRight(40));
+        }
+    },
+
+    /// A top bar with three buttons, a bottom bar and two side by side panels.
+    TWO_PANEL(7, 480, 320) {
+        @Override
+        void tile(Rect area, RectBuffer out) {
+            Rect top = area.cutTop(40);
+            out.add(top.minX(), top.minY(), top.maxX(), top.maxY());
+            out.add(top.cutRight(32));
+            out.add(top.cutRight(32));
+            out.add(top.cutRight(32));
+            out.add(area.cutBottom(24));
+            out.add(area.cutLeft(area.width() / 2.0));
+            out.add(area);
+        }
+    },
+
+    /// A card with a centered icon, a header, a sub-header, three actions at the bottom and a body.
+    CARDS(7, 320, 240) {
+        @Override
+        void tile(Rect area, RectBuffer out) {
+            area.withInsets(8).withVSpacing(4);
+            out.add(area.cutTop(64).middleHCut(48)[1]);
+            out.add(area.cutTop(24));
+            out.add(area.cutTop(16));
+            Rect actions = area.cutBottom(32).withHSpacing(4);
+            out.add(actions.cutLeft(60));
+            out.add(actions.cutLeft(60));
+            out.add(actions.cutLeft(60));
+            out.add(area);
+        }
+    },
+
+    /// A plain grid of cells.
+    GRID(1, 24, 24) {
+        @Override
+        void tile(Rect area, RectBuffer out) {
+            out.add(area.withInsets(1));
+        }
+    };
+
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final int regionsPerTile;
+    private final double tileWidth;
+    private final double tileHeight;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    Scenario(int regionsPerTile, double tileWidth, double tileHeight) {
+        this.regionsPerTile = regionsPerTile;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+    }
+
+    //================================================================================
+    // Abstract Methods
+    //================================================================================
+    abstract void tile(Rect area, RectBuffer out);
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Lays out a whole screen of approximately the given number of regions.
+    ///
+    /// @return the number of regions produced
+    public int pass(int regions, RectBuffer out) {
+        out.clear();
+        int tiles = Math.max(1, regions / regionsPerTile);
+        int columns = (int) Math.ceil(Math.sqrt(tiles));
+        int rows = (tiles + columns - 1) / columns;
+        Rect screen = Rect.of(0, 0, columns * tileWidth, rows * tileHeight);
+        int placed = 0;
+        for (int r = 0; r < rows; r++) {
+            Rect row = screen.cutTop(tileHeight);
+            for (int c = 0; c < columns && placed < tiles; c++, placed++) {
+                tile(row.cutLeft(tileWidth), out);
+            }
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package startup;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.plan.CompiledLayout;
+import io.github.palexdev.rectcut.plan.CompiledLayouts;
+import io.github.palexdev.rectcut.plan.Cut;
+import io.github.palexdev.rectcut.plan.CutLayout;
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import io.github.palexdev.rectcut.plan.PlanOp;
+import io.github.palexdev.rectcut.plan.PlanParser;
+import io.github.palexdev.rectcut.tree.LayoutNode;
+import io.github.palexdev.rectcut.tree.LayoutTree;
+
+import java.util.Locale;
+
+/// The probe launched by [StartupBenchmark], behaves like a small headless layout tool: it parses a textual plan,
+/// resolves an annotated layout through [CompiledLayouts], builds a [LayoutTree], lays everything out once and prints
+/// a single JSON line with the results, then exits.
+///
+/// The time from launching the process to reading that line is the time-to-first-layout. The probe also reports the
+/// time it spent in the layout code itself, so that the process startup can be told apart. It runs the same way on the
+/// JVM and as a native executable.
+public final class FirstLayout {
+    private static final String PLAN = """
+        param sidebar
+        insets 8
+        toolbar = cut top 40
+        toolbar spacing 4, 0
+        close = toolbar cut right 32
+        title = toolbar middleh 50%
+        status = cut bottom 24
+        sidebar = cut left $sidebar
+        content = rest
+        """;
+
+    @CutLayout({
+        @Cut(op = PlanOp.INSETS, values = {8}),
+        @Cut(side = RectSide.TOP, amount = 64, name = "header"),
+        @Cut(from = "header", side = RectSide.LEFT, amount = 64, name = "icon"),
+        @Cut(side = RectSide.BOTTOM, amount = 32, name = "actions"),
+        @Cut(op = PlanOp.REST, name = "body")
+    })
+    static final class Card {}
+
+    private FirstLayout() {}
+
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        Rect bounds = Rect.of(0, 0, 1920, 1080);
+
+        LayoutPlan shell = PlanParser.parse(PLAN);
+        RectBuffer shellOut = shell.layout(bounds, new double[]{240}, new RectBuffer());
+
+        CompiledLayout card = CompiledLayouts.of(Card.class);
+        RectBuffer cardOut = card.layout(Rect.of(0, 0, 320, 240), new RectBuffer());
+
+        LayoutNode root = LayoutNode.fill("root");
+        for (int i = 0; i < 100; i++) {
+            LayoutNode row = LayoutNode.cut("row" + i, RectSide.TOP, 10).withHSpacing(2);
+            for (int j = 0; j < 10; j++) row.add(LayoutNode.cut(null, RectSide.LEFT, 20));
+            root.add(row);
+        }
+        LayoutTree tree = LayoutTree.of(root).withPool(null);
+        RectBuffer treeOut = tree.layout(bounds, new RectBuffer());
+        long elapsed = System.nanoTime() - start;
+
+        String runtime = System.getProperty("org.graalvm.nativeimage.imagecode") != null ? "native" : "jvm";
+        System.out.printf(
+            Locale.ROOT,
+            "{\"runtime\": \"%s\", \"layoutNanos\": %d, \"regions\": %d, \"generated\": %b, \"checksum\": %.1f}%n",
+            runtime, elapsed, shellOut.size() + cardOut.size() + treeOut.size(), CompiledLayouts.isGenerated(card),
+            shellOut.maxX(shellOut.size() - 1) + cardOut.maxY(cardOut.size() - 1) + treeOut.maxX(treeOut.size() - 1)
+        );
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package startup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/// Measures the time-to-first-layout of [FirstLayout] on the JVM and, if given, as a native executable, by launching
+/// it repeatedly as a separate process. Each runtime is launched once before measuring, so that the files are in the
+/// OS cache.
+///
+/// For each run, two times are taken from the moment the process is started: until the probe's result line is read,
+/// the time-to-first-layout, and until the process exits. The probe's own layout time is collected too. The report
+/// contains the min, median and max of each, per runtime.
+///
+/// Run it with `./gradlew startupBenchmark`, after `./gradlew nativeFirstLayout` to include the native executable,
+/// options can be passed with `-PstartupArgs="..."`:
+/// - `--runs <n>` the number of measured runs per runtime, by default `20`
+/// - `--java <path>` the `java` executable, by default the one running this
+/// - `--classpath <path>` the class path of the probe, by default the one of this JVM
+/// - `--native <path>` the native executable of the probe, skipped if missing
+/// - `--out <file>` where the JSON report is written, by default `build/reports/startup/report.json`
+public final class StartupBenchmark {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final Pattern LAYOUT_NANOS = Pattern.compile("\"layoutNanos\": (\\d+)");
+
+    private int runs = 20;
+    private String java = ProcessHandle.current().info().command().orElse("java");
+    private String classpath = System.getProperty("java.class.path");
+    private Path nativeExecutable;
+    private Path out = Path.of("build", "reports", "startup", "report.json");
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private StartupBenchmark() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark bench = new StartupBenchmark();
+        bench.parse(args);
+        bench.run();
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 == args.length)
+                throw new IllegalArgumentException("Missing value for option " + arg);
+            String value = args[++i];
+            switch (arg) {
+                case "--runs" -> runs = Integer.parseInt(value);
+                case "--java" -> java = value;
+                case "--classpath" -> classpath = value;
+                case "--native" -> nativeExecutable = Path.of(value);
+                case "--out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (runs < 1) throw new IllegalArgumentException("At least one run is needed");
+    }
+
+    private void run() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(measure("jvm", List.of(java, "-cp", classpath, FirstLayout.class.getName())));
+        if (nativeExecutable != null && Files.isExecutable(nativeExecutable)) {
+            results.add(measure("native", List.of(nativeExecutable.toAbsolutePath().toString())));
+        } else if (nativeExecutable != null) {
+            System.out.println("Native executable not found, skipping: " + nativeExecutable);
+        }
+
+        System.out.printf("%-8s %22s %22s %22s%n", "runtime", "first layout ms", "exit ms", "layout code ms");
+        System.out.printf("%-8s %22s %22s %22s%n", "", "min / median / max", "min / median / max", "median");
+        for (Result r : results) {
+            System.out.printf(Locale.ROOT, "%-8s %6.1f / %6.1f / %6.1f %6.1f / %6.1f / %6.1f %22.2f%n", r.runtime,
+                r.firstLayout[0] / 1e6, median(r.firstLayout) / 1e6, r.firstLayout[runs - 1] / 1e6,
+                r.exit[0] / 1e6, median(r.exit) / 1e6, r.exit[runs - 1] / 1e6,
+                median(r.layout) / 1e6);
+        }
+        write(results);
+        System.out.println("Report written to " + out.toAbsolutePath());
+    }
+
+    private Result measure(String runtime, List<String> command) throws Exception {
+        launch(command);
+        Result result = new Result(runtime, runs);
+        for (int i = 0; i < runs; i++) {
+            long[] times = launch(command);
+            result.firstLayout[i] = times[0];
+            result.exit[i] = times[1];
+            result.layout[i] = times[2];
+        }
+        Arrays.sort(result.firstLayout);
+        Arrays.sort(result.exit);
+        Arrays.sort(result.layout);
+        return result;
+    }
+
+    /// @return the time until the result line is read, the time until the process exits, and the layout time
+    /// reported by the probe, all in nanoseconds
+    private static long[] launch(List<String> command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        String line;
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            line = reader.readLine();
+            long firstLayout = System.nanoTime() - start;
+            if (!process.waitFor(1, TimeUnit.MINUTES)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("Probe did not exit: " + command);
+            }
+            long exit = System.nanoTime() - start;
+            Matcher matcher = line != null ? LAYOUT_NANOS.matcher(line) : null;
+            if (process.exitValue() != 0 || matcher == null || !matcher.find())
+                throw new IllegalStateException("Probe failed with exit code " + process.exitValue() + ": " + line);
+            return new long[]{firstLayout, exit, Long.parseLong(matcher.group(1))};
+        }
+    }
+
+    private void write(List<Result> results) throws IOException {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("{\n");
+        sb.append("  \"suite\": \"rectcut-startup\",\n");
+        sb.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+        sb.append("  \"java\": \"").append(System.getProperty("java.version")).append("\",\n");
+        sb.append("  \"os\": \"").append(System.getProperty("os.name")).append(' ')
+            .append(System.getProperty("os.arch")).append("\",\n");
+        sb.append("  \"runs\": ").append(runs).append(",\n");
+        sb.append("  \"results\": [");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("    {\"runtime\": \"").append(r.runtime).append("\", ");
+            stats(sb, "firstLayoutNanos", r.firstLayout).append(", ");
+            stats(sb, "exitNanos", r.exit).append(", ");
+            stats(sb, "layoutNanos", r.layout).append('}');
+        }
+        sb.append("\n  ]\n}\n");
+
+        Path parent = out.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.writeString(out, sb);
+    }
+
+    private static StringBuilder stats(StringBuilder sb, String name, long[] sorted) {
+        return sb.append('"').append(name).append("\": {\"min\": ").append(sorted[0])
+            .append(", \"median\": ").append(median(sorted))
+            .append(", \"max\": ").append(sorted[sorted.length - 1]).append('}');
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    //================================================================================
+    // Inner Classes
+    //================================================================================
+    private static final class Result {
+        private final String runtime;
+        private final long[] firstLayout;
+        private final long[] exit;
+        private final long[] layout;
+
+        Result(String runtime, int runs) {
+            this.runtime = runtime;
+            this.firstLayout = new long[runs];
+            this.exit = new long[runs];
+            this.layout = new long[runs];
+        }
+    }
+}
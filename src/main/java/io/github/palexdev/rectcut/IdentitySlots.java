@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/// Assigns a dense `int` slot to each object, compared by identity, so that the state associated to the objects can be
+/// kept in parallel arrays indexed by slot rather than in a map of per-object holders. This is the bookkeeping shared
+/// by [SizeCache], [LayoutDiffer] and [LayoutBatch].
+///
+/// Released slots are handed out again before new ones, so all the slots in use are always below [#count()]. The
+/// arrays are owned by the callers: when [#slot(Object)] returns a slot past their capacity, they must grow them.
+///
+/// Instances are not thread-safe.
+final class IdentitySlots<T> {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final Map<T, Integer> slots = new IdentityHashMap<>();
+    private int[] freeSlots = new int[4];
+    private int freeCount = 0;
+    private int count = 0;
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// @return the slot of the given object, assigning it one if it has none
+    int slot(T target) {
+        Integer slot = slots.get(target);
+        if (slot != null) return slot;
+
+        int s = freeCount > 0 ? freeSlots[--freeCount] : count++;
+        slots.put(target, s);
+        return s;
+    }
+
+    /// @return the slot of the given object, or `-1` if it has none
+    int find(T target) {
+        Integer slot = slots.get(target);
+        return slot != null ? slot : -1;
+    }
+
+    /// Removes the given object, its slot will be reused by the next new object.
+    ///
+    /// @return the slot the object had, or `-1` if it had none
+    int release(T target) {
+        Integer slot = slots.remove(target);
+        if (slot == null) return -1;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+        return slot;
+    }
+
+    /// Removes all the objects, slots are assigned again starting from `0`.
+    void clear() {
+        slots.clear();
+        freeCount = 0;
+        count = 0;
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of objects currently holding a slot
+    int size() {
+        return slots.size();
+    }
+
+    /// @return the number of slots handed out since creation or the last [#clear()], every slot in use is below this
+    int count() {
+        return count;
+    }
+}
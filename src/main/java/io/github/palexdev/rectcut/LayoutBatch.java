@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut;
+
+import java.util.Arrays;
+
+/// Collects the layout results of a pass and applies them all at once at the end of it.
+///
+/// Calling the UI toolkit every time an area is cut interleaves the cuts' arithmetic with the toolkit's work, which
+/// usually touches a lot more memory and evicts the layout's data from the caches. This instead records the bounds of
+/// every target in flat arrays during the pass, and calls the [TargetLayoutFunction] for all of them in one loop on
+/// [#flush()]. If a target is laid out more than once in the same pass, only the last bounds are applied.
+///
+/// Typical usage with JavaFX:
+/// ```java
+/// LayoutBatch<Node> batch = new LayoutBatch<>(Node::resizeRelocate);
+///
+/// protected void layoutChildren() {
+///     Rect area = Rect.of(0, 0, getWidth(), getHeight());
+///     area.cutLeft(widthOf(r1)).layout(batch.of(r1));
+///     area.cutLeft(widthOf(r2)).layout(batch.of(r2));
+///     batch.flush();
+/// }
+/// ```
+///
+/// Targets are applied in the order they were first seen by this batch, not in the order of the pass, so the order is
+/// stable across passes and the arrays are walked sequentially. To also skip the targets whose bounds did not change,
+/// combine it with a [LayoutDiffer]: `new LayoutBatch<>(differ::layout)`.
+///
+/// Targets are held strongly, so they should be removed with [#forget(Object)] when they are removed from the UI.
+///
+/// Instances are not thread-safe.
+public final class LayoutBatch<T> {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final TargetLayoutFunction<? super T> fn;
+
+    private final IdentitySlots<T> slots = new IdentitySlots<>();
+    private Object[] targets = new Object[16];
+    private LayoutFunction[] functions = new LayoutFunction[16];
+    private double[] bounds = new double[16 * 4];
+    private boolean[] queued = new boolean[16];
+
+    private int[] pending = new int[16];
+    private int pendingCount = 0;
+    private boolean flushing = false;
+
+    private long totalRecorded = 0;
+    private long totalCollapsed = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public LayoutBatch(TargetLayoutFunction<? super T> fn) {
+        this.fn = fn;
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Records the given bounds for the given target, replacing the ones recorded before in the same pass, if any.
+    ///
+    /// @throws IllegalStateException if called while flushing, for example by the [TargetLayoutFunction]
+    public LayoutBatch<T> record(T target, double x, double y, double w, double h) {
+        if (flushing) throw new IllegalStateException("Cannot record while flushing");
+        put(slot(target), x, y, w, h);
+        return this;
+    }
+
+    /// Delegates to [#record(Object, double, double, double, double)] with the position and size of the given area.
+    public LayoutBatch<T> record(T target, Rect rect) {
+        return record(target, rect.minX(), rect.minY(), rect.width(), rect.height());
+    }
+
+    /// @return a [LayoutFunction] which delegates to [#record(Object, double, double, double, double)] for the given
+    /// target, meant to be used with [Rect#layout(LayoutFunction)]. The function is created once per target and then
+    /// cached, so it's safe to call this on every layout pass.
+    public LayoutFunction of(T target) {
+        int slot = slot(target);
+        LayoutFunction f = functions[slot];
+        if (f == null) {
+            int s = slot;
+            f = (x, y, w, h) -> {
+                // The slot may have been reused if the target was forgotten
+                if (flushing || targets[s] != target) {
+                    record(target, x, y, w, h);
+                } else {
+                    put(s, x, y, w, h);
+                }
+            };
+            functions[slot] = f;
+        }
+        return f;
+    }
+
+    /// Calls the [TargetLayoutFunction] for every target recorded since the last flush, with its last recorded bounds,
+    /// in the order in which the targets were first seen by this batch. Then the batch is ready for the next pass.
+    ///
+    /// If the function throws, the targets which have not been applied yet are discarded.
+    ///
+    /// @return the number of targets applied
+    @SuppressWarnings("unchecked")
+    public int flush() {
+        if (flushing) throw new IllegalStateException("Already flushing");
+        int n = pendingCount;
+        // Slots are assigned in order of first appearance, and reused ones are rare, so this is almost always sorted
+        Arrays.sort(pending, 0, n);
+        flushing = true;
+        try {
+            for (int i = 0; i < n; i++) {
+                int slot = pending[i];
+                int o = slot * 4;
+                fn.apply((T) targets[slot], bounds[o], bounds[o + 1], bounds[o + 2], bounds[o + 3]);
+            }
+        } finally {
+            flushing = false;
+            discard();
+        }
+        return n;
+    }
+
+    /// Drops everything recorded since the last flush, without applying it.
+    public LayoutBatch<T> discard() {
+        for (int i = 0; i < pendingCount; i++) {
+            queued[pending[i]] = false;
+        }
+        pendingCount = 0;
+        return this;
+    }
+
+    /// Removes the given target from this batch, releasing the reference to it. Its pending bounds, if any, are dropped.
+    public LayoutBatch<T> forget(T target) {
+        if (flushing) throw new IllegalStateException("Cannot forget while flushing");
+        int slot = slots.release(target);
+        if (slot >= 0) {
+            if (queued[slot]) {
+                int i = 0;
+                while (pending[i] != slot) i++;
+                System.arraycopy(pending, i + 1, pending, i, pendingCount - i - 1);
+                pendingCount--;
+                queued[slot] = false;
+            }
+            targets[slot] = null;
+            functions[slot] = null;
+        }
+        return this;
+    }
+
+    /// Removes all the targets from this batch, dropping the pending bounds, and resets all the counters.
+    public LayoutBatch<T> clear() {
+        if (flushing) throw new IllegalStateException("Cannot clear while flushing");
+        discard();
+        totalRecorded = totalCollapsed = 0;
+        Arrays.fill(targets, 0, slots.count(), null);
+        Arrays.fill(functions, 0, slots.count(), null);
+        slots.clear();
+        return this;
+    }
+
+    private void put(int slot, double x, double y, double w, double h) {
+        int o = slot * 4;
+        bounds[o] = x;
+        bounds[o + 1] = y;
+        bounds[o + 2] = w;
+        bounds[o + 3] = h;
+        totalRecorded++;
+        if (queued[slot]) {
+            totalCollapsed++;
+        } else {
+            queued[slot] = true;
+            if (pendingCount == pending.length) pending = Arrays.copyOf(pending, pendingCount * 2);
+            pending[pendingCount++] = slot;
+        }
+    }
+
+    private int slot(T target) {
+        int s = slots.slot(target);
+        if (s == queued.length) {
+            int capacity = queued.length * 2;
+            targets = Arrays.copyOf(targets, capacity);
+            functions = Arrays.copyOf(functions, capacity);
+            bounds = Arrays.copyOf(bounds, capacity * 4);
+            queued = Arrays.copyOf(queued, capacity);
+        }
+        targets[s] = target;
+        return s;
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of targets waiting for the next [#flush()]
+    public int pending() {
+        return pendingCount;
+    }
+
+    /// @return the number of records since creation or the last [#clear()], including the ones replaced by a later
+    /// record in the same pass
+    public long totalRecorded() {
+        return totalRecorded;
+    }
+
+    /// @return the number of records since creation or the last [#clear()] which replaced an earlier record for the same
+    /// target in the same pass
+    public long totalCollapsed() {
+        return totalCollapsed;
+    }
+
+    /// @return the number of targets currently tracked
+    public int size() {
+        return slots.size();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut;
+
+import java.util.Arrays;
+
+/// Applies layout results to UI elements only when they actually changed.
+///
+/// With UI toolkits, the expensive part of a layout pass is usually not the cuts' arithmetic but the calls to the
+/// toolkit's sizing and positioning functions, which often trigger further work even if the bounds are the same. This
+/// remembers the last bounds applied to every target (compared by identity) and skips the [TargetLayoutFunction] call
+/// if the new bounds are within [#epsilon()] of the old ones.
+///
+/// Typical usage with JavaFX:
+/// ```java
+/// LayoutDiffer<Node> differ = new LayoutDiffer<>(Node::resizeRelocate);
+///
+/// protected void layoutChildren() {
+///     differ.beginPass();
+///     Rect area = Rect.of(0, 0, getWidth(), getHeight());
+///     area.cutLeft(widthOf(r1)).layout(differ.of(r1));
+///     area.cutLeft(widthOf(r2)).layout(differ.of(r2));
+/// }
+/// ```
+///
+/// Targets are held strongly, so they should be removed with [#forget(Object)] when they are removed from the UI. If a
+/// target's bounds may have been changed by someone else, [#invalidate(Object)] forces the next call to go through.
+///
+/// Instances are not thread-safe.
+public final class LayoutDiffer<T> {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final TargetLayoutFunction<? super T> fn;
+    private double epsilon = 0;
+
+    private final IdentitySlots<T> slots = new IdentitySlots<>();
+    private LayoutFunction[] functions = new LayoutFunction[16];
+    private double[] bounds = new double[16 * 4];
+    private boolean[] valid = new boolean[16];
+
+    private int applied = 0;
+    private int skipped = 0;
+    private long totalApplied = 0;
+    private long totalSkipped = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public LayoutDiffer(TargetLayoutFunction<? super T> fn) {
+        this.fn = fn;
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Calls the [TargetLayoutFunction] for the given target only if the given bounds differ from the last ones applied
+    /// to it by more than [#epsilon()].
+    ///
+    /// @return whether the function has been called
+    public boolean layout(T target, double x, double y, double w, double h) {
+        int slot = slot(target);
+        int o = slot * 4;
+        if (valid[slot] &&
+            Math.abs(bounds[o] - x) <= epsilon &&
+            Math.abs(bounds[o + 1] - y) <= epsilon &&
+            Math.abs(bounds[o + 2] - w) <= epsilon &&
+            Math.abs(bounds[o + 3] - h) <= epsilon
+        ) {
+            skipped++;
+            totalSkipped++;
+            return false;
+        }
+        bounds[o] = x;
+        bounds[o + 1] = y;
+        bounds[o + 2] = w;
+        bounds[o + 3] = h;
+        valid[slot] = true;
+        applied++;
+        totalApplied++;
+        fn.apply(target, x, y, w, h);
+        return true;
+    }
+
+    /// Delegates to [#layout(Object, double, double, double, double)] with the position and size of the given area.
+    public boolean layout(T target, Rect rect) {
+        return layout(target, rect.minX(), rect.minY(), rect.width(), rect.height());
+    }
+
+    /// @return a [LayoutFunction] which delegates to [#layout(Object, double, double, double, double)] for the given
+    /// target, meant to be used with [Rect#layout(LayoutFunction)]. The function is created once per target and then
+    /// cached, so it's safe to call this on every layout pass.
+    public LayoutFunction of(T target) {
+        int slot = slot(target);
+        LayoutFunction f = functions[slot];
+        if (f == null) {
+            f = (x, y, w, h) -> layout(target, x, y, w, h);
+            functions[slot] = f;
+        }
+        return f;
+    }
+
+    /// Resets the per-pass counters, see [#applied()] and [#skipped()].
+    public LayoutDiffer<T> beginPass() {
+        applied = 0;
+        skipped = 0;
+        return this;
+    }
+
+    /// Forgets the last bounds applied to the given target, so that the next call is not skipped.
+    public LayoutDiffer<T> invalidate(T target) {
+        int slot = slots.find(target);
+        if (slot >= 0) valid[slot] = false;
+        return this;
+    }
+
+    /// Forgets the last bounds applied to all targets, so that the next call for each of them is not skipped.
+    public LayoutDiffer<T> invalidateAll() {
+        Arrays.fill(valid, 0, slots.count(), false);
+        return this;
+    }
+
+    /// Removes the given target from this differ, releasing the reference to it.
+    public LayoutDiffer<T> forget(T target) {
+        int slot = slots.release(target);
+        if (slot >= 0) {
+            functions[slot] = null;
+            valid[slot] = false;
+        }
+        return this;
+    }
+
+    /// Removes all the targets from this differ and resets all the counters.
+    public LayoutDiffer<T> clear() {
+        Arrays.fill(functions, 0, slots.count(), null);
+        Arrays.fill(valid, 0, slots.count(), false);
+        slots.clear();
+        applied = skipped = 0;
+        totalApplied = totalSkipped = 0;
+        return this;
+    }
+
+    private int slot(T target) {
+        int s = slots.slot(target);
+        if (s == valid.length) {
+            int capacity = valid.length * 2;
+            functions = Arrays.copyOf(functions, capacity);
+            bounds = Arrays.copyOf(bounds, capacity * 4);
+            valid = Arrays.copyOf(valid, capacity);
+        }
+        return s;
+    }
+
+    //================================================================================
+    // Getters/Setters
+    //================================================================================
+
+    /// @return the number of [TargetLayoutFunction] calls performed since the last [#beginPass()]
+    public int applied() {
+        return applied;
+    }
+
+    /// @return the number of [TargetLayoutFunction] calls skipped since the last [#beginPass()]
+    public int skipped() {
+        return skipped;
+    }
+
+    /// @return the number of [TargetLayoutFunction] calls performed since creation or the last [#clear()]
+    public long totalApplied() {
+        return totalApplied;
+    }
+
+    /// @return the number of [TargetLayoutFunction] calls skipped since creation or the last [#clear()]
+    public long totalSkipped() {
+        return totalSkipped;
+    }
+
+    /// @return the number of targets currently tracked
+    public int size() {
+        return slots.size();
+    }
+
+    /// @return the maximum difference between two coordinates for them to be considered equal
+    public double epsilon() {
+        return epsilon;
+    }
+
+    /// Sets the maximum difference between two coordinates for them to be considered equal. By default, it's `0`, which
+    /// means that only identical bounds are skipped.
+    public LayoutDiffer<T> withEpsilon(double epsilon) {
+        this.epsilon = Math.max(0, epsilon);
+        return this;
+    }
+}
@@ -18,6 +18,7 @@
 
 package io.github.palexdev.rectcut;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 
@@ -34,6 +35,9 @@ public final class Rect implements Cloneable {
     private double hSpacing = 0;
     private double vSpacing = 0;
 
+    private double[] checkpoints;
+    private int checkpointCount = 0;
+
     //================================================================================
     // Constructors
     //================================================================================
@@ -252,12 +256,84 @@ public final class Rect implements Cloneable {
         return this;
     }
 
+    // Checkpoints
+
+    /// Saves the current state of this area (coordinates and spacing) on a stack of checkpoints and returns the number
+    /// of checkpoints after the save.
+    ///
+    /// This is meant for speculative layouts: save a checkpoint, try one or more cuts, and if the result is not
+    /// satisfying, go back with [#reset()] or [#rollback()]. Checkpoints can be nested, each call to this method should
+    /// be matched by either [#rollback()] or [#commit()].
+    ///
+    /// The stack is a primitive array which only grows when the nesting level exceeds its capacity, so checkpoints are
+    /// cheaper than copying the area.
+    public int mark() {
+        int o = checkpointCount * 6;
+        if (checkpoints == null) {
+            checkpoints = new double[6 * 4];
+        } else if (o == checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, o * 2);
+        }
+        checkpoints[o] = minX;
+        checkpoints[o + 1] = minY;
+        checkpoints[o + 2] = maxX;
+        checkpoints[o + 3] = maxY;
+        checkpoints[o + 4] = hSpacing;
+        checkpoints[o + 5] = vSpacing;
+        return ++checkpointCount;
+    }
+
+    /// Restores the state saved by the last [#mark()], without removing the checkpoint, so that another attempt can be
+    /// made from the same state.
+    ///
+    /// @throws IllegalStateException if there are no checkpoints
+    public Rect reset() {
+        if (checkpointCount == 0)
+            throw new IllegalStateException("There are no checkpoints to reset to");
+        int o = (checkpointCount - 1) * 6;
+        minX = checkpoints[o];
+        minY = checkpoints[o + 1];
+        maxX = checkpoints[o + 2];
+        maxY = checkpoints[o + 3];
+        hSpacing = checkpoints[o + 4];
+        vSpacing = checkpoints[o + 5];
+        return this;
+    }
+
+    /// Restores the state saved by the last [#mark()] and removes the checkpoint.
+    ///
+    /// @throws IllegalStateException if there are no checkpoints
+    public Rect rollback() {
+        reset();
+        checkpointCount--;
+        return this;
+    }
+
+    /// Removes the last checkpoint, keeping the current state.
+    ///
+    /// @throws IllegalStateException if there are no checkpoints
+    public Rect commit() {
+        if (checkpointCount == 0)
+            throw new IllegalStateException("There are no checkpoints to commit");
+        checkpointCount--;
+        return this;
+    }
+
+    /// @return the number of checkpoints currently saved, see [#mark()]
+    public int checkpoints() {
+        return checkpointCount;
+    }
+
     //================================================================================
     // Overridden Methods
     //================================================================================
+
+    /// Copies the coordinates and the spacing of this area, checkpoints are not copied.
     @Override
     protected Rect clone() {
-        return Rect.of(minX, minY, maxX, maxY);
+        return Rect.of(minX, minY, maxX, maxY)
+            .withHSpacing(hSpacing)
+            .withVSpacing(vSpacing);
     }
 
     @Override
@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut;
+
+import java.util.Arrays;
+
+/// A growable, primitive buffer of areas, useful to store the results of a layout without allocating a [Rect] for
+/// each of them.
+///
+/// Areas are stored sequentially in a single `double` array as `minX, minY, maxX, maxY` quadruples, so the area at
+/// index `i` starts at offset `i * 4` of [#array()]. This makes the buffer cheap to iterate, copy and transform in bulk.
+///
+/// Instances are not thread-safe.
+public final class RectBuffer {
+    //================================================================================
+    // Properties
+    //================================================================================
+    /// The number of `double` values each area takes in the backing array.
+    public static final int STRIDE = 4;
+
+    private double[] data;
+    private int size = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public RectBuffer() {
+        this(16);
+    }
+
+    public RectBuffer(int capacity) {
+        this.data = new double[Math.max(1, capacity) * STRIDE];
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Appends an area to the buffer and returns its index.
+    public int add(double minX, double minY, double maxX, double maxY) {
+        int i = size;
+        ensureCapacity(i + 1);
+        size++;
+        set(i, minX, minY, maxX, maxY);
+        return i;
+    }
+
+    /// Appends the coordinates of the given [Rect] to the buffer and returns its index.
+    public int add(Rect rect) {
+        return add(rect.minX(), rect.minY(), rect.maxX(), rect.maxY());
+    }
+
+    /// Replaces the area at the given index.
+    ///
+    /// @throws IndexOutOfBoundsException if the index is not in the range `[0, size)`
+    public RectBuffer set(int index, double minX, double minY, double maxX, double maxY) {
+        int o = offset(index);
+        data[o] = minX;
+        data[o + 1] = minY;
+        data[o + 2] = maxX;
+        data[o + 3] = maxY;
+        return this;
+    }
+
+    /// Replaces the area at the given index with the coordinates of the given [Rect].
+    ///
+    /// @throws IndexOutOfBoundsException if the index is not in the range `[0, size)`
+    public RectBuffer set(int index, Rect rect) {
+        return set(index, rect.minX(), rect.minY(), rect.maxX(), rect.maxY());
+    }
+
+    /// Changes the number of areas in the buffer. If the buffer grows, the new areas are all zeros.
+    public RectBuffer resize(int size) {
+        if (size < 0) throw new IllegalArgumentException("Size cannot be negative: " + size);
+        ensureCapacity(size);
+        if (size > this.size) Arrays.fill(data, this.size * STRIDE, size * STRIDE, 0.0);
+        this.size = size;
+        return this;
+    }
+
+    /// Empties the buffer, the backing array is kept for reuse.
+    public RectBuffer clear() {
+        size = 0;
+        return this;
+    }
+
+    /// Makes sure the buffer can store at least the given number of areas without growing.
+    public RectBuffer ensureCapacity(int capacity) {
+        if (capacity * STRIDE > data.length) {
+            int newCapacity = Math.max(capacity, (data.length / STRIDE) * 2);
+            data = Arrays.copyOf(data, newCapacity * STRIDE);
+        }
+        return this;
+    }
+
+    /// Replaces the content of this buffer with the content of the given one.
+    public RectBuffer copyFrom(RectBuffer other) {
+        ensureCapacity(other.size);
+        System.arraycopy(other.data, 0, data, 0, other.size * STRIDE);
+        size = other.size;
+        return this;
+    }
+
+    /// Moves all the areas by the given offsets, for example to scroll them.
+    public RectBuffer translate(double dx, double dy) {
+        return transformTo(this, 1, 1, dx, dy);
+    }
+
+    /// Scales all the areas' coordinates by the given factors, relative to the origin.
+    ///
+    /// @throws IllegalArgumentException if a factor is not positive and finite
+    public RectBuffer scale(double sx, double sy) {
+        return transformTo(this, sx, sy, 0, 0);
+    }
+
+    /// Rounds all the coordinates to the closest device pixel for the given render scale, see
+    /// [#transformTo(RectBuffer, double, double, double, double, double)].
+    ///
+    /// @throws IllegalArgumentException if the render scale is not positive and finite
+    public RectBuffer snap(double renderScale) {
+        return transformTo(this, 1, 1, 0, 0, renderScale);
+    }
+
+    /// Maps every area of this buffer to the given one, which is resized accordingly: `x` coordinates become
+    /// `x * sx + tx` and `y` coordinates `y * sy + ty`. The given buffer can be this one, to transform in place.
+    ///
+    /// This is a single linear pass over the array, so that scrolling or zooming many laid out areas does not need
+    /// to run the layout again.
+    ///
+    /// @throws IllegalArgumentException if a factor is not positive and finite
+    public RectBuffer transformTo(RectBuffer out, double sx, double sy, double tx, double ty) {
+        checkScale(sx);
+        checkScale(sy);
+        int n = size * STRIDE;
+        out.ensureCapacity(size);
+        double[] src = data;
+        double[] dst = out.data;
+        for (int i = 0; i < n; i += 2) {
+            dst[i] = src[i] * sx + tx;
+            dst[i + 1] = src[i + 1] * sy + ty;
+        }
+        out.size = size;
+        return out;
+    }
+
+    /// Same as [#transformTo(RectBuffer, double, double, double, double)], but every coordinate is also rounded to the
+    /// closest device pixel for the given render scale, as `floor(v * renderScale + 0.5) * (1 / renderScale)`, in the
+    /// same pass. Min and max coordinates are rounded separately, so areas sharing an edge still share it afterward.
+    ///
+    /// @throws IllegalArgumentException if a factor or the render scale are not positive and finite
+    public RectBuffer transformTo(RectBuffer out, double sx, double sy, double tx, double ty, double renderScale) {
+        checkScale(sx);
+        checkScale(sy);
+        checkScale(renderScale);
+        // Fold the render scale into the transform, so that each coordinate takes a multiply-add, a floor and a multiply
+        double ax = sx * renderScale, bx = tx * renderScale + 0.5;
+        double ay = sy * renderScale, by = ty * renderScale + 0.5;
+        double inverse = 1 / renderScale;
+        int n = size * STRIDE;
+        out.ensureCapacity(size);
+        double[] src = data;
+        double[] dst = out.data;
+        for (int i = 0; i < n; i += 2) {
+            dst[i] = Math.floor(src[i] * ax + bx) * inverse;
+            dst[i + 1] = Math.floor(src[i + 1] * ay + by) * inverse;
+        }
+        out.size = size;
+        return out;
+    }
+
+    private static void checkScale(double scale) {
+        if (!(scale > 0) || Double.isInfinite(scale))
+            throw new IllegalArgumentException("Scale must be positive and finite, got " + scale);
+    }
+
+    /// @return a new [Rect] built from the area at the given index
+    public Rect rect(int index) {
+        int o = offset(index);
+        return Rect.of(data[o], data[o + 1], data[o + 2], data[o + 3]);
+    }
+
+    /// Same as [Rect#layout(LayoutFunction)] but for the area at the given index.
+    public RectBuffer layout(int index, LayoutFunction fn) {
+        int o = offset(index);
+        fn.apply(data[o], data[o + 1], Math.max(0, data[o + 2] - data[o]), Math.max(0, data[o + 3] - data[o + 1]));
+        return this;
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return index * STRIDE;
+    }
+
+    //================================================================================
+    // Overridden Methods
+    //================================================================================
+    @Override
+    public String toString() {
+        return "RectBuffer[size=" + size + ']';
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of areas in the buffer
+    public int size() {
+        return size;
+    }
+
+    /// @return whether the buffer contains no areas
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /// @return the number of areas the buffer can contain before growing
+    public int capacity() {
+        return data.length / STRIDE;
+    }
+
+    /// @return the `minX` coordinate of the area at the given index
+    public double minX(int index) {return data[offset(index)];}
+
+    /// @return the `minY` coordinate of the area at the given index
+    public double minY(int index) {return data[offset(index) + 1];}
+
+    /// @return the `maxX` coordinate of the area at the given index
+    public double maxX(int index) {return data[offset(index) + 2];}
+
+    /// @return the `maxY` coordinate of the area at the given index
+    public double maxY(int index) {return data[offset(index) + 3];}
+
+    /// @return the width of the area at the given index, same as [Rect#width()]
+    public double width(int index) {
+        int o = offset(index);
+        return Math.max(0, data[o + 2] - data[o]);
+    }
+
+    /// @return the height of the area at the given index, same as [Rect#height()]
+    public double height(int index) {
+        int o = offset(index);
+        return Math.max(0, data[o + 3] - data[o + 1]);
+    }
+
+    /// Gives direct access to the backing array, intended for bulk operations.
+    ///
+    /// Only the first `size() * STRIDE` values are meaningful. Beware that the array is replaced when the buffer grows,
+    /// so the reference should not be retained across insertions.
+    public double[] array() {
+        return data;
+    }
+}
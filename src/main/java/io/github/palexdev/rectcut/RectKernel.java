@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut;
+
+/// Side-generic implementation of the cut, get and add operations of [Rect], working on coordinates stored in a
+/// `double[]` with the same layout as a [RectBuffer]: `minX, minY, maxX, maxY` starting at a given offset.
+///
+/// [Rect] has a separate method for every side, and [RectSide] dispatches to them through its constants, which is fine
+/// for hand-written layouts but becomes a megamorphic call site in engines that loop over sides stored as data. Here
+/// instead, each operation is a single method for all sides: sides are identified by their [RectSide#ordinal()], which
+/// determines which coordinate moves (the _edge_), which one bounds the movement (the _opposite_) and in which
+/// direction. Since the sides are in clockwise order, these tables reduce to a bit of arithmetic on the ordinal, so
+/// there are no lookups and no dispatch on the side. The only branch left is the clamp, which picks `min` for top and
+/// left and `max` for right and bottom by testing the direction's sign. These are the same `Math.min`/`Math.max` calls
+/// [Rect] makes on the same operands, so the results are bit-for-bit identical to [Rect]'s.
+///
+/// For example, `cut(o, 0, 4, RectSide.LEFT.ordinal(), 50, 8)` does to the area at offset `0` what
+/// `Rect#cutLeft(double)` does to a [Rect] with a horizontal spacing of `8`, writing the cut area at offset `4`.
+///
+/// Offsets are array indexes, not area indexes, multiply the latter by [RectBuffer#STRIDE].
+public final class RectKernel {
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private RectKernel() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Same as [Rect#cut(RectSide, double)]: the cut area is written at `dst`, the area at `src` is shrunk by the
+    /// amount plus the given spacing. The two offsets may be equal, in which case the source area is replaced by the
+    /// cut area.
+    ///
+    /// @return the cut coordinate, that is the new position of the edge before the spacing is applied
+    public static double cut(double[] o, int src, int dst, int side, double amount, double spacing) {
+        int e = src + edge(side);
+        double sign = sign(side);
+        double cut = clamp(o[e] + sign * amount, o[src + opposite(side)], sign);
+        if (dst != src) {
+            copy(o, src, dst);
+            o[e] = cut + sign * spacing;
+        }
+        o[dst + opposite(side)] = cut;
+        return cut;
+    }
+
+    /// Same as [Rect#get(RectSide, double)]: the cut area is written at `dst`, the area at `src` is left untouched
+    /// unless the two offsets are equal.
+    public static double get(double[] o, int src, int dst, int side, double amount) {
+        double sign = sign(side);
+        double cut = clamp(o[src + edge(side)] + sign * amount, o[src + opposite(side)], sign);
+        copy(o, src, dst);
+        o[dst + opposite(side)] = cut;
+        return cut;
+    }
+
+    /// Same as [Rect#add(RectSide, double)]: the area adjacent to the given side of the area at `src`, extending
+    /// outward by the given amount, is written at `dst`.
+    public static void add(double[] o, int src, int dst, int side, double amount) {
+        double edge = o[src + edge(side)];
+        copy(o, src, dst);
+        o[dst + opposite(side)] = edge;
+        o[dst + edge(side)] = edge - sign(side) * amount;
+    }
+
+    /// Shrinks the area at the given offset by the given insets, like [Rect#withInsets(double, double, double, double)].
+    public static void insets(double[] o, int at, double top, double right, double bottom, double left) {
+        o[at] += left;
+        o[at + 1] += top;
+        o[at + 2] -= right;
+        o[at + 3] -= bottom;
+    }
+
+    /// @return whether cuts from the given side consume width, and thus use the horizontal spacing
+    public static boolean isHorizontal(int side) {
+        return (side & 1) != 0;
+    }
+
+    /// @return the extent of the area at the given offset along the axis consumed by cuts from the given side, never
+    /// negative
+    public static double extent(double[] o, int at, int side) {
+        int axis = (side & 1) ^ 1;
+        return Math.max(0, o[at + axis + 2] - o[at + axis]);
+    }
+
+    /// @return the index of the coordinate moved by a cut from the given side: `minY`, `maxX`, `maxY`, `minX`
+    private static int edge(int side) {
+        return (side + 1) & 3;
+    }
+
+    /// @return the index of the coordinate opposite to the edge of the given side: `maxY`, `minX`, `minY`, `maxX`
+    private static int opposite(int side) {
+        return (side + 3) & 3;
+    }
+
+    /// @return the direction in which the edge of the given side moves when cutting, `1` for top and left, `-1` for
+    /// right and bottom
+    private static double sign(int side) {
+        return 1 - ((side + 1) & 2);
+    }
+
+    /// Moving the edge must not pass the opposite coordinate: `min` when the edge moves forward, `max` otherwise.
+    private static double clamp(double moved, double opposite, double sign) {
+        return sign > 0 ? Math.min(opposite, moved) : Math.max(opposite, moved);
+    }
+
+    private static void copy(double[] o, int src, int dst) {
+        if (src == dst) return;
+        o[dst] = o[src];
+        o[dst + 1] = o[src + 1];
+        o[dst + 2] = o[src + 2];
+        o[dst + 3] = o[src + 3];
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+import java.util.function.ToDoubleFunction;
+
+/// Caches the sizes of UI elements for the duration of a layout pass.
+///
+/// Containers typically need the sizes of their children several times per pass: to compute their own preferred size,
+/// and then again to cut the children's areas. With UI toolkits, each size query may be expensive, think of a JavaFX
+/// node computing its min, pref and max widths, which in turn may query its own children. This computes the width and
+/// the height of each target (compared by identity) at most once per pass, by means of the functions given at
+/// construction, and then serves the cached values until [#beginPass()] is called again.
+///
+/// Starting a new pass does not touch the cached values, it just increments a stamp, so it's constant time regardless
+/// of the number of targets.
+///
+/// Typical usage with JavaFX:
+/// ```java
+/// SizeCache<Node> sizes = new SizeCache<>(
+///     SizeCache.clamped(n -> n.minWidth(-1), n -> n.prefWidth(-1), n -> n.maxWidth(-1)),
+///     SizeCache.clamped(n -> n.minHeight(-1), n -> n.prefHeight(-1), n -> n.maxHeight(-1))
+/// );
+///
+/// protected void layoutChildren() {
+///     Rect area = Rect.of(0, 0, getWidth(), getHeight());
+///     area.cutLeft(sizes.width(r1)).layout(r1::resizeRelocate);
+///     area.cutLeft(sizes.width(r2)).layout(r2::resizeRelocate);
+/// }
+///
+/// public void requestLayout() {
+///     sizes.beginPass();
+///     super.requestLayout();
+/// }
+/// ```
+///
+/// Like [LayoutDiffer], targets are held strongly, so they should be removed with [#forget(Object)] when they are
+/// removed from the UI.
+///
+/// Instances are not thread-safe.
+public final class SizeCache<T> {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final ToDoubleFunction<? super T> widthFn;
+    private final ToDoubleFunction<? super T> heightFn;
+
+    private final IdentitySlots<T> slots = new IdentitySlots<>();
+    private double[] sizes = new double[16 * 2];
+    private int[] stamps = new int[16 * 2];
+    private DoubleSupplier[] suppliers = new DoubleSupplier[16 * 2];
+    private int pass = 1;
+
+    private long queries = 0;
+    private long computed = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public SizeCache(ToDoubleFunction<? super T> widthFn, ToDoubleFunction<? super T> heightFn) {
+        this.widthFn = widthFn;
+        this.heightFn = heightFn;
+    }
+
+    /// @return a function which returns the preferred size clamped between the min and max sizes, the min size winning
+    /// if it's greater than the max size, as most toolkits do
+    public static <T> ToDoubleFunction<T> clamped(
+        ToDoubleFunction<? super T> min,
+        ToDoubleFunction<? super T> pref,
+        ToDoubleFunction<? super T> max
+    ) {
+        return t -> {
+            double mn = min.applyAsDouble(t);
+            return Math.max(mn, Math.min(pref.applyAsDouble(t), max.applyAsDouble(t)));
+        };
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// @return the width of the given target, computed at most once per pass
+    public double width(T target) {
+        return size(slot(target) * 2, target);
+    }
+
+    /// @return the height of the given target, computed at most once per pass
+    public double height(T target) {
+        return size(slot(target) * 2 + 1, target);
+    }
+
+    /// @return a [DoubleSupplier] which delegates to [#width(Object)] for the given target, useful to pass cut amounts
+    /// around lazily. The supplier is created once per target and then cached, so it's safe to call this on every
+    /// layout pass.
+    public DoubleSupplier widthOf(T target) {
+        return supplier(slot(target) * 2, target);
+    }
+
+    /// @return a [DoubleSupplier] which delegates to [#height(Object)] for the given target, see [#widthOf(Object)]
+    public DoubleSupplier heightOf(T target) {
+        return supplier(slot(target) * 2 + 1, target);
+    }
+
+    /// Starts a new pass, all the cached sizes become stale and are computed again on the next query.
+    public SizeCache<T> beginPass() {
+        if (++pass == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0, slots.count() * 2, 0);
+            pass = 1;
+        }
+        return this;
+    }
+
+    /// Forgets the cached sizes of the given target only, for example because it changed in the middle of a pass.
+    public SizeCache<T> invalidate(T target) {
+        int slot = slots.find(target);
+        if (slot >= 0) {
+            stamps[slot * 2] = 0;
+            stamps[slot * 2 + 1] = 0;
+        }
+        return this;
+    }
+
+    /// Removes the given target from this cache, releasing the reference to it.
+    public SizeCache<T> forget(T target) {
+        int slot = slots.release(target);
+        if (slot >= 0) {
+            int o = slot * 2;
+            stamps[o] = stamps[o + 1] = 0;
+            suppliers[o] = suppliers[o + 1] = null;
+        }
+        return this;
+    }
+
+    /// Removes all the targets from this cache and resets the counters.
+    public SizeCache<T> clear() {
+        Arrays.fill(stamps, 0, slots.count() * 2, 0);
+        Arrays.fill(suppliers, 0, slots.count() * 2, null);
+        slots.clear();
+        queries = computed = 0;
+        return this;
+    }
+
+    private double size(int i, T target) {
+        queries++;
+        if (stamps[i] != pass) {
+            sizes[i] = (i & 1) == 0 ? widthFn.applyAsDouble(target) : heightFn.applyAsDouble(target);
+            stamps[i] = pass;
+            computed++;
+        }
+        return sizes[i];
+    }
+
+    private DoubleSupplier supplier(int i, T target) {
+        DoubleSupplier s = suppliers[i];
+        if (s == null) {
+            s = (i & 1) == 0 ? () -> width(target) : () -> height(target);
+            suppliers[i] = s;
+        }
+        return s;
+    }
+
+    private int slot(T target) {
+        int s = slots.slot(target);
+        if (s * 2 == stamps.length) {
+            int capacity = stamps.length * 2;
+            sizes = Arrays.copyOf(sizes, capacity);
+            stamps = Arrays.copyOf(stamps, capacity);
+            suppliers = Arrays.copyOf(suppliers, capacity);
+        }
+        return s;
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of size queries since creation or the last [#clear()]
+    public long queries() {
+        return queries;
+    }
+
+    /// @return the number of sizes actually computed since creation or the last [#clear()], the rest were served from
+    /// the cache
+    public long computed() {
+        return computed;
+    }
+
+    /// @return the number of targets currently tracked
+    public int size() {
+        return slots.size();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.concurrent;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectSide;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/// Lets many threads cut slices from a shared area concurrently, without locks.
+///
+/// Cuts along one axis only change the two coordinates of that axis, so a carver is either [#vertical(Rect)],
+/// supporting cuts from the top and the bottom, or [#horizontal(Rect)], supporting cuts from the left and the right.
+/// The two coordinates are packed in a single `long`, as two `float` offsets from the area's start, and every cut is a
+/// compare-and-set loop on it: a thread reads the remaining area, computes the slice and the new remaining area exactly
+/// like [Rect#cut(RectSide, double)] does, spacing included, and retries only if another thread cut in the meantime.
+/// Each slice is therefore claimed by exactly one thread, and slices never overlap.
+///
+/// Because offsets are stored as `float`, results are identical to [Rect] when offsets, amounts and spacing are exactly
+/// representable, which is the case for integer values up to `2^24`, i.e. for any realistic pixel-aligned layout.
+///
+/// [#claim(RectSide, double)] returns `null` once the area is exhausted, which makes it convenient for work-claiming
+/// loops:
+/// ```java
+/// Rect tile;
+/// while ((tile = carver.claim(RectSide.TOP, 64)) != null) {
+///     render(tile);
+/// }
+/// ```
+public final class ConcurrentCarver {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final boolean vertical;
+    private final double origin;
+    private final double crossMin;
+    private final double crossMax;
+    private final float spacing;
+    private final long initial;
+    private final AtomicLong state;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private ConcurrentCarver(Rect area, boolean vertical) {
+        this.vertical = vertical;
+        this.origin = vertical ? area.minY() : area.minX();
+        this.crossMin = vertical ? area.minX() : area.minY();
+        this.crossMax = vertical ? area.maxX() : area.maxY();
+        this.spacing = (float) (vertical ? area.vSpacing() : area.hSpacing());
+        double extent = vertical ? area.maxY() - area.minY() : area.maxX() - area.minX();
+        this.initial = pack(0, (float) extent);
+        this.state = new AtomicLong(initial);
+    }
+
+    /// @return a carver which cuts the given area from the top and the bottom, using its [Rect#vSpacing()]
+    public static ConcurrentCarver vertical(Rect area) {
+        return new ConcurrentCarver(area, true);
+    }
+
+    /// @return a carver which cuts the given area from the left and the right, using its [Rect#hSpacing()]
+    public static ConcurrentCarver horizontal(Rect area) {
+        return new ConcurrentCarver(area, false);
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Atomically cuts a slice of the given amount from the given side. Same as [Rect#cut(RectSide, double)], once the
+    /// area is exhausted the returned slices are empty.
+    ///
+    /// @throws IllegalArgumentException if the side is not supported by this carver
+    public Rect cut(RectSide side, double amount) {
+        return cut(side, amount, false);
+    }
+
+    /// Like [#cut(RectSide, double)], but returns `null` without cutting if the remaining area is exhausted, i.e. its
+    /// extent along this carver's axis is zero or negative.
+    ///
+    /// @throws IllegalArgumentException if the side is not supported by this carver
+    public Rect claim(RectSide side, double amount) {
+        return cut(side, amount, true);
+    }
+
+    /// Delegates to [#cut(RectSide, double)].
+    public Rect cutTop(double amount) {
+        return cut(RectSide.TOP, amount);
+    }
+
+    /// Delegates to [#cut(RectSide, double)].
+    public Rect cutRight(double amount) {
+        return cut(RectSide.RIGHT, amount);
+    }
+
+    /// Delegates to [#cut(RectSide, double)].
+    public Rect cutBottom(double amount) {
+        return cut(RectSide.BOTTOM, amount);
+    }
+
+    /// Delegates to [#cut(RectSide, double)].
+    public Rect cutLeft(double amount) {
+        return cut(RectSide.LEFT, amount);
+    }
+
+    /// Restores the whole area, so that the carver can be reused, for example for the next frame. Slices cut
+    /// concurrently with the reset may belong to either the old or the new round.
+    public ConcurrentCarver reset() {
+        state.set(initial);
+        return this;
+    }
+
+    /// @return a snapshot of the remaining area
+    public Rect remaining() {
+        long s = state.get();
+        return slice(lo(s), hi(s));
+    }
+
+    /// @return whether the remaining area's extent along this carver's axis is zero or negative
+    public boolean isExhausted() {
+        long s = state.get();
+        return hi(s) - lo(s) <= 0;
+    }
+
+    private Rect cut(RectSide side, double amount, boolean claim) {
+        boolean fromStart = fromStart(side);
+        float a = (float) amount;
+        while (true) {
+            long s = state.get();
+            float lo = lo(s), hi = hi(s);
+            if (claim && hi - lo <= 0) return null;
+            if (fromStart) {
+                float cut = Math.min(hi, lo + a);
+                if (state.compareAndSet(s, pack(cut + spacing, hi))) return slice(lo, cut);
+            } else {
+                float cut = Math.max(lo, hi - a);
+                if (state.compareAndSet(s, pack(lo, cut - spacing))) return slice(cut, hi);
+            }
+        }
+    }
+
+    private boolean fromStart(RectSide side) {
+        return switch (side) {
+            case TOP, BOTTOM -> {
+                if (!vertical) throw new IllegalArgumentException("Horizontal carver cannot cut from " + side);
+                yield side == RectSide.TOP;
+            }
+            case LEFT, RIGHT -> {
+                if (vertical) throw new IllegalArgumentException("Vertical carver cannot cut from " + side);
+                yield side == RectSide.LEFT;
+            }
+        };
+    }
+
+    private Rect slice(float lo, float hi) {
+        return vertical
+            ? Rect.of(crossMin, origin + lo, crossMax, origin + hi)
+            : Rect.of(origin + lo, crossMin, origin + hi, crossMax);
+    }
+
+    private static long pack(float lo, float hi) {
+        return (long) Float.floatToRawIntBits(lo) << 32 | (Float.floatToRawIntBits(hi) & 0xFFFFFFFFL);
+    }
+
+    private static float lo(long state) {
+        return Float.intBitsToFloat((int) (state >>> 32));
+    }
+
+    private static float hi(long state) {
+        return Float.intBitsToFloat((int) state);
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return whether this carver cuts from the top and the bottom, otherwise from the left and the right
+    public boolean isVertical() {
+        return vertical;
+    }
+}
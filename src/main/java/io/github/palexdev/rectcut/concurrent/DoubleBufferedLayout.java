@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.concurrent;
+
+import io.github.palexdev.rectcut.RectBuffer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// Holds the results of layouts computed on a worker thread and hands them to the UI thread without locks.
+///
+/// The worker (producer) fills the buffer returned by [#back()] and then calls [#publish()]. The UI thread
+/// (consumer) calls [#front()] whenever it needs to apply the results, for example in `layoutChildren()`, and gets
+/// the most recent completed pass. Neither side ever blocks or waits for the other.
+///
+/// To make this work with both sides running freely, there are actually three buffers: the one being written by the
+/// producer, the one being read by the consumer, and one in between holding the latest published pass. Publishing
+/// swaps the producer's buffer with the one in between, reading swaps the consumer's buffer with it only if a new pass
+/// has been published since the last read. Both swaps are a single atomic operation on an integer, so the consumer
+/// always sees a complete and consistent pass, and the producer never overwrites a buffer that is being read.
+///
+/// Every published pass gets a generation number, starting from `1`, which can be used to detect stale results, see
+/// [#frontGeneration()] and [#latestGeneration()].
+///
+/// This class supports exactly one producer thread and one consumer thread.
+public final class DoubleBufferedLayout {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100;
+
+    private final RectBuffer[] buffers = new RectBuffer[3];
+    private final long[] generations = new long[3];
+    private final AtomicInteger shared = new AtomicInteger(1);
+    private volatile long latest = 0;
+
+    // Owned by the producer
+    private int backIndex = 0;
+    private long generation = 0;
+
+    // Owned by the consumer
+    private int frontIndex = 2;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public DoubleBufferedLayout() {
+        this(16);
+    }
+
+    public DoubleBufferedLayout(int capacity) {
+        for (int i = 0; i < 3; i++) buffers[i] = new RectBuffer(capacity);
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Producer side. The returned buffer is exclusively owned by the producer until [#publish()] is called, and it
+    /// contains the results of an older pass, so it should be cleared or completely overwritten.
+    public RectBuffer back() {
+        return buffers[backIndex];
+    }
+
+    /// Producer side. Publishes the content of [#back()] as the latest completed pass, and returns its generation.
+    /// After this call, [#back()] returns a different buffer.
+    public long publish() {
+        long gen = ++generation;
+        generations[backIndex] = gen;
+        int old = shared.getAndSet(backIndex | FRESH);
+        backIndex = old & INDEX_MASK;
+        latest = gen;
+        return gen;
+    }
+
+    /// Consumer side. Returns the buffer with the most recent completed pass, which stays valid and unchanged until
+    /// the next call of this method. If nothing has been published yet, the buffer is empty and [#frontGeneration()]
+    /// is `0`.
+    public RectBuffer front() {
+        if ((shared.get() & FRESH) != 0) {
+            int old = shared.getAndSet(frontIndex);
+            frontIndex = old & INDEX_MASK;
+        }
+        return buffers[frontIndex];
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// Consumer side.
+    ///
+    /// @return the generation of the pass returned by the last call to [#front()]
+    public long frontGeneration() {
+        return generations[frontIndex];
+    }
+
+    /// Can be called from any thread.
+    ///
+    /// @return the generation of the most recently published pass
+    public long latestGeneration() {
+        return latest;
+    }
+
+    /// Consumer side.
+    ///
+    /// @return whether a pass newer than the one returned by the last [#front()] has been published
+    public boolean hasNewer() {
+        return latest > generations[frontIndex];
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.damage;
+
+import io.github.palexdev.rectcut.RectBuffer;
+
+import java.util.Arrays;
+
+/// Computes the regions that need to be repainted after a layout pass, by comparing the results of two passes.
+///
+/// Areas are matched by index: if the area at index `i` changed (by more than [#epsilon()]), both its old and new
+/// bounds are damaged, since the content must be erased from the former and drawn in the latter. Areas present in only
+/// one of the two buffers are damaged too. Empty areas never produce damage.
+///
+/// The damaged areas are then merged to keep the output small:
+/// 1) if there are too many of them, they are first grouped in a coarse grid by their center, each cell becoming a
+///    single area, which bounds the cost of the next steps regardless of the number of changes
+/// 2) pairs of areas are merged as long as their union's bounding box does not cover more than the areas themselves
+///    (overlapping or adjacent areas), which never increases the repainted area
+/// 3) if more than [#maxRegions()] areas remain, the pairs whose merge wastes the least area are merged until the limit
+///    is respected
+///
+/// All the work is done on primitive arrays that are reused across calls. Instances are not thread-safe.
+public final class DamageCalculator {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final int GRID = 8;
+    private static final int MAX_MERGE_INPUT = GRID * GRID;
+
+    private double epsilon = 0;
+    private int maxRegions = 8;
+
+    private double[] work = new double[MAX_MERGE_INPUT * 4];
+    private int count = 0;
+    private final double[] grid = new double[MAX_MERGE_INPUT * 4];
+    private final boolean[] gridUsed = new boolean[MAX_MERGE_INPUT];
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public DamageCalculator() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Computes the damaged regions between the given layout results, the output buffer is cleared and then filled with
+    /// the merged regions.
+    ///
+    /// @return the number of damaged regions, `0` if nothing changed
+    public int compute(RectBuffer before, RectBuffer after, RectBuffer out) {
+        count = 0;
+        double[] a = before.array();
+        double[] b = after.array();
+        int common = Math.min(before.size(), after.size());
+        for (int i = 0; i < common; i++) {
+            int o = i * 4;
+            if (Math.abs(a[o] - b[o]) <= epsilon &&
+                Math.abs(a[o + 1] - b[o + 1]) <= epsilon &&
+                Math.abs(a[o + 2] - b[o + 2]) <= epsilon &&
+                Math.abs(a[o + 3] - b[o + 3]) <= epsilon
+            ) continue;
+            collect(a, o);
+            collect(b, o);
+        }
+        for (int i = common; i < before.size(); i++) collect(a, i * 4);
+        for (int i = common; i < after.size(); i++) collect(b, i * 4);
+
+        if (count > MAX_MERGE_INPUT) coarsen();
+        mergeFree();
+        while (count > maxRegions) mergeCheapest();
+
+        out.clear().ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            int o = i * 4;
+            out.add(work[o], work[o + 1], work[o + 2], work[o + 3]);
+        }
+        return count;
+    }
+
+    private void collect(double[] src, int o) {
+        if (src[o + 2] <= src[o] || src[o + 3] <= src[o + 1]) return;
+        if ((count + 1) * 4 > work.length) work = Arrays.copyOf(work, work.length * 2);
+        System.arraycopy(src, o, work, count * 4, 4);
+        count++;
+    }
+
+    /// Groups the collected areas in a coarse grid spanning their bounding box, assigning each area to the
+    /// cell containing its center.
+    private void coarsen() {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int o = i * 4;
+            minX = Math.min(minX, work[o]);
+            minY = Math.min(minY, work[o + 1]);
+            maxX = Math.max(maxX, work[o + 2]);
+            maxY = Math.max(maxY, work[o + 3]);
+        }
+        double cellW = Math.max((maxX - minX) / GRID, Double.MIN_NORMAL);
+        double cellH = Math.max((maxY - minY) / GRID, Double.MIN_NORMAL);
+
+        Arrays.fill(gridUsed, false);
+        for (int i = 0; i < count; i++) {
+            int o = i * 4;
+            int cx = Math.min(GRID - 1, (int) (((work[o] + work[o + 2]) * 0.5 - minX) / cellW));
+            int cy = Math.min(GRID - 1, (int) (((work[o + 1] + work[o + 3]) * 0.5 - minY) / cellH));
+            int c = cy * GRID + cx;
+            int g = c * 4;
+            if (!gridUsed[c]) {
+                System.arraycopy(work, o, grid, g, 4);
+                gridUsed[c] = true;
+            } else {
+                grid[g] = Math.min(grid[g], work[o]);
+                grid[g + 1] = Math.min(grid[g + 1], work[o + 1]);
+                grid[g + 2] = Math.max(grid[g + 2], work[o + 2]);
+                grid[g + 3] = Math.max(grid[g + 3], work[o + 3]);
+            }
+        }
+
+        count = 0;
+        for (int c = 0; c < MAX_MERGE_INPUT; c++) {
+            if (!gridUsed[c]) continue;
+            System.arraycopy(grid, c * 4, work, count * 4, 4);
+            count++;
+        }
+    }
+
+    /// Merges all the pairs whose union does not increase the covered area, until no such pair is left.
+    private void mergeFree() {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < count; i++) {
+                for (int j = i + 1; j < count; j++) {
+                    if (waste(i, j) <= 0) {
+                        merge(i, j);
+                        merged = true;
+                        j--;
+                    }
+                }
+            }
+        }
+    }
+
+    /// Merges the pair whose union wastes the least area.
+    private void mergeCheapest() {
+        int bi = 0, bj = 1;
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                double waste = waste(i, j);
+                if (waste < best) {
+                    best = waste;
+                    bi = i;
+                    bj = j;
+                }
+            }
+        }
+        merge(bi, bj);
+    }
+
+    /// @return the area covered by the bounding box of the two areas but by none of them
+    private double waste(int i, int j) {
+        int a = i * 4;
+        int b = j * 4;
+        double uw = Math.max(work[a + 2], work[b + 2]) - Math.min(work[a], work[b]);
+        double uh = Math.max(work[a + 3], work[b + 3]) - Math.min(work[a + 1], work[b + 1]);
+        double areaA = (work[a + 2] - work[a]) * (work[a + 3] - work[a + 1]);
+        double areaB = (work[b + 2] - work[b]) * (work[b + 3] - work[b + 1]);
+        double iw = Math.min(work[a + 2], work[b + 2]) - Math.max(work[a], work[b]);
+        double ih = Math.min(work[a + 3], work[b + 3]) - Math.max(work[a + 1], work[b + 1]);
+        double overlap = iw > 0 && ih > 0 ? iw * ih : 0;
+        return uw * uh - (areaA + areaB - overlap);
+    }
+
+    /// Replaces the area `i` with the union of `i` and `j`, then removes `j` by moving the last area in its place.
+    private void merge(int i, int j) {
+        int a = i * 4;
+        int b = j * 4;
+        work[a] = Math.min(work[a], work[b]);
+        work[a + 1] = Math.min(work[a + 1], work[b + 1]);
+        work[a + 2] = Math.max(work[a + 2], work[b + 2]);
+        work[a + 3] = Math.max(work[a + 3], work[b + 3]);
+        int last = --count;
+        if (j != last) System.arraycopy(work, last * 4, work, b, 4);
+    }
+
+    //================================================================================
+    // Getters/Setters
+    //================================================================================
+
+    /// @return the maximum difference between two coordinates for them to be considered equal
+    public double epsilon() {
+        return epsilon;
+    }
+
+    /// Sets the maximum difference between two coordinates for them to be considered equal. By default, it's `0`.
+    public DamageCalculator withEpsilon(double epsilon) {
+        this.epsilon = Math.max(0, epsilon);
+        return this;
+    }
+
+    /// @return the maximum number of regions produced by [#compute(RectBuffer, RectBuffer, RectBuffer)]
+    public int maxRegions() {
+        return maxRegions;
+    }
+
+    /// Sets the maximum number of regions produced by [#compute(RectBuffer, RectBuffer, RectBuffer)], by default 8.
+    /// Fewer regions mean fewer draw calls but possibly more repainted area.
+    ///
+    /// @throws IllegalArgumentException if the given value is less than 1
+    public DamageCalculator withMaxRegions(int maxRegions) {
+        if (maxRegions < 1)
+            throw new IllegalArgumentException("At least one region is required");
+        this.maxRegions = maxRegions;
+        return this;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.flex;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+
+import java.util.Arrays;
+
+/// Distributes space among a row (or column) of children with min/pref/max sizes and grow/shrink factors, in the same
+/// spirit as CSS flexbox.
+///
+/// Children are added with [#add(double, double, double, double, double)], then [#solve(double)] resolves their sizes
+/// for the given available space:
+/// - every child starts from its preferred size
+/// - if there's free space, it's distributed proportionally to the grow factors
+/// - if space is missing, it's taken proportionally to the shrink factors multiplied by the preferred sizes, so that
+///   bigger children shrink more
+/// - sizes are then clamped to the min/max constraints; children that violated them are frozen at the limit and the
+///   remaining space is redistributed among the others
+///
+/// Each round is a linear pass over the children and freezes at least one of them, in practice it takes one to three
+/// rounds. All the data is stored in primitive arrays that are reused, so solving does not allocate once the arrays
+/// have grown big enough.
+///
+/// The resolved sizes can be used directly, see [#size(int)], or emitted by cutting a parent area with
+/// [#cut(Rect, RectSide, RectBuffer)].
+///
+/// Instances are not thread-safe.
+public final class FlexSolver {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private double[] mins = new double[16];
+    private double[] prefs = new double[16];
+    private double[] maxs = new double[16];
+    private double[] grows = new double[16];
+    private double[] shrinks = new double[16];
+    private double[] sizes = new double[16];
+    private boolean[] frozen = new boolean[16];
+    private int count = 0;
+    private int rounds = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public FlexSolver() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Adds a child with the given constraints and returns its index.
+    ///
+    /// If `max` is less than `min`, `min` wins. Negative factors are treated as `0`.
+    public int add(double min, double pref, double max, double grow, double shrink) {
+        if (count == mins.length) grow(count * 2);
+        mins[count] = min;
+        prefs[count] = pref;
+        maxs[count] = Math.max(min, max);
+        grows[count] = Math.max(0, grow);
+        shrinks[count] = Math.max(0, shrink);
+        sizes[count] = 0;
+        return count++;
+    }
+
+    /// Adds a child which cannot grow nor shrink, its size is always its preferred size clamped by the constraints.
+    public int addFixed(double min, double pref, double max) {
+        return add(min, pref, max, 0, 0);
+    }
+
+    /// Removes all the children, the arrays are kept for reuse.
+    public FlexSolver clear() {
+        count = 0;
+        return this;
+    }
+
+    /// Resolves the sizes of the children for the given available space.
+    ///
+    /// @return the sum of the resolved sizes, which may be different from the available space if the constraints
+    /// cannot be satisfied otherwise
+    public double solve(double available) {
+        rounds = 0;
+        if (count == 0) return 0;
+
+        double hypothetical = 0;
+        for (int i = 0; i < count; i++) hypothetical += clamp(i, prefs[i]);
+        boolean growing = available > hypothetical;
+
+        // Freeze inflexible children
+        for (int i = 0; i < count; i++) {
+            double factor = growing ? grows[i] : shrinks[i];
+            double hyp = clamp(i, prefs[i]);
+            boolean inflexible = factor == 0 ||
+                                 (growing && prefs[i] > hyp) ||
+                                 (!growing && prefs[i] < hyp);
+            frozen[i] = inflexible;
+            sizes[i] = inflexible ? hyp : prefs[i];
+        }
+
+        while (rounds <= count) {
+            rounds++;
+            double remaining = available;
+            double factors = 0;
+            for (int i = 0; i < count; i++) {
+                if (frozen[i]) {
+                    remaining -= sizes[i];
+                } else {
+                    remaining -= prefs[i];
+                    factors += growing ? grows[i] : shrinks[i] * prefs[i];
+                }
+            }
+            if (factors == 0) {
+                // Nothing left that can absorb the space, unfrozen children stay at their clamped preferred size
+                for (int i = 0; i < count; i++) {
+                    if (!frozen[i]) sizes[i] = clamp(i, prefs[i]);
+                }
+                break;
+            }
+
+            double violation = 0;
+            for (int i = 0; i < count; i++) {
+                if (frozen[i]) continue;
+                double factor = growing ? grows[i] : shrinks[i] * prefs[i];
+                double target = prefs[i] + remaining * factor / factors;
+                double clamped = clamp(i, target);
+                sizes[i] = clamped;
+                violation += clamped - target;
+            }
+            if (violation == 0) break;
+
+            // Positive means some children were raised to their min, negative means some were capped to their max
+            boolean freezeMins = violation > 0;
+            for (int i = 0; i < count; i++) {
+                if (frozen[i]) continue;
+                double factor = growing ? grows[i] : shrinks[i] * prefs[i];
+                double target = prefs[i] + remaining * factor / factors;
+                if (freezeMins ? sizes[i] > target : sizes[i] < target) frozen[i] = true;
+            }
+        }
+        return total();
+    }
+
+    /// Cuts the resolved sizes from the given area, in order, from the given side. The spacing of the area is used
+    /// between children, as usual for [Rect#cut(RectSide, double)], so [#solve(double)] is called with the area's
+    /// extent minus the spacing.
+    ///
+    /// The buffer is cleared and filled with the area of each child.
+    public RectBuffer cut(Rect area, RectSide side, RectBuffer out) {
+        boolean horizontal = side == RectSide.LEFT || side == RectSide.RIGHT;
+        double extent = horizontal ? area.width() : area.height();
+        double spacing = horizontal ? area.hSpacing() : area.vSpacing();
+        solve(extent - spacing * Math.max(0, count - 1));
+
+        out.clear().ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            out.add(area.cut(side, sizes[i]));
+        }
+        return out;
+    }
+
+    private double clamp(int i, double size) {
+        return Math.max(mins[i], Math.min(maxs[i], size));
+    }
+
+    private void grow(int capacity) {
+        mins = Arrays.copyOf(mins, capacity);
+        prefs = Arrays.copyOf(prefs, capacity);
+        maxs = Arrays.copyOf(maxs, capacity);
+        grows = Arrays.copyOf(grows, capacity);
+        shrinks = Arrays.copyOf(shrinks, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        frozen = Arrays.copyOf(frozen, capacity);
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of children
+    public int count() {
+        return count;
+    }
+
+    /// @return the size resolved by the last [#solve(double)] for the given child
+    public double size(int index) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for count " + count);
+        return sizes[index];
+    }
+
+    /// @return the sum of the sizes resolved by the last [#solve(double)]
+    public double total() {
+        double total = 0;
+        for (int i = 0; i < count; i++) total += sizes[i];
+        return total;
+    }
+
+    /// @return the number of rounds the last [#solve(double)] needed
+    public int rounds() {
+        return rounds;
+    }
+}
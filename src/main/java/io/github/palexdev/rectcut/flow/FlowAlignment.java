@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.flow;
+
+/// Enumerator for the ways the [FlowLayout] can distribute the free space along an axis.
+public enum FlowAlignment {
+    /// Free space goes at the end, content is packed at the start (left or top).
+    START,
+
+    /// Free space is split equally at both sides, content is centered.
+    CENTER,
+
+    /// Free space goes at the start, content is packed at the end (right or bottom).
+    END,
+    ;
+
+    /// @return the offset at which content should start given the free space
+    double offset(double free) {
+        return switch (this) {
+            case START -> 0;
+            case CENTER -> free / 2.0;
+            case END -> free;
+        };
+    }
+}
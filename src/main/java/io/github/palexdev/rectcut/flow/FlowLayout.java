@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.flow;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+
+/// Flow (or wrap) layout engine, places items left to right and wraps them on a new line when the available width is
+/// not enough. Typical for tag clouds, chip groups and wrapping toolbars.
+///
+/// This is the same as cutting each item from the left of a line with [Rect#cutLeft(double)], and each line from the
+/// top of the area with [Rect#cutTop(double)], except that the lines' widths are not known in advance. The engine
+/// does everything in a single pass over the items: when a line is complete, its items are positioned according to the
+/// alignment and the next line starts. Each item is therefore visited at most twice, and nothing is allocated besides
+/// the output buffers.
+///
+/// The [Rect#hSpacing()] and [Rect#vSpacing()] of the area are used as gaps between items and between lines
+/// respectively. The area itself is not modified, the height used by the lines is returned so that it can be cut from
+/// the area if needed. Items that are wider than the area are placed alone on their line, lines that exceed the area's
+/// height are still laid out.
+///
+/// Instances are not thread-safe.
+public final class FlowLayout {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private FlowAlignment alignment = FlowAlignment.START;
+    private FlowAlignment lineAlignment = FlowAlignment.START;
+    private int lineCount = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public FlowLayout() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Lays out the given items in the given area.
+    ///
+    /// The sizes array must contain the items' widths and heights interleaved, `w0, h0, w1, h1, ...`. The items buffer
+    /// is resized to the number of items, and the area of each item is written at its index. If the lines buffer is not
+    /// `null`, it's cleared and filled with the area of each line.
+    ///
+    /// @return the height used by the lines, including the spacing between them
+    /// @throws IllegalArgumentException if the sizes array's length is odd
+    public double layout(double[] sizes, Rect area, RectBuffer items, RectBuffer lines) {
+        if ((sizes.length & 1) != 0)
+            throw new IllegalArgumentException("Sizes array must contain width/height pairs");
+        int n = sizes.length / 2;
+        items.resize(n);
+        if (lines != null) lines.clear();
+        lineCount = 0;
+        if (n == 0) return 0;
+
+        double minX = area.minX();
+        double available = area.width();
+        double hSpacing = area.hSpacing();
+        double vSpacing = area.vSpacing();
+
+        double y = area.minY();
+        int start = 0;
+        double lineW = sizes[0];
+        double lineH = sizes[1];
+        for (int i = 1; i < n; i++) {
+            double w = sizes[i * 2];
+            double h = sizes[i * 2 + 1];
+            if (lineW + hSpacing + w > available) {
+                closeLine(sizes, items, lines, start, i, minX, y, available, lineW, lineH, hSpacing);
+                y += lineH + vSpacing;
+                start = i;
+                lineW = w;
+                lineH = h;
+            } else {
+                lineW += hSpacing + w;
+                lineH = Math.max(lineH, h);
+            }
+        }
+        closeLine(sizes, items, lines, start, n, minX, y, available, lineW, lineH, hSpacing);
+        return y + lineH - area.minY();
+    }
+
+    /// Positions the items in the range `[from, to)` on the line starting at the given `y` coordinate.
+    private void closeLine(double[] sizes, RectBuffer items, RectBuffer lines, int from, int to,
+                           double minX, double y, double available, double lineW, double lineH, double hSpacing) {
+        double[] out = items.array();
+        double x = minX + alignment.offset(Math.max(0, available - lineW));
+        if (lines != null) lines.add(x, y, x + lineW, y + lineH);
+        for (int i = from; i < to; i++) {
+            double w = sizes[i * 2];
+            double h = sizes[i * 2 + 1];
+            double itemY = y + lineAlignment.offset(lineH - h);
+            int o = i * RectBuffer.STRIDE;
+            out[o] = x;
+            out[o + 1] = itemY;
+            out[o + 2] = x + w;
+            out[o + 3] = itemY + h;
+            x += w + hSpacing;
+        }
+        lineCount++;
+    }
+
+    //================================================================================
+    // Getters/Setters
+    //================================================================================
+
+    /// @return the number of lines produced by the last layout
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /// @return how lines are aligned horizontally in the area
+    public FlowAlignment alignment() {
+        return alignment;
+    }
+
+    /// Sets how lines are aligned horizontally in the area.
+    public FlowLayout withAlignment(FlowAlignment alignment) {
+        this.alignment = alignment;
+        return this;
+    }
+
+    /// @return how items are aligned vertically in their line
+    public FlowAlignment lineAlignment() {
+        return lineAlignment;
+    }
+
+    /// Sets how items are aligned vertically in their line, relevant only when items have different heights.
+    public FlowLayout withLineAlignment(FlowAlignment lineAlignment) {
+        this.lineAlignment = lineAlignment;
+        return this;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.intern;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/// Compact storage for large numbers of retained layout results, for example for hit-testing and diffing.
+///
+/// Each region is stored as its position, two `double`s in a flat array, plus the index of its size in a palette of
+/// the distinct sizes seen by the store, an `int`. That's 20 bytes per region, against the ~70 bytes of a [Rect] object
+/// plus the reference to it, so the store is worth it whenever many regions share few sizes, which is the case of grids,
+/// lists and dashboards. The palette holds sizes interned by a [SizeInterner], which can be shared among stores.
+///
+/// Like [InternedRect], the max coordinates are derived as `min + size`, and sizes are clamped to be non-negative like
+/// [Rect#width()] and [Rect#height()], so a region reads back the same whether it was stored here or built with
+/// [InternedRect#of(Rect, SizeInterner)].
+///
+/// Instances are not thread-safe.
+public final class CompactRectStore {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final SizeInterner interner;
+    private double[] positions;
+    private int[] sizeIds;
+    private int count = 0;
+    private RectSize[] palette = new RectSize[16];
+    private final Map<RectSize, Integer> paletteIds = new HashMap<>();
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public CompactRectStore() {
+        this(new SizeInterner(), 16);
+    }
+
+    public CompactRectStore(SizeInterner interner, int capacity) {
+        this.interner = interner;
+        capacity = Math.max(1, capacity);
+        this.positions = new double[capacity * 2];
+        this.sizeIds = new int[capacity];
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Adds a region and returns its index. If a max coordinate is less than the min one, the size along that axis is
+    /// zero.
+    public int add(double minX, double minY, double maxX, double maxY) {
+        if (count == sizeIds.length) grow(count * 2);
+        positions[count * 2] = minX;
+        positions[count * 2 + 1] = minY;
+        sizeIds[count] = paletteId(interner.intern(Math.max(0, maxX - minX), Math.max(0, maxY - minY)));
+        return count++;
+    }
+
+    /// Delegates to [#add(double, double, double, double)].
+    public int add(Rect rect) {
+        return add(rect.minX(), rect.minY(), rect.maxX(), rect.maxY());
+    }
+
+    /// Adds all the regions of the given buffer, in order.
+    public CompactRectStore addAll(RectBuffer rects) {
+        int n = rects.size();
+        if (count + n > sizeIds.length) grow(Math.max(count + n, count * 2));
+        double[] data = rects.array();
+        for (int i = 0; i < n; i++) {
+            int o = i * RectBuffer.STRIDE;
+            add(data[o], data[o + 1], data[o + 2], data[o + 3]);
+        }
+        return this;
+    }
+
+    /// @return the index of the last added region containing the given point, or `-1`; min edges are included, max edges
+    /// are excluded
+    ///
+    /// This is a linear scan of the regions, from the last added one backward, since the store is optimized for
+    /// footprint rather than spatial queries. For frequent queries on many regions, index the regions by area first.
+    public int indexAt(double x, double y) {
+        for (int i = count - 1; i >= 0; i--) {
+            double minX = positions[i * 2];
+            double minY = positions[i * 2 + 1];
+            RectSize size = palette[sizeIds[i]];
+            if (x >= minX && y >= minY && x < minX + size.width() && y < minY + size.height()) return i;
+        }
+        return -1;
+    }
+
+    /// Removes all the regions and sizes, the arrays are kept for reuse.
+    public CompactRectStore clear() {
+        Arrays.fill(palette, 0, paletteIds.size(), null);
+        paletteIds.clear();
+        count = 0;
+        return this;
+    }
+
+    /// Shrinks the arrays to the number of regions.
+    public CompactRectStore trimToSize() {
+        if (count < sizeIds.length) grow(count);
+        return this;
+    }
+
+    private int paletteId(RectSize size) {
+        Integer id = paletteIds.get(size);
+        if (id != null) return id;
+        int next = paletteIds.size();
+        if (next == palette.length) palette = Arrays.copyOf(palette, next * 2);
+        palette[next] = size;
+        paletteIds.put(size, next);
+        return next;
+    }
+
+    private void grow(int capacity) {
+        capacity = Math.max(1, capacity);
+        positions = Arrays.copyOf(positions, capacity * 2);
+        sizeIds = Arrays.copyOf(sizeIds, capacity);
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the region at the given index as an [InternedRect], which shares the stored size
+    public InternedRect get(int index) {
+        checkIndex(index);
+        return new InternedRect(positions[index * 2], positions[index * 2 + 1], palette[sizeIds[index]]);
+    }
+
+    public double minX(int index) {
+        checkIndex(index);
+        return positions[index * 2];
+    }
+
+    public double minY(int index) {
+        checkIndex(index);
+        return positions[index * 2 + 1];
+    }
+
+    public double maxX(int index) {
+        return minX(index) + palette[sizeIds[index]].width();
+    }
+
+    public double maxY(int index) {
+        return minY(index) + palette[sizeIds[index]].height();
+    }
+
+    /// @return the shared size of the region at the given index
+    public RectSize size(int index) {
+        checkIndex(index);
+        return palette[sizeIds[index]];
+    }
+
+    /// @return the number of regions
+    public int count() {
+        return count;
+    }
+
+    /// @return the number of distinct sizes among the regions
+    public int distinctSizes() {
+        return paletteIds.size();
+    }
+
+    /// @return an estimate of the bytes used by the regions' data, excluding the sizes palette
+    public long footprint() {
+        return (long) positions.length * Double.BYTES + (long) sizeIds.length * Integer.BYTES;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for count " + count);
+    }
+}
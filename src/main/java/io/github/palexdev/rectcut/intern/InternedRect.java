@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.intern;
+
+import io.github.palexdev.rectcut.Rect;
+
+/// Immutable rect made of a position and a shared [RectSize].
+///
+/// The max coordinates are derived as `min + size`, which is exact for pixel-aligned layouts, but may differ by a
+/// rounding error from the original coordinates otherwise.
+public final class InternedRect {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final double minX;
+    private final double minY;
+    private final RectSize size;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public InternedRect(double minX, double minY, RectSize size) {
+        this.minX = minX;
+        this.minY = minY;
+        this.size = size;
+    }
+
+    /// @return an interned rect with the same position and size of the given one, the size is interned by the given
+    /// interner
+    public static InternedRect of(Rect rect, SizeInterner interner) {
+        return new InternedRect(rect.minX(), rect.minY(), interner.intern(rect.width(), rect.height()));
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// @return whether the given point is inside this rect, min edges included, max edges excluded
+    public boolean contains(double x, double y) {
+        return x >= minX && y >= minY && x < maxX() && y < maxY();
+    }
+
+    /// @return a new mutable [Rect] with the same coordinates
+    public Rect toRect() {
+        return Rect.of(minX, minY, maxX(), maxY());
+    }
+
+    //================================================================================
+    // Overridden Methods
+    //================================================================================
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InternedRect rect)) return false;
+        return Double.compare(minX, rect.minX) == 0 &&
+               Double.compare(minY, rect.minY) == 0 &&
+               size.equals(rect.size);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Double.hashCode(minX) + Double.hashCode(minY)) + size.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "InternedRect[" +
+               "minX=" + minX + ", " +
+               "minY=" + minY + ", " +
+               "width=" + size.width() + ", " +
+               "height=" + size.height() + ']';
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+    public double minX() {return minX;}
+
+    public double minY() {return minY;}
+
+    public double maxX() {return minX + size.width();}
+
+    public double maxY() {return minY + size.height();}
+
+    public double width() {return size.width();}
+
+    public double height() {return size.height();}
+
+    /// @return the shared size of this rect
+    public RectSize size() {
+        return size;
+    }
+}
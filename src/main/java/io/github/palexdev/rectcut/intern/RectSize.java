@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.intern;
+
+/// Immutable width/height pair, the part of a rect that is shared by many regions in grid-like layouts.
+///
+/// Instances are obtained from a [SizeInterner], so that equal sizes are usually represented by the same instance.
+/// Since the interner has a bounded capacity, this is not guaranteed, always compare sizes with
+/// [#equals(Object)].
+public final class RectSize {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final double width;
+    private final double height;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    RectSize(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// @return whether this size is exactly the given one, `-0.0` and `0.0` are considered different
+    boolean is(double width, double height) {
+        return Double.doubleToLongBits(this.width) == Double.doubleToLongBits(width) &&
+               Double.doubleToLongBits(this.height) == Double.doubleToLongBits(height);
+    }
+
+    //================================================================================
+    // Overridden Methods
+    //================================================================================
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RectSize size)) return false;
+        return is(size.width, size.height);
+    }
+
+    @Override
+    public int hashCode() {
+        return SizeInterner.hash(width, height);
+    }
+
+    @Override
+    public String toString() {
+        return "RectSize[width=" + width + ", height=" + height + ']';
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+    public double width() {
+        return width;
+    }
+
+    public double height() {
+        return height;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.intern;
+
+import java.util.Arrays;
+
+/// Bounded cache of canonical [RectSize] instances.
+///
+/// The cache is set-associative: sizes are hashed to a set of four slots, a lookup only scans that set, and a miss
+/// evicts the least recently used size of the set. This keeps memory fixed and both hits and misses `O(1)`, at the cost
+/// of occasionally evicting a size that is still in use when many sizes collide on the same set; in that case a new
+/// instance is created, which is still correct, only less shared. Hits do not allocate.
+///
+/// Instances are not thread-safe.
+public final class SizeInterner {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final int WAYS = 4;
+
+    private final RectSize[] slots;
+    private final int mask;
+    private long hits = 0;
+    private long misses = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public SizeInterner() {
+        this(4096);
+    }
+
+    /// Creates an interner holding at most the given number of sizes, rounded up to a power of two, at least four.
+    public SizeInterner(int capacity) {
+        int sets = Integer.highestOneBit(Math.max(WAYS, capacity) - 1) * 2 / WAYS;
+        sets = Math.max(1, sets);
+        slots = new RectSize[sets * WAYS];
+        mask = sets - 1;
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// @return the canonical instance for the given size, creating and caching it if needed
+    public RectSize intern(double width, double height) {
+        int base = (hash(width, height) & mask) * WAYS;
+        for (int w = 0; w < WAYS; w++) {
+            RectSize size = slots[base + w];
+            if (size == null) break;
+            if (size.is(width, height)) {
+                // Move to front, so that the last slot is always the least recently used one
+                System.arraycopy(slots, base, slots, base + 1, w);
+                slots[base] = size;
+                hits++;
+                return size;
+            }
+        }
+        RectSize size = new RectSize(width, height);
+        System.arraycopy(slots, base, slots, base + 1, WAYS - 1);
+        slots[base] = size;
+        misses++;
+        return size;
+    }
+
+    /// Delegates to [#intern(double, double)].
+    public RectSize intern(RectSize size) {
+        return intern(size.width(), size.height());
+    }
+
+    /// Removes all the cached sizes and resets the counters.
+    public SizeInterner clear() {
+        Arrays.fill(slots, null);
+        hits = 0;
+        misses = 0;
+        return this;
+    }
+
+    static int hash(double width, double height) {
+        long h = Double.doubleToLongBits(width) * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(height);
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the maximum number of cached sizes
+    public int capacity() {
+        return slots.length;
+    }
+
+    /// @return the number of lookups which found a cached size
+    public long hits() {
+        return hits;
+    }
+
+    /// @return the number of lookups which created a new size
+    public long misses() {
+        return misses;
+    }
+}
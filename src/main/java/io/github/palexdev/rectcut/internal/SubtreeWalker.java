@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.internal;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/// Depth-first traversal of a flattened hierarchy which lays out big subtrees in parallel, shared by the engines whose
+/// subtrees only depend on the area of their root, `LayoutTree` and `Treemap`.
+///
+/// The hierarchy is described by a [Shape]. For every node with children, the [Visitor] is called once and must write
+/// the areas of its children in the results array; then the children's subtrees are visited. Subtrees with at least
+/// the given threshold of nodes are forked as separate tasks, smaller ones are visited by the task that reached them.
+/// Every node is visited by exactly one task, so the results are identical to a sequential traversal.
+///
+/// The traversal uses an explicit stack, so that deep hierarchies cannot overflow the call stack. The stack and the
+/// scratch array of the walker are reused by the sequential path, while every forked task has its own.
+///
+/// Instances are not thread-safe, this package is not exported.
+public final class SubtreeWalker<C> {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final int scratchSize;
+    private final Visitor<? super C> visitor;
+    private int[] stack = new int[32];
+    private final double[] scratch;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public SubtreeWalker(int scratchSize, Visitor<? super C> visitor) {
+        this.scratchSize = scratchSize;
+        this.visitor = visitor;
+        this.scratch = new double[scratchSize];
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Visits the whole hierarchy starting from the root, node `0`. If a pool is given and the hierarchy has at least
+    /// `threshold` nodes, the traversal runs on the pool; either way, the method returns when all the nodes have been
+    /// visited.
+    public void walk(C context, Shape shape, double[] out, ForkJoinPool pool, int threshold) {
+        if (pool == null || shape.subtreeSizes[0] < threshold) {
+            walk(context, shape, out, 0, false, threshold);
+        } else {
+            pool.invoke(new SubtreeTask<>(this, context, shape, out, 0, threshold));
+        }
+    }
+
+    private void walk(C context, Shape shape, double[] out, int root, boolean parallel, int threshold) {
+        int[] offsets = shape.offsets;
+        int[] children = shape.children;
+        List<SubtreeTask<C>> forked = null;
+        int sp = 0;
+        stack[sp++] = root;
+        while (sp > 0) {
+            int node = stack[--sp];
+            visitor.visit(context, out, node, scratch);
+            for (int k = offsets[node], end = offsets[node + 1]; k < end; k++) {
+                int child = children != null ? children[k] : k;
+                if (offsets[child] == offsets[child + 1]) continue;
+                if (parallel && shape.subtreeSizes[child] >= threshold) {
+                    if (forked == null) forked = new ArrayList<>();
+                    SubtreeTask<C> task = new SubtreeTask<>(this, context, shape, out, child, threshold);
+                    task.fork();
+                    forked.add(task);
+                    continue;
+                }
+                if (sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+                stack[sp++] = child;
+            }
+        }
+        if (forked != null) {
+            for (SubtreeTask<C> task : forked) task.join();
+        }
+    }
+
+    //================================================================================
+    // Inner Classes
+    //================================================================================
+
+    /// Lays out the children of a node, whose area is already in the results array.
+    @FunctionalInterface
+    public interface Visitor<C> {
+        void visit(C context, double[] out, int node, double[] scratch);
+    }
+
+    /// A flattened hierarchy: the children of node `i` are at positions `[offsets[i], offsets[i + 1])` of the
+    /// `children` array, or are the nodes with those indexes if the array is `null`. `subtreeSizes[i]` is the number of
+    /// nodes in the subtree rooted at `i`, including `i`.
+    public static final class Shape {
+        private final int[] offsets;
+        private final int[] children;
+        private final int[] subtreeSizes;
+
+        public Shape(int[] offsets, int[] children, int[] subtreeSizes) {
+            this.offsets = offsets;
+            this.children = children;
+            this.subtreeSizes = subtreeSizes;
+        }
+    }
+
+    private static final class SubtreeTask<C> extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        // Tasks are never serialized, RecursiveAction is Serializable only through ForkJoinTask
+        private final transient SubtreeWalker<C> parent;
+        private final transient C context;
+        private final transient Shape shape;
+        private final double[] out;
+        private final int root;
+        private final int threshold;
+
+        SubtreeTask(SubtreeWalker<C> parent, C context, Shape shape, double[] out, int root, int threshold) {
+            this.parent = parent;
+            this.context = context;
+            this.shape = shape;
+            this.out = out;
+            this.root = root;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            new SubtreeWalker<C>(parent.scratchSize, parent.visitor).walk(context, shape, out, root, true, threshold);
+        }
+    }
+}
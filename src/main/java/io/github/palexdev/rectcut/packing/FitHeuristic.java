@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.packing;
+
+/// Enumerator for the strategies the [GuillotinePacker] can use to choose the free area in which an item is placed.
+///
+/// All heuristics, except for [#FIRST_FIT], scan every free area and pick the one with the lowest score.
+public enum FitHeuristic {
+    /// Picks the free area with the smallest area left after placing the item.
+    BEST_AREA_FIT,
+
+    /// Picks the free area where the shorter leftover side is the smallest.
+    BEST_SHORT_SIDE_FIT,
+
+    /// Picks the free area where the longer leftover side is the smallest.
+    BEST_LONG_SIDE_FIT,
+
+    /// Picks the free area with the largest area left after placing the item.
+    WORST_AREA_FIT,
+
+    /// Picks the first free area big enough to contain the item.
+    FIRST_FIT,
+    ;
+
+    /// @return the score of placing an item of the given size in a free area of the given size, the lower the better
+    double score(double freeW, double freeH, double w, double h) {
+        return switch (this) {
+            case BEST_AREA_FIT -> freeW * freeH - w * h;
+            case BEST_SHORT_SIDE_FIT -> Math.min(freeW - w, freeH - h);
+            case BEST_LONG_SIDE_FIT -> Math.max(freeW - w, freeH - h);
+            case WORST_AREA_FIT -> -(freeW * freeH - w * h);
+            case FIRST_FIT -> 0;
+        };
+    }
+}
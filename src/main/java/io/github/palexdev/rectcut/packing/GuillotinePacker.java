@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.packing;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+
+import java.util.Arrays;
+
+/// Guillotine bin packer, places items of arbitrary sizes into one or more bins of the same size.
+///
+/// The rectcut strategy is guillotine cutting, so this is a natural fit. Every bin starts as a single free area; when
+/// an item is placed in a free area, it's cut out of its top-left corner and the remaining space is split in two new
+/// free areas according to the chosen [SplitHeuristic]. The free area to use for each item is chosen according to the
+/// [FitHeuristic].
+///
+/// Bins are described by a template [Rect], its coordinates are the coordinates of every bin, while its
+/// [Rect#hSpacing()] and [Rect#vSpacing()] are used as the gaps between items, exactly as for the cut methods (useful
+/// for texture atlases, to avoid bleeding).
+///
+/// Items can be inserted one at a time with [#insert(double, double, RectBuffer)] or in bulk with
+/// [#insertAll(double[], RectBuffer, int[])]. Free areas are stored in primitive arrays that are reused across
+/// insertions, so the packer does not allocate once its arrays have grown big enough.
+///
+/// Instances are not thread-safe.
+public final class GuillotinePacker {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final double hSpacing;
+    private final double vSpacing;
+
+    private FitHeuristic fit = FitHeuristic.BEST_SHORT_SIDE_FIT;
+    private SplitHeuristic split = SplitHeuristic.SHORTER_LEFTOVER_AXIS;
+    private int maxBins = Integer.MAX_VALUE;
+    private boolean merge = true;
+
+    // Free areas as minX, minY, maxX, maxY quadruples plus the bin they belong to
+    private double[] free = new double[64 * 4];
+    private int[] freeBins = new int[64];
+    private int freeCount = 0;
+
+    private int bins = 0;
+    private double usedArea = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    /// @throws IllegalArgumentException if the template's width or height are not greater than 0
+    public GuillotinePacker(Rect bin) {
+        if (bin.width() <= 0 || bin.height() <= 0)
+            throw new IllegalArgumentException("The bin's width and height must be greater than 0");
+        this.minX = bin.minX();
+        this.minY = bin.minY();
+        this.maxX = bin.maxX();
+        this.maxY = bin.maxY();
+        this.hSpacing = bin.hSpacing();
+        this.vSpacing = bin.vSpacing();
+    }
+
+    public static GuillotinePacker of(Rect bin) {
+        return new GuillotinePacker(bin);
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Places an item of the given size, appends the area it has been assigned to the given buffer and returns the index
+    /// of the bin in which it has been placed.
+    ///
+    /// If the item cannot be placed, because it's bigger than a bin, it has no area or because the [#maxBins()] limit
+    /// has been reached, then an empty area at `(0, 0)` is appended and `-1` is returned. This way, the index of an item
+    /// in the buffer always matches its insertion order.
+    ///
+    /// @throws IllegalArgumentException if the width or the height are `NaN` or infinite
+    public int insert(double w, double h, RectBuffer out) {
+        checkSize(w, h);
+        int best = findFree(w, h);
+        if (best < 0 && w > 0 && h > 0 && w <= binWidth() && h <= binHeight() && bins < maxBins) {
+            addFree(bins++, minX, minY, maxX, maxY);
+            best = freeCount - 1;
+        }
+        if (best < 0) {
+            out.add(0, 0, 0, 0);
+            return -1;
+        }
+
+        int o = best * 4;
+        int bin = freeBins[best];
+        double fMinX = free[o];
+        double fMinY = free[o + 1];
+        double fMaxX = free[o + 2];
+        double fMaxY = free[o + 3];
+        out.add(fMinX, fMinY, fMinX + w, fMinY + h);
+        usedArea += w * h;
+        removeFree(best);
+
+        // Split the L-shaped leftover, spacing is applied like the cut methods do
+        double iMaxX = fMinX + w + hSpacing;
+        double iMaxY = fMinY + h + vSpacing;
+        if (split.horizontal(fMaxX - fMinX, fMaxY - fMinY, w, h)) {
+            addSplit(bin, iMaxX, fMinY, fMaxX, fMinY + h);
+            addSplit(bin, fMinX, iMaxY, fMaxX, fMaxY);
+        } else {
+            addSplit(bin, iMaxX, fMinY, fMaxX, fMaxY);
+            addSplit(bin, fMinX, iMaxY, fMinX + w, fMaxY);
+        }
+        return bin;
+    }
+
+    /// Bulk version of [#insert(double, double, RectBuffer)].
+    ///
+    /// The sizes array must contain the items' widths and heights interleaved, `w0, h0, w1, h1, ...`. The buffer is
+    /// cleared and then filled with the area assigned to each item, and the bins array, if not `null`, receives the bin
+    /// index of each item (or `-1` if it could not be placed).
+    ///
+    /// @return the number of items that have been placed
+    /// @throws IllegalArgumentException if the sizes array's length is odd, if it contains `NaN` or infinite sizes, or if
+    /// the bins array is too small; in any case, nothing is placed
+    public int insertAll(double[] sizes, RectBuffer out, int[] bins) {
+        if ((sizes.length & 1) != 0)
+            throw new IllegalArgumentException("Sizes array must contain width/height pairs");
+        int n = sizes.length / 2;
+        if (bins != null && bins.length < n)
+            throw new IllegalArgumentException("Bins array is too small, expected at least " + n + " elements");
+        for (int i = 0; i < n; i++) {
+            checkSize(sizes[i * 2], sizes[i * 2 + 1]);
+        }
+
+        out.clear().ensureCapacity(n);
+        int placed = 0;
+        for (int i = 0; i < n; i++) {
+            int bin = insert(sizes[i * 2], sizes[i * 2 + 1], out);
+            if (bins != null) bins[i] = bin;
+            if (bin >= 0) placed++;
+        }
+        return placed;
+    }
+
+    /// Removes all the placed items and bins, heuristics and limits are kept.
+    public GuillotinePacker reset() {
+        freeCount = 0;
+        bins = 0;
+        usedArea = 0;
+        return this;
+    }
+
+    private static void checkSize(double w, double h) {
+        if (!Double.isFinite(w) || !Double.isFinite(h))
+            throw new IllegalArgumentException("The item's size must be finite, got " + w + "x" + h);
+    }
+
+    private int findFree(double w, double h) {
+        if (w <= 0 || h <= 0) return -1;
+        int best = -1;
+        double bestScore = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < freeCount; i++) {
+            int o = i * 4;
+            double fw = free[o + 2] - free[o];
+            double fh = free[o + 3] - free[o + 1];
+            if (w > fw || h > fh) continue;
+            if (fit == FitHeuristic.FIRST_FIT) return i;
+            double score = fit.score(fw, fh, w, h);
+            if (score < bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private void addSplit(int bin, double fMinX, double fMinY, double fMaxX, double fMaxY) {
+        if (fMaxX - fMinX <= 0 || fMaxY - fMinY <= 0) return;
+        if (merge && tryMerge(bin, fMinX, fMinY, fMaxX, fMaxY)) return;
+        addFree(bin, fMinX, fMinY, fMaxX, fMaxY);
+    }
+
+    /// Tries to merge the given free area with an existing one of the same bin that shares a full edge with it.
+    private boolean tryMerge(int bin, double fMinX, double fMinY, double fMaxX, double fMaxY) {
+        for (int i = 0; i < freeCount; i++) {
+            if (freeBins[i] != bin) continue;
+            int o = i * 4;
+            if (free[o] == fMinX && free[o + 2] == fMaxX) {
+                if (free[o + 3] == fMinY) {
+                    free[o + 3] = fMaxY;
+                    return true;
+                }
+                if (free[o + 1] == fMaxY) {
+                    free[o + 1] = fMinY;
+                    return true;
+                }
+            }
+            if (free[o + 1] == fMinY && free[o + 3] == fMaxY) {
+                if (free[o + 2] == fMinX) {
+                    free[o + 2] = fMaxX;
+                    return true;
+                }
+                if (free[o] == fMaxX) {
+                    free[o] = fMinX;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void addFree(int bin, double fMinX, double fMinY, double fMaxX, double fMaxY) {
+        if (freeCount == freeBins.length) {
+            freeBins = Arrays.copyOf(freeBins, freeCount * 2);
+            free = Arrays.copyOf(free, freeCount * 2 * 4);
+        }
+        int o = freeCount * 4;
+        free[o] = fMinX;
+        free[o + 1] = fMinY;
+        free[o + 2] = fMaxX;
+        free[o + 3] = fMaxY;
+        freeBins[freeCount++] = bin;
+    }
+
+    private void removeFree(int index) {
+        int last = --freeCount;
+        if (index != last) {
+            System.arraycopy(free, last * 4, free, index * 4, 4);
+            freeBins[index] = freeBins[last];
+        }
+    }
+
+    //================================================================================
+    // Getters/Setters
+    //================================================================================
+
+    /// @return the number of bins opened so far
+    public int bins() {
+        return bins;
+    }
+
+    /// @return the ratio between the area occupied by the placed items and the total area of the opened bins
+    public double occupancy() {
+        return bins == 0 ? 0 : usedArea / (bins * binWidth() * binHeight());
+    }
+
+    /// @return the number of free areas currently tracked
+    public int freeAreas() {
+        return freeCount;
+    }
+
+    /// @return the width of every bin
+    public double binWidth() {
+        return Math.max(0, maxX - minX);
+    }
+
+    /// @return the height of every bin
+    public double binHeight() {
+        return Math.max(0, maxY - minY);
+    }
+
+    /// @return the heuristic used to choose the free area in which items are placed
+    public FitHeuristic fit() {
+        return fit;
+    }
+
+    /// Sets the heuristic used to choose the free area in which items are placed.
+    public GuillotinePacker withFit(FitHeuristic fit) {
+        this.fit = fit;
+        return this;
+    }
+
+    /// @return the heuristic used to split the free areas
+    public SplitHeuristic split() {
+        return split;
+    }
+
+    /// Sets the heuristic used to split the free areas.
+    public GuillotinePacker withSplit(SplitHeuristic split) {
+        this.split = split;
+        return this;
+    }
+
+    /// @return the maximum number of bins the packer can open
+    public int maxBins() {
+        return maxBins;
+    }
+
+    /// Sets the maximum number of bins the packer can open, by default it's unlimited.
+    public GuillotinePacker withMaxBins(int maxBins) {
+        this.maxBins = maxBins;
+        return this;
+    }
+
+    /// @return whether adjacent free areas are merged back together
+    public boolean merge() {
+        return merge;
+    }
+
+    /// Sets whether new free areas should be merged with adjacent ones sharing a full edge, which usually improves the
+    /// packing efficiency at a small cost. Enabled by default.
+    public GuillotinePacker withMerge(boolean merge) {
+        this.merge = merge;
+        return this;
+    }
+}
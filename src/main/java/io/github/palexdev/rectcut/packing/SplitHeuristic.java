@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.packing;
+
+import io.github.palexdev.rectcut.Rect;
+
+/// Enumerator for the strategies the [GuillotinePacker] can use to split the free area left after placing an item.
+///
+/// An item is always placed at the top-left corner of a free area, which leaves an L-shaped region that must be split
+/// in two rectangles, either:
+/// - horizontally: the free area is cut at the top by the item's height (as by [Rect#cutTop(double)]), the remainder
+///   becomes the bottom free area, and the top strip is cut at the left by the item's width (as by
+///   [Rect#cutLeft(double)]), its remainder becomes the right free area
+/// - vertically: same as above, but the first cut is at the left and the second one at the top
+public enum SplitHeuristic {
+    /// Splits along the axis which has the shorter leftover.
+    SHORTER_LEFTOVER_AXIS,
+
+    /// Splits along the axis which has the longer leftover.
+    LONGER_LEFTOVER_AXIS,
+
+    /// Splits so that the smaller of the two resulting areas is as small as possible.
+    MIN_AREA,
+
+    /// Splits so that the larger of the two resulting areas is as large as possible.
+    MAX_AREA,
+
+    /// Splits along the shorter side of the free area.
+    SHORTER_AXIS,
+
+    /// Splits along the longer side of the free area.
+    LONGER_AXIS,
+    ;
+
+    /// @return whether a free area of the given size should be split horizontally after placing an item of the given size
+    boolean horizontal(double freeW, double freeH, double w, double h) {
+        double leftW = freeW - w;
+        double leftH = freeH - h;
+        return switch (this) {
+            case SHORTER_LEFTOVER_AXIS -> leftW <= leftH;
+            case LONGER_LEFTOVER_AXIS -> leftW > leftH;
+            case MIN_AREA -> w * leftH > leftW * h;
+            case MAX_AREA -> w * leftH <= leftW * h;
+            case SHORTER_AXIS -> freeW <= freeH;
+            case LONGER_AXIS -> freeW > freeH;
+        };
+    }
+}
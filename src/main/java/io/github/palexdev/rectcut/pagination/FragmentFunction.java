@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.pagination;
+
+import io.github.palexdev.rectcut.LayoutFunction;
+
+/// Variant of [LayoutFunction] used by the [Paginator] to emit the fragments of a block.
+///
+/// Other than the usual four layout parameters, it also receives the index of the page the fragment belongs to and the
+/// index of the block (in insertion order) it was cut for. A block that does not fit in a single page is emitted as
+/// multiple fragments, all sharing the same block index.
+@FunctionalInterface
+public interface FragmentFunction {
+    void apply(int page, int block, double x, double y, double w, double h);
+}
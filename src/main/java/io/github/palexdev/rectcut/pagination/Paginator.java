@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.pagination;
+
+import io.github.palexdev.rectcut.Rect;
+
+import java.util.Arrays;
+
+/// Fragmentation engine which flows a sequence of vertical cuts across multiple pages.
+///
+/// Every page is described by the same template [Rect] (typically the page size with the margins applied through
+/// [Rect#withInsets(double)]), whose [Rect#vSpacing()] is used as the gap between consecutive blocks. Blocks are cut
+/// from the top of the current page exactly like [Rect#cutTop(double)] would do, and when the remaining space is not
+/// enough, the sequence continues on the next page.
+///
+/// The rules are simple:
+/// - a block that fits in the remaining space of the current page is placed there
+/// - a block that does not fit is moved to the next page
+/// - a block taller than a whole page is split into fragments, one per page, until it is fully placed
+/// - blocks added between [#beginGroup()] and [#endGroup()] are kept together on the same page if possible,
+///   otherwise they flow normally starting from a new page
+///
+/// Fragments are emitted through a [FragmentFunction] as soon as their position is known, and coordinates are
+/// page-local (every page starts again from the template's `minY`), so the engine never holds more than the current
+/// page state. The only buffer is the one used for keep-together groups, which grows to the size of the largest group
+/// and is then reused.
+///
+/// Instances are not thread-safe and can be reused for multiple documents by calling [#reset()].
+public final class Paginator {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final double vSpacing;
+    private final FragmentFunction fn;
+
+    private int page = 0;
+    private int blocks = 0;
+    private double cursor;
+    private boolean pageEmpty = true;
+
+    private boolean grouping = false;
+    private double[] group = new double[16];
+    private int groupSize = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    /// @throws IllegalArgumentException if the template's height is not greater than 0
+    public Paginator(Rect page, FragmentFunction fn) {
+        if (page.height() <= 0)
+            throw new IllegalArgumentException("The page's height must be greater than 0");
+        this.minX = page.minX();
+        this.minY = page.minY();
+        this.maxX = page.maxX();
+        this.maxY = page.maxY();
+        this.vSpacing = page.vSpacing();
+        this.fn = fn;
+        this.cursor = minY;
+    }
+
+    public static Paginator of(Rect page, FragmentFunction fn) {
+        return new Paginator(page, fn);
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Adds a block of the given height to the document and returns its index.
+    ///
+    /// If a keep-together group is open, the block is buffered and emitted when the group is closed by [#endGroup()].
+    /// Negative heights are treated as zero.
+    ///
+    /// @throws IllegalArgumentException if the height is `NaN` or infinite
+    public int add(double height) {
+        if (!Double.isFinite(height))
+            throw new IllegalArgumentException("The block's height must be finite, got " + height);
+        height = Math.max(0, height);
+        int block = blocks++;
+        if (grouping) {
+            if (groupSize == group.length) group = Arrays.copyOf(group, groupSize * 2);
+            group[groupSize++] = height;
+            return block;
+        }
+        place(block, height);
+        return block;
+    }
+
+    /// Opens a keep-together group. All the blocks added until [#endGroup()] is called will be placed on the same
+    /// page, moving them to the next page if needed.
+    ///
+    /// @throws IllegalStateException if a group is already open, groups cannot be nested
+    public Paginator beginGroup() {
+        if (grouping)
+            throw new IllegalStateException("A keep-together group is already open");
+        grouping = true;
+        return this;
+    }
+
+    /// Closes the current keep-together group and emits its blocks.
+    ///
+    /// If the whole group fits in the remaining space of the current page, it's placed there. If it fits in an empty
+    /// page, a page break is performed first. Otherwise, the group is taller than a page and cannot be kept together,
+    /// so its blocks flow normally starting from a new page.
+    ///
+    /// @throws IllegalStateException if no group is open
+    public Paginator endGroup() {
+        if (!grouping)
+            throw new IllegalStateException("There is no keep-together group open");
+        grouping = false;
+        if (groupSize == 0) return this;
+
+        double total = vSpacing * (groupSize - 1);
+        for (int i = 0; i < groupSize; i++) total += group[i];
+        if (total > remaining() && !pageEmpty) newPage();
+
+        int first = blocks - groupSize;
+        for (int i = 0; i < groupSize; i++) {
+            place(first + i, group[i]);
+        }
+        groupSize = 0;
+        return this;
+    }
+
+    /// Forces the next block to start on a new page. Does nothing if the current page is still empty.
+    ///
+    /// @throws IllegalStateException if called while a keep-together group is open
+    public Paginator pageBreak() {
+        if (grouping)
+            throw new IllegalStateException("Cannot break the page inside a keep-together group");
+        if (!pageEmpty) newPage();
+        return this;
+    }
+
+    /// Closes the document by flushing any open group and returns the number of pages used.
+    public int finish() {
+        if (grouping) endGroup();
+        if (blocks == 0) return 0;
+        return pageEmpty ? page : page + 1;
+    }
+
+    /// Resets the engine's state so that it can be used to paginate a new document.
+    public Paginator reset() {
+        page = 0;
+        blocks = 0;
+        cursor = minY;
+        pageEmpty = true;
+        grouping = false;
+        groupSize = 0;
+        return this;
+    }
+
+    /// Core algorithm, places a block on the current page or moves it to the next one. If the block is taller than a
+    /// page, then it's split into as many fragments as needed.
+    private void place(int block, double height) {
+        if (height > remaining() && !pageEmpty) newPage();
+        while (height > remaining()) {
+            double fragment = remaining();
+            fn.apply(page, block, minX, cursor, width(), fragment);
+            height -= fragment;
+            newPage();
+        }
+        fn.apply(page, block, minX, cursor, width(), height);
+        // Same as Rect.cutTop(), the spacing is added after the cut, but the cursor never goes past the content area
+        cursor = Math.min(maxY, Math.min(maxY, cursor + height) + vSpacing);
+        pageEmpty = false;
+    }
+
+    private void newPage() {
+        page++;
+        cursor = minY;
+        pageEmpty = true;
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the index of the current page
+    public int page() {
+        return page;
+    }
+
+    /// @return the number of blocks added so far
+    public int blocks() {
+        return blocks;
+    }
+
+    /// @return the space left on the current page
+    public double remaining() {
+        return Math.max(0, maxY - cursor);
+    }
+
+    /// @return the width of the page's content area
+    public double width() {
+        return Math.max(0, maxX - minX);
+    }
+
+    /// @return the height of the page's content area
+    public double pageHeight() {
+        return Math.max(0, maxY - minY);
+    }
+}
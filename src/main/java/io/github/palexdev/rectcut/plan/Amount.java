@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+/// The amount of an operation in a [LayoutPlan]. It can be a constant, a parameter given when the plan is executed, or a
+/// percentage of the source area's extent along the operation's axis (the width for horizontal operations, the height
+/// for vertical ones).
+public final class Amount {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final Kind kind;
+    private final double value;
+    private final String param;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private Amount(Kind kind, double value, String param) {
+        this.kind = kind;
+        this.value = value;
+        this.param = param;
+    }
+
+    /// @return a constant amount
+    public static Amount of(double value) {
+        return new Amount(Kind.CONSTANT, value, null);
+    }
+
+    /// @return an amount given by the parameter with the given name when the plan is executed
+    /// @throws IllegalArgumentException if the name is `null` or blank
+    public static Amount param(String name) {
+        if (name == null || name.isBlank())
+            throw new IllegalArgumentException("Parameter name cannot be null or blank");
+        return new Amount(Kind.PARAM, 0, name);
+    }
+
+    /// @return an amount which is the given percentage, `0` to `100`, of the source area's extent
+    public static Amount percent(double percent) {
+        return new Amount(Kind.PERCENT, percent, null);
+    }
+
+    //================================================================================
+    // Overridden Methods
+    //================================================================================
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case CONSTANT -> String.valueOf(value);
+            case PARAM -> "$" + param;
+            case PERCENT -> value + "%";
+        };
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    public Kind kind() {
+        return kind;
+    }
+
+    /// @return the constant value or the percentage, `0` for parameters
+    public double value() {
+        return value;
+    }
+
+    /// @return the parameter's name, `null` if this is not a parameter
+    public String param() {
+        return param;
+    }
+
+    //================================================================================
+    // Inner Classes
+    //================================================================================
+    public enum Kind {
+        CONSTANT, PARAM, PERCENT
+    }
+}
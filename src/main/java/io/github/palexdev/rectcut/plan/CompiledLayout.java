@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+
+/// Common API of layouts described by a [LayoutPlan], whether they are interpreted by the plan itself or compiled to
+/// plain Java by the `rectcut-processor` annotation processor, see [CutLayout].
+///
+/// A layout has a fixed number of named areas, the first one always being the root, `"root"`. Executing it writes the
+/// final state of each area in a [RectBuffer] at the area's index.
+public interface CompiledLayout {
+    double[] NO_PARAMS = new double[0];
+
+    /// @return the number of areas, including the root
+    int size();
+
+    /// @return the name of the area at the given index
+    String name(int index);
+
+    /// @return the number of parameters the layout needs
+    int paramCount();
+
+    /// @return the name of the parameter at the given index
+    String param(int index);
+
+    /// Executes the layout in the given bounds. The buffer is resized to [#size()], and the final state of each area is
+    /// written at its index. Only the coordinates and spacing of the bounds are read, the [Rect] is not modified.
+    ///
+    /// @param params the values of the parameters, in declaration order
+    /// @throws IllegalArgumentException if fewer than [#paramCount()] parameters are given
+    RectBuffer layout(Rect bounds, double[] params, RectBuffer out);
+
+    /// Delegates to [#layout(Rect, double\[\], RectBuffer)] with no parameters.
+    default RectBuffer layout(Rect bounds, RectBuffer out) {
+        return layout(bounds, NO_PARAMS, out);
+    }
+
+    /// @return the index of the area with the given name, or `-1` if there's no such area
+    default int indexOf(String name) {
+        for (int i = 0; i < size(); i++) {
+            if (name(i).equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /// @return the index of the parameter with the given name, or `-1` if there's no such parameter
+    default int paramIndex(String name) {
+        for (int i = 0; i < paramCount(); i++) {
+            if (param(i).equals(name)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+/// Resolves the [CompiledLayout] described by a [CutLayout] type at runtime.
+///
+/// If the `rectcut-processor` module ran at compile time, the generated class is loaded by name and its `INSTANCE`
+/// singleton is returned. Otherwise, or whenever the class cannot be loaded or accessed, for example because the
+/// processor was not on the annotation processor path, because the package of the annotated type is not open to this
+/// module, or because a native image was built without the reflection metadata the processor writes, the annotation is
+/// interpreted with [LayoutPlan#of(CutLayout)] instead. Both give the same results, the generated class is just faster.
+///
+/// Nothing is ever compiled or defined at runtime, so this works unchanged in environments where that is not
+/// possible, like GraalVM native images. The resolved layout is cached per type.
+public final class CompiledLayouts {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final ClassValue<CompiledLayout> CACHE = new ClassValue<>() {
+        @Override
+        protected CompiledLayout computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private CompiledLayouts() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// @return the layout described by the [CutLayout] annotation on the given type, the generated class if available,
+    /// a [LayoutPlan] otherwise
+    /// @throws IllegalArgumentException if the type is not annotated with [CutLayout] or the annotation is invalid
+    public static CompiledLayout of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /// @return whether the given layout is an instance of a generated class rather than an interpreted [LayoutPlan]
+    public static boolean isGenerated(CompiledLayout layout) {
+        return !(layout instanceof LayoutPlan);
+    }
+
+    /// @return the fully qualified name of the class the processor generates for the given type
+    /// @throws IllegalArgumentException if the type is not annotated with [CutLayout]
+    public static String generatedName(Class<?> type) {
+        CutLayout annotation = annotation(type);
+        String simple = annotation.className().isEmpty() ? type.getSimpleName() + "Layout" : annotation.className();
+        String pkg = type.getPackageName();
+        return pkg.isEmpty() ? simple : pkg + "." + simple;
+    }
+
+    private static CompiledLayout resolve(Class<?> type) {
+        CutLayout annotation = annotation(type);
+        try {
+            Class<?> generated = Class.forName(generatedName(type), true, type.getClassLoader());
+            if (generated.getField("INSTANCE").get(null) instanceof CompiledLayout layout) return layout;
+        } catch (ReflectiveOperationException | LinkageError | SecurityException ignored) {
+            // Not generated or not accessible, fall back to the interpreter
+        }
+        return LayoutPlan.of(annotation);
+    }
+
+    private static CutLayout annotation(Class<?> type) {
+        CutLayout annotation = type.getAnnotation(CutLayout.class);
+        if (annotation == null)
+            throw new IllegalArgumentException("Type " + type.getName() + " is not annotated with @CutLayout");
+        return annotation;
+    }
+}
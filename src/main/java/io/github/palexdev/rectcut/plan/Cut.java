@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import io.github.palexdev.rectcut.RectSide;
+
+import java.lang.annotation.*;
+
+/// A single step of a [CutLayout], see [PlanOp] for the available operations.
+///
+/// Not all the members are relevant for every operation:
+/// - [#side()] is used by [PlanOp#CUT], [PlanOp#GET] and [PlanOp#ADD]
+/// - the amount is used by all the operations producing an area, except [PlanOp#REST]. It's [#amount()], unless
+///   [#param()] is set; if [#percent()] is `true`, it's a percentage of the source area's extent
+/// - [#values()] are the insets for [PlanOp#INSETS] (top, right, bottom, left, or a single uniform value) and the
+///   horizontal and vertical spacing for [PlanOp#SPACING]
+/// - [#name()] is required by all the operations producing an area
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface Cut {
+    PlanOp op() default PlanOp.CUT;
+
+    /// The name of the source area, by default the root.
+    String from() default LayoutPlan.ROOT;
+
+    RectSide side() default RectSide.TOP;
+
+    double amount() default 0;
+
+    String param() default "";
+
+    boolean percent() default false;
+
+    double[] values() default {};
+
+    /// The name of the produced area.
+    String name() default "";
+}
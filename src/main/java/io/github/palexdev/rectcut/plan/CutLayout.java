@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import java.lang.annotation.*;
+
+/// Describes a layout as a sequence of [Cut] steps on the annotated type.
+///
+/// With the `rectcut-processor` module on the annotation processor path, a class named after the annotated type
+/// followed by `Layout` (or [#className()]) is generated in the same package at compile time. The generated class
+/// implements [CompiledLayout] with plain, straight-line arithmetic, equivalent to the [io.github.palexdev.rectcut.Rect]
+/// calls described by the steps, and exposes a singleton in the `INSTANCE` field.
+///
+/// The annotation is also retained at runtime, so that the same description can be interpreted with
+/// [LayoutPlan#of(CutLayout)] when the generated class is not available.
+///
+/// Example:
+/// ```java
+/// @CutLayout({
+///     @Cut(side = RectSide.TOP, amount = 40, name = "toolbar"),
+///     @Cut(op = PlanOp.SPACING, from = "toolbar", values = {4, 0}),
+///     @Cut(from = "toolbar", side = RectSide.RIGHT, amount = 32, name = "close"),
+///     @Cut(side = RectSide.LEFT, param = "sidebar", name = "sidebar"),
+///     @Cut(op = PlanOp.REST, name = "content")
+/// })
+/// public class Shell {}
+/// ```
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CutLayout {
+    /// The steps of the layout, performed in order.
+    Cut[] value();
+
+    /// The names of the parameters, in order. Parameters that are used by the steps but not declared here are added
+    /// after these, in order of appearance.
+    String[] params() default {};
+
+    /// The simple name of the generated class, by default the annotated type's name followed by `Layout`.
+    String className() default "";
+}
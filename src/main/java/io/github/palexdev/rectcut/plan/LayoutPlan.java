@@ -0,0 +1,492 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.profile.LayoutProfiler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// A layout described as data: a sequence of [PlanOp] steps performed on named areas, starting from the root area.
+///
+/// Plans are built with a [Builder], or from a [CutLayout] annotation with [#of(CutLayout)], and are interpreted by
+/// [#layout(Rect, double\[\], RectBuffer)]. The results are exactly the same as performing the equivalent [Rect] calls
+/// in the same order, spacing and clamping included, but the interpreter works directly on the output buffer's array
+/// and does not allocate.
+///
+/// Which spacing a cut uses is resolved when the plan is built: areas produced by the plan start with no spacing, like
+/// the ones produced by [Rect], until a [PlanOp#SPACING] step changes it; the root uses the spacing of the given bounds
+/// until a [PlanOp#SPACING] step on the root changes it.
+///
+/// The same plan can be compiled to plain Java by [PlanSourceGenerator], which is what the `rectcut-processor`
+/// annotation processor does for [CutLayout] types.
+///
+/// Plans are immutable and thread-safe.
+public final class LayoutPlan implements CompiledLayout {
+    //================================================================================
+    // Properties
+    //================================================================================
+    public static final String ROOT = "root";
+
+    static final int TOP = RectSide.TOP.ordinal();
+    static final int RIGHT = RectSide.RIGHT.ordinal();
+    static final int BOTTOM = RectSide.BOTTOM.ordinal();
+    static final int LEFT = RectSide.LEFT.ordinal();
+    private static final PlanOp[] OPS = PlanOp.values();
+
+    final int steps;
+    final int[] ops;
+    final int[] srcs;
+    final int[] dsts;
+    final int[] sides;
+    final boolean[] horizontal;
+    final Amount.Kind[] kinds;
+    /// The constant amount, the parameter index or the percentage divided by 100, depending on the kind
+    final double[] values;
+    /// The spacing used by cut steps, `NaN` to use the one of the bounds
+    final double[] spacings;
+    /// Four values per step, only for insets steps
+    final double[] insets;
+    final String[] names;
+    final String[] params;
+    private final int[] parents;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private LayoutPlan(Builder builder) {
+        List<Step> list = builder.steps;
+        steps = list.size();
+        ops = new int[steps];
+        srcs = new int[steps];
+        dsts = new int[steps];
+        sides = new int[steps];
+        horizontal = new boolean[steps];
+        kinds = new Amount.Kind[steps];
+        values = new double[steps];
+        spacings = new double[steps];
+        insets = new double[steps * 4];
+        for (int i = 0; i < steps; i++) {
+            Step s = list.get(i);
+            ops[i] = s.op.ordinal();
+            srcs[i] = s.src;
+            dsts[i] = s.dst;
+            sides[i] = s.side;
+            horizontal[i] = s.op == PlanOp.MIDDLE_H || s.side == LEFT || s.side == RIGHT;
+            kinds[i] = s.kind;
+            values[i] = s.value;
+            spacings[i] = s.spacing;
+            if (s.insets != null) System.arraycopy(s.insets, 0, insets, i * 4, 4);
+        }
+        names = builder.names.toArray(String[]::new);
+        params = builder.params.toArray(String[]::new);
+        parents = new int[names.length];
+        parents[0] = -1;
+        for (int i = 0; i < steps; i++) {
+            if (dsts[i] >= 0) parents[dsts[i]] = srcs[i];
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /// Builds a plan from the steps of the given annotation.
+    ///
+    /// @throws IllegalArgumentException if the steps are not valid, see [Builder]
+    public static LayoutPlan of(CutLayout layout) {
+        Builder builder = builder();
+        for (String param : layout.params()) builder.param(param);
+        for (Cut cut : layout.value()) {
+            Amount amount;
+            if (!cut.param().isEmpty()) {
+                amount = Amount.param(cut.param());
+            } else if (cut.percent()) {
+                amount = Amount.percent(cut.amount());
+            } else {
+                amount = Amount.of(cut.amount());
+            }
+            double[] v = cut.values();
+            switch (cut.op()) {
+                case CUT -> builder.cut(cut.from(), cut.side(), amount, cut.name());
+                case GET -> builder.get(cut.from(), cut.side(), amount, cut.name());
+                case ADD -> builder.add(cut.from(), cut.side(), amount, cut.name());
+                case MIDDLE_H -> builder.middleH(cut.from(), amount, cut.name());
+                case MIDDLE_V -> builder.middleV(cut.from(), amount, cut.name());
+                case INSETS -> {
+                    if (v.length == 1) {
+                        builder.insets(cut.from(), v[0], v[0], v[0], v[0]);
+                    } else if (v.length == 4) {
+                        builder.insets(cut.from(), v[0], v[1], v[2], v[3]);
+                    } else {
+                        throw new IllegalArgumentException("Insets need either 1 or 4 values, got " + v.length);
+                    }
+                }
+                case SPACING -> {
+                    if (v.length != 2)
+                        throw new IllegalArgumentException("Spacing needs exactly 2 values, got " + v.length);
+                    builder.spacing(cut.from(), v[0], v[1]);
+                }
+                case REST -> builder.rest(cut.from(), cut.name());
+            }
+        }
+        return builder.build();
+    }
+
+    //================================================================================
+    // Overridden Methods
+    //================================================================================
+    @Override
+    public RectBuffer layout(Rect bounds, double[] params, RectBuffer out) {
+        return layout(bounds, params, out, null);
+    }
+
+    /// Same as [#layout(Rect, double\[\], RectBuffer)], but if the given profiler is not `null` the time of each step
+    /// is recorded for the area it cuts from. An area's parent is the area it has been cut from.
+    public RectBuffer layout(Rect bounds, double[] params, RectBuffer out, LayoutProfiler profiler) {
+        if (params.length < this.params.length)
+            throw new IllegalArgumentException(
+                "Plan needs " + this.params.length + " parameters, got " + params.length
+            );
+        out.resize(names.length);
+        double[] o = out.array();
+        o[0] = bounds.minX();
+        o[1] = bounds.minY();
+        o[2] = bounds.maxX();
+        o[3] = bounds.maxY();
+        double hSpacing = bounds.hSpacing();
+        double vSpacing = bounds.vSpacing();
+
+        if (profiler == null) {
+            for (int i = 0; i < steps; i++) {
+                step(o, i, params, hSpacing, vSpacing);
+            }
+            return out;
+        }
+
+        // Kept apart so that the unprofiled loop above pays nothing for profiling
+        profiler.beginPass(this, names.length, this::name, this::parent);
+        long time = System.nanoTime();
+        for (int i = 0; i < steps; i++) {
+            step(o, i, params, hSpacing, vSpacing);
+            time = record(profiler, i, time);
+        }
+        return out;
+    }
+
+    /// Executes the step at the given index on the areas in the given array. The operations are delegated to separate
+    /// methods to keep this one small enough for the JIT to inline it in the layout loops.
+    private void step(double[] o, int i, double[] params, double hSpacing, double vSpacing) {
+        int s = srcs[i] * RectBuffer.STRIDE;
+        int d = dsts[i] * RectBuffer.STRIDE;
+        PlanOp op = OPS[ops[i]];
+        if (op == PlanOp.INSETS) {
+            insets(o, s, i);
+            return;
+        }
+        if (op == PlanOp.REST) {
+            System.arraycopy(o, s, o, d, RectBuffer.STRIDE);
+            return;
+        }
+
+        double amount = amount(o, s, i, params);
+        int side = sides[i];
+        switch (op) {
+            case CUT -> {
+                double spacing = spacings[i];
+                if (Double.isNaN(spacing)) spacing = horizontal[i] ? hSpacing : vSpacing;
+                cut(o, s, d, side, amount, spacing);
+            }
+            case GET -> get(o, s, d, side, amount);
+            case ADD -> add(o, s, d, side, amount);
+            case MIDDLE_H -> middle(o, s, d, true, amount);
+            case MIDDLE_V -> middle(o, s, d, false, amount);
+            default -> throw new IllegalStateException("Unexpected operation: " + op);
+        }
+    }
+
+    /// Shrinks the area at offset `s` by the insets of the step at the given index.
+    private void insets(double[] o, int s, int i) {
+        int in = i * 4;
+        o[s] += insets[in + 3];
+        o[s + 1] += insets[in];
+        o[s + 2] -= insets[in + 1];
+        o[s + 3] -= insets[in + 2];
+    }
+
+    /// @return the amount of the step at the given index, percentages are relative to the area at offset `s`
+    private double amount(double[] o, int s, int i, double[] params) {
+        return switch (kinds[i]) {
+            case CONSTANT -> values[i];
+            case PARAM -> params[(int) values[i]];
+            case PERCENT -> (horizontal[i] ? Math.max(0, o[s + 2] - o[s]) : Math.max(0, o[s + 3] - o[s + 1])) * values[i];
+        };
+    }
+
+    private static void cut(double[] o, int s, int d, int side, double amount, double spacing) {
+        double minX = o[s], minY = o[s + 1], maxX = o[s + 2], maxY = o[s + 3];
+        if (side == TOP) {
+            double cut = Math.min(maxY, minY + amount);
+            set(o, d, minX, minY, maxX, cut);
+            o[s + 1] = cut + spacing;
+        } else if (side == RIGHT) {
+            double cut = Math.max(minX, maxX - amount);
+            set(o, d, cut, minY, maxX, maxY);
+            o[s + 2] = cut - spacing;
+        } else if (side == BOTTOM) {
+            double cut = Math.max(minY, maxY - amount);
+            set(o, d, minX, cut, maxX, maxY);
+            o[s + 3] = cut - spacing;
+        } else {
+            double cut = Math.min(maxX, minX + amount);
+            set(o, d, minX, minY, cut, maxY);
+            o[s] = cut + spacing;
+        }
+    }
+
+    private static void get(double[] o, int s, int d, int side, double amount) {
+        double minX = o[s], minY = o[s + 1], maxX = o[s + 2], maxY = o[s + 3];
+        if (side == TOP) {
+            set(o, d, minX, minY, maxX, Math.min(maxY, minY + amount));
+        } else if (side == RIGHT) {
+            set(o, d, Math.max(minX, maxX - amount), minY, maxX, maxY);
+        } else if (side == BOTTOM) {
+            set(o, d, minX, Math.max(minY, maxY - amount), maxX, maxY);
+        } else {
+            set(o, d, minX, minY, Math.min(maxX, minX + amount), maxY);
+        }
+    }
+
+    private static void add(double[] o, int s, int d, int side, double amount) {
+        double minX = o[s], minY = o[s + 1], maxX = o[s + 2], maxY = o[s + 3];
+        if (side == TOP) {
+            set(o, d, minX, minY - amount, maxX, minY);
+        } else if (side == RIGHT) {
+            set(o, d, maxX, minY, maxX + amount, maxY);
+        } else if (side == BOTTOM) {
+            set(o, d, minX, maxY, maxX, maxY + amount);
+        } else {
+            set(o, d, minX - amount, minY, minX, maxY);
+        }
+    }
+
+    private static void middle(double[] o, int s, int d, boolean horizontal, double amount) {
+        double minX = o[s], minY = o[s + 1], maxX = o[s + 2], maxY = o[s + 3];
+        if (horizontal) {
+            double mMinX = (Math.max(0, maxX - minX) - amount) / 2.0 + minX;
+            set(o, d, mMinX, minY, mMinX + amount, maxY);
+        } else {
+            double mMinY = (Math.max(0, maxY - minY) - amount) / 2.0 + minY;
+            set(o, d, minX, mMinY, maxX, mMinY + amount);
+        }
+    }
+
+    private long record(LayoutProfiler profiler, int step, long start) {
+        long now = System.nanoTime();
+        profiler.record(srcs[step], ops[step] == PlanOp.INSETS.ordinal() ? 0 : 1, now - start);
+        return now;
+    }
+
+    private static void set(double[] o, int d, double minX, double minY, double maxX, double maxY) {
+        o[d] = minX;
+        o[d + 1] = minY;
+        o[d + 2] = maxX;
+        o[d + 3] = maxY;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public String name(int index) {
+        return names[index];
+    }
+
+    @Override
+    public int paramCount() {
+        return params.length;
+    }
+
+    @Override
+    public String param(int index) {
+        return params[index];
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the index of the area the given one has been cut from, `-1` for the root
+    public int parent(int index) {
+        return parents[index];
+    }
+
+    /// @return the number of steps performed at runtime, [PlanOp#SPACING] steps are resolved when building and are
+    /// not counted
+    public int steps() {
+        return steps;
+    }
+
+    //================================================================================
+    // Inner Classes
+    //================================================================================
+
+    /// Builds a [LayoutPlan] step by step. Every method takes the name of the source area, which must be the root
+    /// ([LayoutPlan#ROOT]) or an area produced by a previous step, and the operations producing an area take its name,
+    /// which must be unique and cannot be the root's.
+    ///
+    /// All the methods throw an [IllegalArgumentException] if the names are not valid.
+    public static final class Builder {
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<double[]> spacing = new ArrayList<>();
+        private final List<String> params = new ArrayList<>();
+        private final List<Step> steps = new ArrayList<>();
+
+        private Builder() {
+            names.add(ROOT);
+            indexes.put(ROOT, 0);
+            spacing.add(new double[]{Double.NaN, Double.NaN});
+        }
+
+        /// Declares a parameter, parameters are otherwise declared in order of appearance.
+        public Builder param(String name) {
+            paramIndex(name);
+            return this;
+        }
+
+        /// See [PlanOp#CUT].
+        public Builder cut(String from, RectSide side, Amount amount, String name) {
+            return step(PlanOp.CUT, from, side, amount, name);
+        }
+
+        /// See [PlanOp#GET].
+        public Builder get(String from, RectSide side, Amount amount, String name) {
+            return step(PlanOp.GET, from, side, amount, name);
+        }
+
+        /// See [PlanOp#ADD].
+        public Builder add(String from, RectSide side, Amount amount, String name) {
+            return step(PlanOp.ADD, from, side, amount, name);
+        }
+
+        /// See [PlanOp#MIDDLE_H].
+        public Builder middleH(String from, Amount amount, String name) {
+            return step(PlanOp.MIDDLE_H, from, null, amount, name);
+        }
+
+        /// See [PlanOp#MIDDLE_V].
+        public Builder middleV(String from, Amount amount, String name) {
+            return step(PlanOp.MIDDLE_V, from, null, amount, name);
+        }
+
+        /// See [PlanOp#REST].
+        public Builder rest(String from, String name) {
+            return step(PlanOp.REST, from, null, Amount.of(0), name);
+        }
+
+        /// See [PlanOp#INSETS].
+        public Builder insets(String on, double top, double right, double bottom, double left) {
+            Step step = new Step(PlanOp.INSETS, source(on));
+            step.insets = new double[]{top, right, bottom, left};
+            steps.add(step);
+            return this;
+        }
+
+        /// See [PlanOp#SPACING].
+        public Builder spacing(String on, double hSpacing, double vSpacing) {
+            double[] s = spacing.get(source(on));
+            s[0] = hSpacing;
+            s[1] = vSpacing;
+            return this;
+        }
+
+        public LayoutPlan build() {
+            return new LayoutPlan(this);
+        }
+
+        private Builder step(PlanOp op, String from, RectSide side, Amount amount, String name) {
+            if (side == null && (op == PlanOp.CUT || op == PlanOp.GET || op == PlanOp.ADD))
+                throw new IllegalArgumentException("Operation " + op + " needs a side");
+            Step step = new Step(op, source(from));
+            step.side = side != null ? side.ordinal() : -1;
+            step.kind = amount.kind();
+            step.value = switch (amount.kind()) {
+                case CONSTANT -> amount.value();
+                case PARAM -> paramIndex(amount.param());
+                case PERCENT -> amount.value() / 100.0;
+            };
+            if (op == PlanOp.CUT) {
+                boolean horizontal = side == RectSide.LEFT || side == RectSide.RIGHT;
+                step.spacing = spacing.get(step.src)[horizontal ? 0 : 1];
+            }
+            step.dst = declare(name);
+            steps.add(step);
+            return this;
+        }
+
+        private int source(String name) {
+            Integer index = indexes.get(name);
+            if (index == null) throw new IllegalArgumentException("Unknown area: " + name);
+            return index;
+        }
+
+        private int declare(String name) {
+            if (name == null || name.isBlank())
+                throw new IllegalArgumentException("Area name cannot be null or blank");
+            if (indexes.containsKey(name))
+                throw new IllegalArgumentException("Duplicate area name: " + name);
+            int index = names.size();
+            names.add(name);
+            indexes.put(name, index);
+            spacing.add(new double[]{0, 0});
+            return index;
+        }
+
+        private int paramIndex(String name) {
+            int index = params.indexOf(name);
+            if (index >= 0) return index;
+            params.add(name);
+            return params.size() - 1;
+        }
+    }
+
+    private static final class Step {
+        final PlanOp op;
+        final int src;
+        int dst = -1;
+        int side = -1;
+        Amount.Kind kind = Amount.Kind.CONSTANT;
+        double value;
+        double spacing = Double.NaN;
+        double[] insets;
+
+        Step(PlanOp op, int src) {
+            this.op = op;
+            this.src = src;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/// Cache of parsed [LayoutPlan]s, keyed by a hash of the description's content, so that descriptions which did not
+/// change since they were last seen are not parsed again. This makes reloading many layout files cheap: for each file
+/// only its content must be hashed, which is a single pass over the characters.
+///
+/// The hash is a 64-bit FNV-1a; on a hit, the content is also compared with the cached one, so collisions cannot
+/// return the wrong plan. The least recently used plans are evicted when there are more than [#maxSize()].
+///
+/// The cache is thread-safe, parsing happens outside the lock, so the same description parsed concurrently by two
+/// threads is parsed twice but cached once.
+public final class PlanCache {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int maxSize;
+    private final LinkedHashMap<Long, Entry> entries;
+    private long hits = 0;
+    private long misses = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public PlanCache() {
+        this(1024);
+    }
+
+    /// @throws IllegalArgumentException if the given size is less than `1`
+    public PlanCache(int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("Cache size must be at least 1");
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > PlanCache.this.maxSize;
+            }
+        };
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Returns the plan for the given description, parsing it only if it's not cached.
+    ///
+    /// @throws PlanParseException if the description is not valid, invalid descriptions are not cached
+    public LayoutPlan get(CharSequence text) {
+        long hash = hash(text);
+        synchronized (this) {
+            Entry entry = entries.get(hash);
+            if (entry != null && contentEquals(entry.text, text)) {
+                hits++;
+                return entry.plan;
+            }
+            misses++;
+        }
+        LayoutPlan plan = PlanParser.parse(text);
+        synchronized (this) {
+            entries.put(hash, new Entry(text.toString(), plan));
+        }
+        return plan;
+    }
+
+    /// Removes all the cached plans and resets the counters.
+    public synchronized PlanCache clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+        return this;
+    }
+
+    /// @return the 64-bit FNV-1a hash of the given characters
+    public static long hash(CharSequence text) {
+        long hash = FNV_OFFSET;
+        for (int i = 0, len = text.length(); i < len; i++) {
+            char c = text.charAt(i);
+            hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static boolean contentEquals(String cached, CharSequence text) {
+        if (cached.length() != text.length()) return false;
+        return cached.contentEquals(text);
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the maximum number of cached plans
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /// @return the number of cached plans
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /// @return the number of requests served from the cache
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /// @return the number of requests that needed parsing
+    public synchronized long misses() {
+        return misses;
+    }
+
+    //================================================================================
+    // Inner Classes
+    //================================================================================
+    private static final class Entry {
+        final String text;
+        final LayoutPlan plan;
+
+        Entry(String text, LayoutPlan plan) {
+            this.text = text;
+            this.plan = plan;
+        }
+    }
+}
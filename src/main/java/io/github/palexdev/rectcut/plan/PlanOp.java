@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectSide;
+
+/// Enumerator for the operations a [LayoutPlan] can perform, each one is the equivalent of a [Rect] method.
+///
+/// Operations are performed on a source area and, except for [#INSETS] and [#SPACING], produce a new named area.
+public enum PlanOp {
+    /// Same as [Rect#cut(RectSide, double)], modifies the source area.
+    CUT,
+
+    /// Same as [Rect#get(RectSide, double)], leaves the source area untouched.
+    GET,
+
+    /// Same as [Rect#add(RectSide, double)], leaves the source area untouched.
+    ADD,
+
+    /// Produces the middle part of [Rect#middleHCut(double)], leaves the source area untouched.
+    MIDDLE_H,
+
+    /// Produces the middle part of [Rect#middleVCut(double)], leaves the source area untouched.
+    MIDDLE_V,
+
+    /// Same as [Rect#withInsets(double, double, double, double)], modifies the source area.
+    INSETS,
+
+    /// Same as [Rect#withHSpacing(double)] and [Rect#withVSpacing(double)], changes the spacing used by the following
+    /// cuts from the source area.
+    SPACING,
+
+    /// Produces a copy of the source area as it is at this point of the plan.
+    REST
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import java.io.Serial;
+
+/// Thrown by [PlanParser] when a layout description is not valid, carries the position of the error.
+public class PlanParseException extends IllegalArgumentException {
+    //================================================================================
+    // Properties
+    //================================================================================
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+    private final int column;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public PlanParseException(String message, int line, int column) {
+        super(line + ":" + column + ": " + message);
+        this.line = line;
+        this.column = column;
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the line of the error, starting from `1`
+    public int line() {
+        return line;
+    }
+
+    /// @return the column of the error, starting from `1`
+    public int column() {
+        return column;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import io.github.palexdev.rectcut.RectSide;
+
+import java.util.Arrays;
+
+/// Parses the textual description of a [LayoutPlan].
+///
+/// The format is line based, each line is a step, `#` starts a comment which runs until the end of the line. Tokens are
+/// separated by spaces, tabs or commas. A step has the following form:
+/// ```
+/// [name =] [source] operation arguments
+/// ```
+/// where the source is the area the operation is performed on, `root` if omitted. The operations are:
+/// - `cut <side> <amount>`, `get <side> <amount>`, `add <side> <amount>`, where the side is one of `top`, `right`,
+///   `bottom`, `left`
+/// - `middleh <amount>`, `middlev <amount>`
+/// - `rest`
+/// - `insets <all>` or `insets <top> <right> <bottom> <left>`, which does not produce an area
+/// - `spacing <both>` or `spacing <horizontal> <vertical>`, which does not produce an area
+/// - `param <name>...`, declares any number of parameters in order
+///
+/// Amounts are either numbers, `10`, percentages of the source area's extent, `10%`, or parameters, `$name`. See
+/// [PlanOp] for the meaning of each operation. For example:
+/// ```
+/// param sidebar
+/// insets 8
+/// toolbar = cut top 40
+/// toolbar spacing 4 0
+/// close = toolbar cut right 32
+/// title = toolbar middleh 50%
+/// sidebar = cut left $sidebar
+/// content = rest
+/// ```
+///
+/// Names must start with a letter or `_`, may contain letters, digits, `_`, `-` and `.`, and cannot be one of the
+/// operations.
+///
+/// The parser makes a single pass over the text and does not use regular expressions; each line is split into tokens
+/// as positions in the text, and only names and numbers are extracted as strings. Errors are reported with a
+/// [PlanParseException] pointing at the offending token.
+public final class PlanParser {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final String[] KEYWORDS = {"cut", "get", "add", "middleh", "middlev", "rest", "insets", "spacing", "param"};
+    private static final int CUT = 0, GET = 1, ADD = 2, MIDDLE_H = 3, MIDDLE_V = 4, REST = 5, INSETS = 6, SPACING = 7, PARAM = 8;
+    private static final String[] SIDES = {"top", "right", "bottom", "left"};
+    private static final RectSide[] SIDE_VALUES = {RectSide.TOP, RectSide.RIGHT, RectSide.BOTTOM, RectSide.LEFT};
+
+    private final CharSequence text;
+    private final LayoutPlan.Builder builder = LayoutPlan.builder();
+    // Enough for any step, only param lines may need more
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int count;
+    private int line;
+    private int lineStart;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private PlanParser(CharSequence text) {
+        this.text = text;
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Parses the given description.
+    ///
+    /// @throws PlanParseException if the description is not valid
+    public static LayoutPlan parse(CharSequence text) {
+        return new PlanParser(text).run();
+    }
+
+    private LayoutPlan run() {
+        int len = text.length();
+        int pos = 0;
+        while (pos <= len) {
+            line++;
+            lineStart = pos;
+            count = 0;
+            while (pos < len) {
+                char c = text.charAt(pos);
+                if (c == '\n') break;
+                if (c == '#') {
+                    while (pos < len && text.charAt(pos) != '\n') pos++;
+                    break;
+                }
+                if (isSeparator(c)) {
+                    pos++;
+                    continue;
+                }
+                int start = pos;
+                if (c == '=') {
+                    pos++;
+                } else {
+                    while (pos < len && !isSeparator(c = text.charAt(pos)) && c != '\n' && c != '#' && c != '=') pos++;
+                }
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                starts[count] = start;
+                ends[count++] = pos;
+            }
+            if (count > 0) statement();
+            pos++;
+        }
+        return builder.build();
+    }
+
+    private void statement() {
+        int i = 0;
+        String name = null;
+        if (count >= 2 && ends[1] - starts[1] == 1 && text.charAt(starts[1]) == '=') {
+            name = name(0);
+            i = 2;
+        }
+        String from = LayoutPlan.ROOT;
+        if (i < count && keyword(i) < 0) from = name(i++);
+        if (i >= count) throw error(ends[count - 1], "Expected an operation");
+        int opToken = i;
+        int op = keyword(i++);
+        if (op < 0) throw error(starts[opToken], "Unknown operation: " + token(opToken));
+
+        boolean produces = op <= REST;
+        if (produces && name == null) throw error(starts[opToken], "Operation needs a name, as in 'name = " + token(opToken) + " ...'");
+        if (!produces && name != null) throw error(starts[0], "Operation " + token(opToken) + " does not produce an area");
+        if (op == PARAM && opToken != 0) throw error(starts[0], "Parameters cannot have a source");
+
+        try {
+            switch (op) {
+                case CUT, GET, ADD -> {
+                    expect(i, 2);
+                    RectSide side = side(i);
+                    Amount amount = amount(i + 1);
+                    if (op == CUT) builder.cut(from, side, amount, name);
+                    else if (op == GET) builder.get(from, side, amount, name);
+                    else builder.add(from, side, amount, name);
+                }
+                case MIDDLE_H, MIDDLE_V -> {
+                    expect(i, 1);
+                    if (op == MIDDLE_H) builder.middleH(from, amount(i), name);
+                    else builder.middleV(from, amount(i), name);
+                }
+                case REST -> {
+                    expect(i, 0);
+                    builder.rest(from, name);
+                }
+                case INSETS -> {
+                    if (count - i == 1) {
+                        double all = number(i);
+                        builder.insets(from, all, all, all, all);
+                    } else {
+                        expect(i, 4);
+                        builder.insets(from, number(i), number(i + 1), number(i + 2), number(i + 3));
+                    }
+                }
+                case SPACING -> {
+                    if (count - i == 1) {
+                        double both = number(i);
+                        builder.spacing(from, both, both);
+                    } else {
+                        expect(i, 2);
+                        builder.spacing(from, number(i), number(i + 1));
+                    }
+                }
+                case PARAM -> {
+                    if (i == count) throw error(ends[opToken], "Expected parameter names");
+                    for (; i < count; i++) builder.param(name(i));
+                }
+            }
+        } catch (PlanParseException ex) {
+            throw ex;
+        } catch (IllegalArgumentException ex) {
+            throw error(starts[0], ex.getMessage());
+        }
+    }
+
+    private void expect(int from, int arguments) {
+        if (count - from < arguments) throw error(ends[count - 1], "Expected " + arguments + " arguments, got " + (count - from));
+        if (count - from > arguments) throw error(starts[from + arguments], "Unexpected token: " + token(from + arguments));
+    }
+
+    private String name(int t) {
+        int start = starts[t], end = ends[t];
+        char first = text.charAt(start);
+        boolean valid = Character.isLetter(first) || first == '_';
+        for (int p = start + 1; valid && p < end; p++) {
+            char c = text.charAt(p);
+            valid = Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+        }
+        if (!valid || keyword(t) >= 0) throw error(start, "Invalid name: " + token(t));
+        return token(t);
+    }
+
+    private RectSide side(int t) {
+        for (int s = 0; s < SIDES.length; s++) {
+            if (matches(t, SIDES[s])) return SIDE_VALUES[s];
+        }
+        throw error(starts[t], "Expected a side (top, right, bottom, left), got: " + token(t));
+    }
+
+    private Amount amount(int t) {
+        int start = starts[t], end = ends[t];
+        if (text.charAt(start) == '$') {
+            if (end - start == 1) throw error(start, "Expected a parameter name after $");
+            starts[t]++;
+            try {
+                return Amount.param(name(t));
+            } finally {
+                starts[t]--;
+            }
+        }
+        if (text.charAt(end - 1) == '%') return Amount.percent(number(t, start, end - 1));
+        return Amount.of(number(t, start, end));
+    }
+
+    private double number(int t) {
+        return number(t, starts[t], ends[t]);
+    }
+
+    private double number(int t, int start, int end) {
+        boolean valid = end > start;
+        for (int p = start; valid && p < end; p++) {
+            char c = text.charAt(p);
+            valid = (c >= '0' && c <= '9') || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E';
+        }
+        if (valid) {
+            try {
+                return Double.parseDouble(text.subSequence(start, end).toString());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        throw error(starts[t], "Invalid number: " + token(t));
+    }
+
+    private int keyword(int t) {
+        for (int k = 0; k < KEYWORDS.length; k++) {
+            if (matches(t, KEYWORDS[k])) return k;
+        }
+        return -1;
+    }
+
+    private boolean matches(int t, String word) {
+        int start = starts[t];
+        int len = ends[t] - start;
+        if (len != word.length()) return false;
+        for (int p = 0; p < len; p++) {
+            if (text.charAt(start + p) != word.charAt(p)) return false;
+        }
+        return true;
+    }
+
+    private String token(int t) {
+        return text.subSequence(starts[t], ends[t]).toString();
+    }
+
+    private PlanParseException error(int pos, String message) {
+        return new PlanParseException(message, line, pos - lineStart + 1);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == ',';
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import io.github.palexdev.rectcut.RectSide;
+
+import static io.github.palexdev.rectcut.plan.LayoutPlan.*;
+
+/// Compiles a [LayoutPlan] to the source of a Java class implementing [CompiledLayout].
+///
+/// Each area of the plan becomes four local variables, and each step becomes a few statements performing the same
+/// arithmetic as the plan's interpreter, so the generated code has no loops, no branches besides the ones inside
+/// `Math.min/max`, and no lookups. Spacing is resolved when the plan is built, so it's either a constant or read once
+/// from the bounds. Constant amounts are inlined.
+///
+/// This is used by the `rectcut-processor` annotation processor, but can be used directly by build tools too.
+public final class PlanSourceGenerator {
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private PlanSourceGenerator() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Generates the source of a class with the given package and simple name which implements [CompiledLayout] by
+    /// executing the given plan. The class is final and exposes a singleton in the `INSTANCE` field.
+    ///
+    /// @param packageName the package of the class, empty for the unnamed package
+    /// @param origin      a description of where the plan comes from, written in the class header, may be `null`
+    public static String generate(LayoutPlan plan, String packageName, String className, String origin) {
+        StringBuilder sb = new StringBuilder(1024 + plan.steps * 256);
+        sb.append("// Generated by rectcut");
+        if (origin != null) sb.append(" from ").append(origin);
+        sb.append(", do not edit.\n");
+        if (packageName != null && !packageName.isEmpty()) sb.append("package ").append(packageName).append(";\n");
+        sb.append("\n")
+            .append("import io.github.palexdev.rectcut.Rect;\n")
+            .append("import io.github.palexdev.rectcut.RectBuffer;\n")
+            .append("import io.github.palexdev.rectcut.plan.CompiledLayout;\n\n");
+
+        sb.append("public final class ").append(className).append(" implements CompiledLayout {\n");
+        sb.append("    public static final ").append(className).append(" INSTANCE = new ").append(className).append("();\n");
+        sb.append("    private static final String[] NAMES = ").append(strings(plan.names)).append(";\n");
+        sb.append("    private static final String[] PARAMS = ").append(strings(plan.params)).append(";\n\n");
+
+        sb.append("    @Override\n    public int size() {\n        return NAMES.length;\n    }\n\n");
+        sb.append("    @Override\n    public String name(int index) {\n        return NAMES[index];\n    }\n\n");
+        sb.append("    @Override\n    public int paramCount() {\n        return PARAMS.length;\n    }\n\n");
+        sb.append("    @Override\n    public String param(int index) {\n        return PARAMS[index];\n    }\n\n");
+
+        sb.append("    @Override\n    public RectBuffer layout(Rect bounds, double[] params, RectBuffer out) {\n");
+        if (plan.params.length > 0) {
+            sb.append("        if (params.length < PARAMS.length)\n")
+                .append("            throw new IllegalArgumentException(\"Layout needs \" + PARAMS.length + \" parameters, got \" + params.length);\n");
+        }
+        sb.append("        double minX0 = bounds.minX(), minY0 = bounds.minY(), maxX0 = bounds.maxX(), maxY0 = bounds.maxY();\n");
+        sb.append("        double hSpacing = bounds.hSpacing(), vSpacing = bounds.vSpacing();\n");
+        for (int i = 0; i < plan.steps; i++) {
+            step(sb, plan, i);
+        }
+
+        sb.append("\n        out.resize(NAMES.length);\n");
+        sb.append("        double[] o = out.array();\n");
+        for (int i = 0; i < plan.names.length; i++) {
+            int o = i * 4;
+            sb.append("        o[").append(o).append("] = minX").append(i)
+                .append("; o[").append(o + 1).append("] = minY").append(i)
+                .append("; o[").append(o + 2).append("] = maxX").append(i)
+                .append("; o[").append(o + 3).append("] = maxY").append(i).append(";\n");
+        }
+        sb.append("        return out;\n    }\n}\n");
+        return sb.toString();
+    }
+
+    private static void step(StringBuilder sb, LayoutPlan plan, int i) {
+        PlanOp op = PlanOp.values()[plan.ops[i]];
+        int s = plan.srcs[i];
+        int d = plan.dsts[i];
+        String minX = "minX" + s, minY = "minY" + s, maxX = "maxX" + s, maxY = "maxY" + s;
+
+        sb.append("\n        // ").append(op);
+        if (plan.sides[i] >= 0) sb.append(' ').append(RectSide.values()[plan.sides[i]]);
+        sb.append(" from ").append(plan.names[s]);
+        if (d >= 0) sb.append(" to ").append(plan.names[d]);
+        sb.append('\n');
+
+        if (op == PlanOp.INSETS) {
+            int in = i * 4;
+            increment(sb, minY, '+', plan.insets[in]);
+            increment(sb, maxX, '-', plan.insets[in + 1]);
+            increment(sb, maxY, '-', plan.insets[in + 2]);
+            increment(sb, minX, '+', plan.insets[in + 3]);
+            return;
+        }
+        if (op == PlanOp.REST) {
+            declare(sb, d, minX, minY, maxX, maxY);
+            return;
+        }
+
+        String a = "a" + i;
+        sb.append("        double ").append(a).append(" = ").append(switch (plan.kinds[i]) {
+            case CONSTANT -> literal(plan.values[i]);
+            case PARAM -> "params[" + (int) plan.values[i] + "]";
+            case PERCENT -> (plan.horizontal[i]
+                ? "Math.max(0, " + maxX + " - " + minX + ")"
+                : "Math.max(0, " + maxY + " - " + minY + ")") + " * " + literal(plan.values[i]);
+        }).append(";\n");
+
+        int side = plan.sides[i];
+        switch (op) {
+            case CUT -> {
+                String spacing = Double.isNaN(plan.spacings[i])
+                    ? (plan.horizontal[i] ? "hSpacing" : "vSpacing")
+                    : literal(plan.spacings[i]);
+                if (side == TOP) {
+                    declare(sb, d, minX, minY, maxX, "Math.min(" + maxY + ", " + minY + " + " + a + ")");
+                    assign(sb, minY, "maxY" + d, '+', spacing);
+                } else if (side == RIGHT) {
+                    declare(sb, d, "Math.max(" + minX + ", " + maxX + " - " + a + ")", minY, maxX, maxY);
+                    assign(sb, maxX, "minX" + d, '-', spacing);
+                } else if (side == BOTTOM) {
+                    declare(sb, d, minX, "Math.max(" + minY + ", " + maxY + " - " + a + ")", maxX, maxY);
+                    assign(sb, maxY, "minY" + d, '-', spacing);
+                } else {
+                    declare(sb, d, minX, minY, "Math.min(" + maxX + ", " + minX + " + " + a + ")", maxY);
+                    assign(sb, minX, "maxX" + d, '+', spacing);
+                }
+            }
+            case GET -> {
+                if (side == TOP) {
+                    declare(sb, d, minX, minY, maxX, "Math.min(" + maxY + ", " + minY + " + " + a + ")");
+                } else if (side == RIGHT) {
+                    declare(sb, d, "Math.max(" + minX + ", " + maxX + " - " + a + ")", minY, maxX, maxY);
+                } else if (side == BOTTOM) {
+                    declare(sb, d, minX, "Math.max(" + minY + ", " + maxY + " - " + a + ")", maxX, maxY);
+                } else {
+                    declare(sb, d, minX, minY, "Math.min(" + maxX + ", " + minX + " + " + a + ")", maxY);
+                }
+            }
+            case ADD -> {
+                if (side == TOP) {
+                    declare(sb, d, minX, minY + " - " + a, maxX, minY);
+                } else if (side == RIGHT) {
+                    declare(sb, d, maxX, minY, maxX + " + " + a, maxY);
+                } else if (side == BOTTOM) {
+                    declare(sb, d, minX, maxY, maxX, maxY + " + " + a);
+                } else {
+                    declare(sb, d, minX + " - " + a, minY, minX, maxY);
+                }
+            }
+            case MIDDLE_H -> {
+                declare(sb, d, "(Math.max(0, " + maxX + " - " + minX + ") - " + a + ") / 2.0 + " + minX, minY, null, maxY);
+                sb.append("        double maxX").append(d).append(" = minX").append(d).append(" + ").append(a).append(";\n");
+            }
+            case MIDDLE_V -> {
+                declare(sb, d, minX, "(Math.max(0, " + maxY + " - " + minY + ") - " + a + ") / 2.0 + " + minY, maxX, null);
+                sb.append("        double maxY").append(d).append(" = minY").append(d).append(" + ").append(a).append(";\n");
+            }
+            default -> throw new IllegalStateException("Unexpected operation: " + op);
+        }
+    }
+
+    /// Declares the variables of the given area, `null` expressions are skipped so that they can be declared later.
+    private static void declare(StringBuilder sb, int area, String minX, String minY, String maxX, String maxY) {
+        String[] vars = {"minX", "minY", "maxX", "maxY"};
+        String[] exprs = {minX, minY, maxX, maxY};
+        for (int c = 0; c < 4; c++) {
+            if (exprs[c] == null) continue;
+            sb.append("        double ").append(vars[c]).append(area).append(" = ").append(exprs[c]).append(";\n");
+        }
+    }
+
+    private static void assign(StringBuilder sb, String var, String value, char op, String spacing) {
+        sb.append("        ").append(var).append(" = ").append(value).append(' ').append(op).append(' ')
+            .append(spacing).append(";\n");
+    }
+
+    private static void increment(StringBuilder sb, String var, char op, double value) {
+        sb.append("        ").append(var).append(" = ").append(var).append(' ').append(op).append(' ')
+            .append(literal(value)).append(";\n");
+    }
+
+    private static String literal(double value) {
+        if (Double.isNaN(value)) return "Double.NaN";
+        if (value == Double.POSITIVE_INFINITY) return "Double.POSITIVE_INFINITY";
+        if (value == Double.NEGATIVE_INFINITY) return "Double.NEGATIVE_INFINITY";
+        String s = Double.toString(value);
+        return value < 0 ? "(" + s + ")" : s;
+    }
+
+    private static String strings(String[] values) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('"');
+            for (char c : values[i].toCharArray()) {
+                switch (c) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                    }
+                }
+            }
+            sb.append('"');
+        }
+        return sb.append('}').toString();
+    }
+}
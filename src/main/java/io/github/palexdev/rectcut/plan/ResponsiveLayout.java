@@ -0,0 +1,421 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.plan;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/// Resolves layouts which change structure at width breakpoints, without replaying their cuts.
+///
+/// Each breakpoint selects a [LayoutPlan], the variant used from that width on. For a given plan, parameters and
+/// spacing, the x coordinates of every area only depend on the root's width, and the y coordinates only on its height,
+/// because every step is a sum, a difference, a scale or a `min`/`max` of coordinates of the same axis. So each
+/// coordinate is a piecewise-linear function of one size, with a new piece wherever a clamp starts or stops to apply.
+///
+/// When built, every variant is evaluated symbolically on its range of widths and on all heights, carrying each
+/// coordinate as `slope * size + intercept`. Whenever a `min`/`max` is not decided on the whole range being evaluated,
+/// the range is split where the two sides cross and both halves are evaluated again. The result is, per axis, a sorted
+/// list of segments with the coefficients of every coordinate, so that a layout only takes two binary searches and a
+/// multiply-add per coordinate, whatever the number of steps.
+///
+/// Results are the ones of [LayoutPlan#layout(Rect, double\[\], RectBuffer)] for the same bounds, parameters and
+/// spacing, up to rounding. Parameters and spacing are fixed when building, if they change the layout must be built
+/// again. Negative sizes are outside the analyzed ranges, for them the plan is replayed.
+///
+/// Instances are immutable and thread-safe.
+public final class ResponsiveLayout {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final double[] minWidths;
+    private final LayoutPlan[] plans;
+    private final Axis[] widths;
+    private final Axis[] heights;
+    private final double[] params;
+    private final double hSpacing;
+    private final double vSpacing;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private ResponsiveLayout(Builder builder) {
+        int n = builder.plans.size();
+        this.params = builder.params;
+        this.hSpacing = builder.hSpacing;
+        this.vSpacing = builder.vSpacing;
+        this.minWidths = new double[n];
+        this.plans = builder.plans.toArray(LayoutPlan[]::new);
+        this.widths = new Axis[n];
+        this.heights = new Axis[n];
+        for (int i = 0; i < n; i++) {
+            minWidths[i] = builder.minWidths.get(i);
+            double maxWidth = i + 1 < n ? builder.minWidths.get(i + 1) : Double.POSITIVE_INFINITY;
+            widths[i] = new Analyzer(plans[i], params, hSpacing, true).analyze(minWidths[i], maxWidth);
+            heights[i] = new Analyzer(plans[i], params, vSpacing, false).analyze(0, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Lays out the variant for the given width in the given bounds. The buffer is resized to the variant's number of
+    /// areas, and the final state of each area is written at its index, as by [CompiledLayout#layout(Rect, RectBuffer)].
+    ///
+    /// @return the index of the variant used
+    public int layout(double x, double y, double w, double h, RectBuffer out) {
+        int v = variantAt(w);
+        LayoutPlan plan = plans[v];
+        if (!(w >= 0) || !(h >= 0)) {
+            Rect bounds = Rect.of(x, y, x + w, y + h).withHSpacing(hSpacing).withVSpacing(vSpacing);
+            plan.layout(bounds, params, out);
+            return v;
+        }
+
+        int n = plan.size();
+        out.resize(n);
+        double[] o = out.array();
+        Axis xAxis = widths[v];
+        Axis yAxis = heights[v];
+        double[] cx = xAxis.coefficients;
+        double[] cy = yAxis.coefficients;
+        int sx = xAxis.segmentAt(w) * n * 4;
+        int sy = yAxis.segmentAt(h) * n * 4;
+        for (int i = 0; i < n; i++) {
+            int c = i * 4;
+            int d = i * RectBuffer.STRIDE;
+            o[d] = x + cx[sx + c] * w + cx[sx + c + 1];
+            o[d + 1] = y + cy[sy + c] * h + cy[sy + c + 1];
+            o[d + 2] = x + cx[sx + c + 2] * w + cx[sx + c + 3];
+            o[d + 3] = y + cy[sy + c + 2] * h + cy[sy + c + 3];
+        }
+        return v;
+    }
+
+    /// Delegates to [#layout(double, double, double, double, RectBuffer)] with the position and size of the given
+    /// bounds. The spacing of the bounds is ignored, the root's spacing is the one given to [Builder#spacing(double, double)].
+    public int layout(Rect bounds, RectBuffer out) {
+        return layout(bounds.minX(), bounds.minY(), bounds.width(), bounds.height(), out);
+    }
+
+    /// @return the index of the variant used for the given width, `0` for negative widths
+    public int variantAt(double width) {
+        int v = 0;
+        while (v + 1 < minWidths.length && width >= minWidths[v + 1]) v++;
+        return v;
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of variants, one per breakpoint
+    public int variants() {
+        return plans.length;
+    }
+
+    /// @return the plan of the given variant
+    public LayoutPlan plan(int variant) {
+        return plans[variant];
+    }
+
+    /// @return the width from which the given variant is used
+    public double minWidth(int variant) {
+        return minWidths[variant];
+    }
+
+    /// @return the number of linear pieces the x coordinates of the given variant have been split into
+    public int widthSegments(int variant) {
+        return widths[variant].starts.length;
+    }
+
+    /// @return the number of linear pieces the y coordinates of the given variant have been split into
+    public int heightSegments(int variant) {
+        return heights[variant].starts.length;
+    }
+
+    //================================================================================
+    // Inner Classes
+    //================================================================================
+
+    /// Builds a [ResponsiveLayout]: a base plan, used from width `0`, plus a plan for each breakpoint.
+    ///
+    /// All the methods throw an [IllegalArgumentException] if the arguments are not valid.
+    public static final class Builder {
+        private final List<Double> minWidths = new ArrayList<>();
+        private final List<LayoutPlan> plans = new ArrayList<>();
+        private double[] params = CompiledLayout.NO_PARAMS;
+        private double hSpacing = 0;
+        private double vSpacing = 0;
+
+        private Builder() {
+            minWidths.add(0.0);
+            plans.add(null);
+        }
+
+        /// Sets the plan used below the first breakpoint.
+        public Builder base(LayoutPlan plan) {
+            if (plan == null) throw new IllegalArgumentException("Plan cannot be null");
+            plans.set(0, plan);
+            return this;
+        }
+
+        /// Adds a breakpoint: the given plan is used from the given width on, up to the next breakpoint. Breakpoints
+        /// must be added in increasing order of width.
+        public Builder breakpoint(double minWidth, LayoutPlan plan) {
+            if (plan == null) throw new IllegalArgumentException("Plan cannot be null");
+            if (!(minWidth > minWidths.get(minWidths.size() - 1)) || Double.isInfinite(minWidth))
+                throw new IllegalArgumentException(
+                    "Breakpoints must be finite and added in increasing order, got " + minWidth +
+                    " after " + minWidths.get(minWidths.size() - 1)
+                );
+            minWidths.add(minWidth);
+            plans.add(plan);
+            return this;
+        }
+
+        /// Sets the values of the parameters, shared by all the plans, in declaration order.
+        public Builder params(double... params) {
+            this.params = params.clone();
+            return this;
+        }
+
+        /// Sets the spacing of the root, the one of the bounds when laying out a [LayoutPlan].
+        public Builder spacing(double hSpacing, double vSpacing) {
+            this.hSpacing = hSpacing;
+            this.vSpacing = vSpacing;
+            return this;
+        }
+
+        /// @throws IllegalArgumentException if the base plan is missing, or if a plan needs more parameters than given
+        public ResponsiveLayout build() {
+            if (plans.get(0) == null) throw new IllegalArgumentException("The base plan is missing");
+            for (LayoutPlan plan : plans) {
+                if (plan.paramCount() > params.length)
+                    throw new IllegalArgumentException(
+                        "Plan needs " + plan.paramCount() + " parameters, got " + params.length
+                    );
+            }
+            return new ResponsiveLayout(this);
+        }
+    }
+
+    /// The linear pieces of one axis of a variant: the size each piece starts at, in increasing order, and for each
+    /// piece and area the slope and intercept of the min coordinate, then the ones of the max coordinate.
+    private static final class Axis {
+        private final double[] starts;
+        private final double[] coefficients;
+
+        Axis(double[] starts, double[] coefficients) {
+            this.starts = starts;
+            this.coefficients = coefficients;
+        }
+
+        int segmentAt(double size) {
+            int i = Arrays.binarySearch(starts, size);
+            if (i < 0) i = -i - 2;
+            return Math.max(0, i);
+        }
+    }
+
+    /// Evaluates a plan along one axis on a range of root sizes, with every coordinate as a linear function of the size.
+    private static final class Analyzer {
+        private static final PlanOp[] OPS = PlanOp.values();
+
+        private final LayoutPlan plan;
+        private final double[] params;
+        private final double spacing;
+        private final boolean horizontal;
+        private final int low;
+        private final int high;
+        private final PlanOp middle;
+        /// Per area: slope and intercept of the min coordinate, then of the max coordinate
+        private final double[] state;
+
+        private double lo;
+        private double hi;
+        private double split;
+
+        Analyzer(LayoutPlan plan, double[] params, double spacing, boolean horizontal) {
+            this.plan = plan;
+            this.params = params;
+            this.spacing = spacing;
+            this.horizontal = horizontal;
+            this.low = horizontal ? RectSide.LEFT.ordinal() : RectSide.TOP.ordinal();
+            this.high = horizontal ? RectSide.RIGHT.ordinal() : RectSide.BOTTOM.ordinal();
+            this.middle = horizontal ? PlanOp.MIDDLE_H : PlanOp.MIDDLE_V;
+            this.state = new double[plan.size() * 4];
+        }
+
+        Axis analyze(double from, double to) {
+            List<Double> starts = new ArrayList<>();
+            List<double[]> segments = new ArrayList<>();
+            Deque<double[]> ranges = new ArrayDeque<>();
+            ranges.push(new double[]{from, to});
+            while (!ranges.isEmpty()) {
+                double[] range = ranges.pop();
+                lo = range[0];
+                hi = range[1];
+                if (!evaluate()) {
+                    ranges.push(new double[]{split, hi});
+                    ranges.push(new double[]{lo, split});
+                    continue;
+                }
+                // A split may not change any area, for example when two clamps cross at the same size
+                if (!segments.isEmpty() && Arrays.equals(segments.get(segments.size() - 1), state)) continue;
+                starts.add(lo);
+                segments.add(state.clone());
+            }
+
+            int stride = state.length;
+            double[] s = new double[starts.size()];
+            double[] c = new double[starts.size() * stride];
+            for (int i = 0; i < s.length; i++) {
+                s[i] = starts.get(i);
+                System.arraycopy(segments.get(i), 0, c, i * stride, stride);
+            }
+            return new Axis(s, c);
+        }
+
+        /// @return `false` if a `min`/`max` is not decided on the whole range, in which case [#split] is where it changes
+        private boolean evaluate() {
+            double[] st = state;
+            Arrays.fill(st, 0);
+            st[2] = 1;
+            for (int i = 0; i < plan.steps; i++) {
+                int s = plan.srcs[i] * 4;
+                int d = plan.dsts[i] * 4;
+                PlanOp op = OPS[plan.ops[i]];
+                if (op == PlanOp.INSETS) {
+                    int in = i * 4;
+                    st[s + 1] += plan.insets[in + (horizontal ? 3 : 0)];
+                    st[s + 3] -= plan.insets[in + (horizontal ? 1 : 2)];
+                    continue;
+                }
+                int side = plan.sides[i];
+                boolean along = (op == PlanOp.MIDDLE_H || op == PlanOp.MIDDLE_V) ? op == middle : side == low || side == high;
+                if (op == PlanOp.REST || !along) {
+                    System.arraycopy(st, s, st, d, 4);
+                    continue;
+                }
+
+                double aMin = st[s], bMin = st[s + 1], aMax = st[s + 2], bMax = st[s + 3];
+                double aAmount = 0, bAmount;
+                switch (plan.kinds[i]) {
+                    case CONSTANT -> bAmount = plan.values[i];
+                    case PARAM -> bAmount = params[(int) plan.values[i]];
+                    default -> {
+                        // max(0, max - min) * percent
+                        int c = compare(0, 0, aMax - aMin, bMax - bMin);
+                        if (c == 0) return false;
+                        double p = plan.values[i];
+                        aAmount = c < 0 ? (aMax - aMin) * p : 0;
+                        bAmount = c < 0 ? (bMax - bMin) * p : 0;
+                    }
+                }
+
+                switch (op) {
+                    case CUT, GET -> {
+                        double aCut, bCut;
+                        if (side == low) {
+                            // min(max, min + amount)
+                            int c = compare(aMax, bMax, aMin + aAmount, bMin + bAmount);
+                            if (c == 0) return false;
+                            aCut = c < 0 ? aMax : aMin + aAmount;
+                            bCut = c < 0 ? bMax : bMin + bAmount;
+                            set(st, d, aMin, bMin, aCut, bCut);
+                        } else {
+                            // max(min, max - amount)
+                            int c = compare(aMin, bMin, aMax - aAmount, bMax - bAmount);
+                            if (c == 0) return false;
+                            aCut = c > 0 ? aMin : aMax - aAmount;
+                            bCut = c > 0 ? bMin : bMax - bAmount;
+                            set(st, d, aCut, bCut, aMax, bMax);
+                        }
+                        if (op == PlanOp.CUT) {
+                            double sp = plan.spacings[i];
+                            if (Double.isNaN(sp)) sp = spacing;
+                            if (side == low) {
+                                st[s] = aCut;
+                                st[s + 1] = bCut + sp;
+                            } else {
+                                st[s + 2] = aCut;
+                                st[s + 3] = bCut - sp;
+                            }
+                        }
+                    }
+                    case ADD -> {
+                        if (side == low) {
+                            set(st, d, aMin - aAmount, bMin - bAmount, aMin, bMin);
+                        } else {
+                            set(st, d, aMax, bMax, aMax + aAmount, bMax + bAmount);
+                        }
+                    }
+                    default -> {
+                        // (max(0, max - min) - amount) / 2 + min
+                        int c = compare(0, 0, aMax - aMin, bMax - bMin);
+                        if (c == 0) return false;
+                        double aSize = c < 0 ? aMax - aMin : 0;
+                        double bSize = c < 0 ? bMax - bMin : 0;
+                        double aM = (aSize - aAmount) / 2.0 + aMin;
+                        double bM = (bSize - bAmount) / 2.0 + bMin;
+                        set(st, d, aM, bM, aM + aAmount, bM + bAmount);
+                    }
+                }
+            }
+            return true;
+        }
+
+        /// @return `-1` if `u <= v` on the whole range, `1` if `u >= v`, `0` if they cross inside it, in which case
+        /// [#split] is set to the crossing
+        private int compare(double au, double bu, double av, double bv) {
+            double da = au - av;
+            double db = bu - bv;
+            double atLo = da * lo + db;
+            double atHi = Double.isInfinite(hi) ? (da == 0 ? db : Math.copySign(Double.POSITIVE_INFINITY, da)) : da * hi + db;
+            if (atLo <= 0 && atHi <= 0) return -1;
+            if (atLo >= 0 && atHi >= 0) return 1;
+            double x = -db / da;
+            if (x > lo && x < hi) {
+                split = x;
+                return 0;
+            }
+            // The crossing is at one end of the range, up to rounding, the other end decides
+            return x <= lo ? (atHi > 0 ? 1 : -1) : (atLo > 0 ? 1 : -1);
+        }
+
+        private static void set(double[] st, int d, double aMin, double bMin, double aMax, double bMax) {
+            st[d] = aMin;
+            st[d + 1] = bMin;
+            st[d + 2] = aMax;
+            st[d + 3] = bMax;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.profile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+/// Opt-in profiler for hierarchical layouts, attributes the cost of layout passes to the nodes of the hierarchy.
+///
+/// For every node, it accumulates across passes:
+/// - the time spent cutting areas from the node's area, its _self_ time
+/// - the number of cuts performed on the node's area
+/// - the number of [io.github.palexdev.rectcut.LayoutFunction] invocations for the node
+///
+/// The engines supporting it, `LayoutTree` through `withProfiler(LayoutProfiler)` and `LayoutPlan` through an overload
+/// of `layout`, call [#beginPass(Object, int, IntFunction, IntUnaryOperator)] at the start of each pass and then report
+/// the work done for each node. When no profiler is set, the overhead is negligible: trees only check for it once per
+/// node, plans once per pass, before picking a loop without any profiling code.
+///
+/// The results can be queried per node, or exported with [#writeCollapsed(Appendable, Metric)] in the collapsed
+/// stacks format used by flame graph tools: one line per node, with the names of its ancestors and its own separated by
+/// `;`, followed by the value of the chosen metric.
+///
+/// A profiler should be used by one engine at a time: passing a different one to
+/// [#beginPass(Object, int, IntFunction, IntUnaryOperator)] resets the data. Parallel passes are supported as long as
+/// each node is reported by a single thread, which is the case for `LayoutTree`.
+public final class LayoutProfiler {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private Object owner;
+    private int size = 0;
+    private String[] names = new String[0];
+    private int[] parents = new int[0];
+    private long[] nanos = new long[0];
+    private long[] cuts = new long[0];
+    private long[] calls = new long[0];
+    private long passes = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public LayoutProfiler() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Called by engines at the beginning of each profiled pass. The first time it's called for a given owner, the
+    /// structure of the hierarchy is copied and the previous data is discarded.
+    ///
+    /// @param owner   the engine, compared by identity
+    /// @param size    the number of nodes
+    /// @param names   the names of the nodes, `null` names are replaced by `#index`
+    /// @param parents the parents of the nodes, `-1` for the root; a parent must have a smaller index than its children
+    public LayoutProfiler beginPass(Object owner, int size, IntFunction<String> names, IntUnaryOperator parents) {
+        if (owner != this.owner || size != this.size) {
+            this.owner = owner;
+            this.size = size;
+            this.names = new String[size];
+            this.parents = new int[size];
+            for (int i = 0; i < size; i++) {
+                String name = names.apply(i);
+                this.names[i] = name != null ? name.replace(';', '_').replace('\n', ' ') : "#" + i;
+                int parent = parents.applyAsInt(i);
+                if (parent >= i)
+                    throw new IllegalArgumentException("Parent " + parent + " of node " + i + " is not before it");
+                this.parents[i] = parent;
+            }
+            nanos = new long[size];
+            cuts = new long[size];
+            calls = new long[size];
+            passes = 0;
+        }
+        passes++;
+        return this;
+    }
+
+    /// Called by engines to report the cuts performed on a node's area and the time they took.
+    public void record(int node, int cuts, long nanos) {
+        this.cuts[node] += cuts;
+        this.nanos[node] += nanos;
+    }
+
+    /// Called by engines to report an invocation of a node's [io.github.palexdev.rectcut.LayoutFunction].
+    public void recordCall(int node) {
+        calls[node]++;
+    }
+
+    /// Discards all the data collected so far, the structure is kept.
+    public LayoutProfiler reset() {
+        Arrays.fill(nanos, 0);
+        Arrays.fill(cuts, 0);
+        Arrays.fill(calls, 0);
+        passes = 0;
+        return this;
+    }
+
+    /// Writes the data collected for the given metric in the collapsed stacks format, one line per node with a
+    /// non-zero value, in index order. Times are in nanoseconds.
+    public <A extends Appendable> A writeCollapsed(A out, Metric metric) {
+        long[] values = values(metric);
+        String[] paths = new String[size];
+        try {
+            for (int i = 0; i < size; i++) {
+                paths[i] = parents[i] < 0 ? names[i] : paths[parents[i]] + ";" + names[i];
+                if (values[i] == 0) continue;
+                out.append(paths[i]).append(' ').append(Long.toString(values[i])).append('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out;
+    }
+
+    /// Delegates to [#writeCollapsed(Appendable, Metric)] with a [StringBuilder].
+    public String toCollapsed(Metric metric) {
+        return writeCollapsed(new StringBuilder(), metric).toString();
+    }
+
+    private long[] values(Metric metric) {
+        return switch (metric) {
+            case TIME -> nanos;
+            case CUTS -> cuts;
+            case CALLS -> calls;
+        };
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of profiled passes since the structure was copied or the last [#reset()]
+    public long passes() {
+        return passes;
+    }
+
+    /// @return the number of nodes
+    public int size() {
+        return size;
+    }
+
+    /// @return the name of the given node as used in the export
+    public String name(int node) {
+        return names[node];
+    }
+
+    /// @return the parent of the given node, `-1` for the root
+    public int parent(int node) {
+        return parents[node];
+    }
+
+    /// @return the total time in nanoseconds spent cutting from the given node's area
+    public long selfNanos(int node) {
+        return nanos[node];
+    }
+
+    /// @return the total time in nanoseconds spent in the subtree rooted at the given node, including the node itself
+    public long totalNanos(int node) {
+        long total = nanos[node];
+        for (int i = node + 1; i < size; i++) {
+            if (isDescendant(i, node)) total += nanos[i];
+        }
+        return total;
+    }
+
+    /// @return the total number of cuts performed on the given node's area
+    public long cuts(int node) {
+        return cuts[node];
+    }
+
+    /// @return the total number of [io.github.palexdev.rectcut.LayoutFunction] invocations for the given node
+    public long calls(int node) {
+        return calls[node];
+    }
+
+    private boolean isDescendant(int node, int ancestor) {
+        for (int p = parents[node]; p >= ancestor; p = parents[p]) {
+            if (p == ancestor) return true;
+        }
+        return false;
+    }
+
+    //================================================================================
+    // Inner Classes
+    //================================================================================
+
+    /// The metrics that can be exported, see [#writeCollapsed(Appendable, Metric)].
+    public enum Metric {
+        TIME, CUTS, CALLS
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.stream;
+
+import io.github.palexdev.rectcut.LayoutFunction;
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+
+import java.util.Arrays;
+
+/// Layout engine for append-only content, such as chat and log panes, where each row would be cut from the top of the
+/// remaining area with [Rect#cutTop(double)].
+///
+/// Rows are appended as they arrive and their bounds are emitted right away, nothing is retained per row besides a
+/// single `double` in a Fenwick tree (binary indexed tree) of the rows' heights plus the area's [Rect#vSpacing()].
+/// The tree gives the offset of any row, the row at any offset, and allows changing a row's height in `O(log n)`, so
+/// scroll positions can be derived at any time without keeping the rows' bounds around.
+///
+/// Unlike [Rect#cutTop(double)], rows are not clamped to the area's height, since the content is meant to scroll; the
+/// area only gives the horizontal bounds and the starting `y` coordinate. For integer heights and spacing, the bounds
+/// are exactly the same as the ones obtained with repeated cuts.
+///
+/// Instances are not thread-safe.
+public final class StreamingRows {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final double minX;
+    private final double maxX;
+    private final double minY;
+    private final double spacing;
+    private double[] tree = new double[17];
+    private int count = 0;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public StreamingRows(Rect area) {
+        this.minX = area.minX();
+        this.maxX = area.maxX();
+        this.minY = area.minY();
+        this.spacing = area.vSpacing();
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Appends a row with the given height and returns its index. Negative heights are treated as zero.
+    ///
+    /// @throws IllegalArgumentException if the height is `NaN` or infinite
+    public int append(double height) {
+        height = checkHeight(height);
+        int i = ++count;
+        if (i == tree.length) tree = Arrays.copyOf(tree, tree.length * 2);
+        // A node covers the rows (i - lowbit(i), i], the previous ones are already summed by the nodes below it
+        double sum = height + spacing;
+        int stop = i - (i & -i);
+        for (int j = i - 1; j > stop; j -= j & -j) sum += tree[j];
+        tree[i] = sum;
+        return i - 1;
+    }
+
+    /// Appends a row with the given height and calls the given function with its bounds, see [#append(double)].
+    ///
+    /// @throws IllegalArgumentException if the height is `NaN` or infinite
+    public int append(double height, LayoutFunction fn) {
+        height = checkHeight(height);
+        int index = append(height);
+        fn.apply(minX, offset(index), maxX - minX, height);
+        return index;
+    }
+
+    /// Changes the height of the given row, all the rows after it move accordingly. Negative heights are treated as zero.
+    ///
+    /// @throws IllegalArgumentException if the height is `NaN` or infinite
+    public StreamingRows setHeight(int index, double height) {
+        height = checkHeight(height);
+        double delta = height - height(index);
+        for (int i = index + 1; i <= count; i += i & -i) tree[i] += delta;
+        return this;
+    }
+
+    /// Removes all the rows, the tree is kept for reuse.
+    public StreamingRows clear() {
+        Arrays.fill(tree, 0, count + 1, 0);
+        count = 0;
+        return this;
+    }
+
+    /// @return the `y` coordinate of the given row
+    public double offset(int index) {
+        checkIndex(index);
+        return minY + prefix(index);
+    }
+
+    /// @return the height of the given row
+    public double height(int index) {
+        checkIndex(index);
+        return prefix(index + 1) - prefix(index) - spacing;
+    }
+
+    /// Writes the bounds of the given row in the given buffer at the given index, which must exist.
+    public StreamingRows bounds(int index, RectBuffer out, int at) {
+        double y = offset(index);
+        out.set(at, minX, y, maxX, y + height(index));
+        return this;
+    }
+
+    /// @return the index of the row containing the given `y` coordinate, the spacing after a row is considered part of
+    /// it; `-1` if the coordinate is before the first row or after the last one
+    public int indexAt(double y) {
+        double remaining = y - minY;
+        if (remaining < 0 || count == 0) return -1;
+        int pos = 0;
+        for (int step = Integer.highestOneBit(count); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= count && tree[next] <= remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return pos < count ? pos : -1;
+    }
+
+    /// Clears the given buffer and fills it with the bounds of the rows intersecting the range `[top, bottom)`, which is
+    /// typically the viewport of a scroll pane.
+    ///
+    /// @return the index of the first row written in the buffer, or `-1` if no row intersects the range
+    public int visible(double top, double bottom, RectBuffer out) {
+        out.clear();
+        if (count == 0 || bottom <= top) return -1;
+        int first = top < minY ? 0 : indexAt(top);
+        if (first < 0) return -1;
+        double y = offset(first);
+        for (int i = first; i < count && y < bottom; i++) {
+            double h = height(i);
+            out.add(minX, y, maxX, y + h);
+            y += h + spacing;
+        }
+        return first;
+    }
+
+    /// @return the sum of the rows' heights and the spacing between them
+    public double totalHeight() {
+        return count == 0 ? 0 : prefix(count) - spacing;
+    }
+
+    private double prefix(int rows) {
+        double sum = 0;
+        for (int i = rows; i > 0; i -= i & -i) sum += tree[i];
+        return sum;
+    }
+
+    /// Heights must keep the prefix sums increasing, which [#indexAt(double)] relies on.
+    private static double checkHeight(double height) {
+        if (!Double.isFinite(height))
+            throw new IllegalArgumentException("The row's height must be finite, got " + height);
+        return Math.max(0, height);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for count " + count);
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of rows
+    public int count() {
+        return count;
+    }
+
+    /// @return the spacing between rows, taken from the area's [Rect#vSpacing()]
+    public double spacing() {
+        return spacing;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.tree;
+
+import io.github.palexdev.rectcut.LayoutFunction;
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectSide;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/// Describes a node of a hierarchical layout, used to build a [LayoutTree].
+///
+/// A node's area is obtained by cutting the remaining area of its parent from the given side by the given amount
+/// (see [Rect#cut(RectSide, double)]), or, for nodes without a side, by taking whatever area remains. Before its
+/// children are cut, the node's area is shrunk by its insets and given its spacing, exactly as one would do with
+/// [Rect#withInsets(double, double, double, double)], [Rect#withHSpacing(double)] and [Rect#withVSpacing(double)].
+///
+/// Children are cut in the order they are added. Nodes are just descriptions, they are flattened into arrays by
+/// [LayoutTree#of(LayoutNode)], so changes made afterward are not seen by the tree.
+public final class LayoutNode {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final String name;
+    private final RectSide side;
+    private final double amount;
+    private final List<LayoutNode> children = new ArrayList<>();
+
+    private double top, right, bottom, left;
+    private double hSpacing, vSpacing;
+    private LayoutFunction fn;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private LayoutNode(String name, RectSide side, double amount) {
+        this.name = name;
+        this.side = side;
+        this.amount = amount;
+    }
+
+    /// @return a node which is cut from its parent's remaining area from the given side by the given amount
+    public static LayoutNode cut(String name, RectSide side, double amount) {
+        return new LayoutNode(name, side, amount);
+    }
+
+    /// @return a node which takes the whole remaining area of its parent, also used for the root node
+    public static LayoutNode fill(String name) {
+        return new LayoutNode(name, null, 0);
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Adds the given nodes as children of this node.
+    public LayoutNode add(LayoutNode... nodes) {
+        Collections.addAll(children, nodes);
+        return this;
+    }
+
+    /// Sets the insets applied to this node's area before cutting its children.
+    public LayoutNode withInsets(double top, double right, double bottom, double left) {
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        this.left = left;
+        return this;
+    }
+
+    /// Delegates to [#withInsets(double, double, double, double)].
+    public LayoutNode withInsets(double uniform) {
+        return withInsets(uniform, uniform, uniform, uniform);
+    }
+
+    /// Sets the horizontal spacing used when cutting this node's children from the left or right.
+    public LayoutNode withHSpacing(double hSpacing) {
+        this.hSpacing = hSpacing;
+        return this;
+    }
+
+    /// Sets the vertical spacing used when cutting this node's children from the top or bottom.
+    public LayoutNode withVSpacing(double vSpacing) {
+        this.vSpacing = vSpacing;
+        return this;
+    }
+
+    /// Sets the function called with this node's area by [LayoutTree#apply(io.github.palexdev.rectcut.RectBuffer)].
+    public LayoutNode withLayout(LayoutFunction fn) {
+        this.fn = fn;
+        return this;
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the name of this node, may be `null`
+    public String name() {
+        return name;
+    }
+
+    /// @return the side from which this node is cut, `null` if it takes the remaining area
+    public RectSide side() {
+        return side;
+    }
+
+    /// @return the amount by which this node is cut from its parent
+    public double amount() {
+        return amount;
+    }
+
+    /// @return an unmodifiable view of this node's children
+    public List<LayoutNode> children() {
+        return Collections.unmodifiableList(children);
+    }
+
+    double top() {return top;}
+
+    double right() {return right;}
+
+    double bottom() {return bottom;}
+
+    double left() {return left;}
+
+    double hSpacing() {return hSpacing;}
+
+    double vSpacing() {return vSpacing;}
+
+    LayoutFunction layoutFunction() {return fn;}
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.tree;
+
+import io.github.palexdev.rectcut.LayoutFunction;
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectKernel;
+import io.github.palexdev.rectcut.internal.SubtreeWalker;
+import io.github.palexdev.rectcut.profile.LayoutProfiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/// Hierarchical layout engine, computes the areas of all the nodes of a [LayoutNode] hierarchy.
+///
+/// The hierarchy is flattened in breadth-first order, so that the children of every node have contiguous indexes, and
+/// the node at index `0` is the root. The area of each node is written in a [RectBuffer] at the node's index.
+///
+/// Once a node's children have been cut, each of them only depends on the area it received, so their subtrees are
+/// independent. Subtrees with at least [#parallelThreshold()] nodes are laid out by separate tasks on a
+/// [ForkJoinPool], smaller ones are laid out by the task that reached them. Every node is written by exactly one task,
+/// using the same arithmetic as [Rect] (see [RectKernel]), so the results are always identical to a sequential layout
+/// and to cutting [Rect]s by hand.
+///
+/// The functions set through [LayoutNode#withLayout(LayoutFunction)] are not called during the layout, which may
+/// run on other threads, but by [#apply(RectBuffer)], which should be called from the UI thread.
+///
+/// Instances are not thread-safe, the sequential traversal reuses the same stack and scratch area across layouts.
+public final class LayoutTree {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final int size;
+    private final String[] names;
+    private final int[] sides;
+    private final double[] amounts;
+    private final double[] insets;
+    private final double[] spacing;
+    private final LayoutFunction[] functions;
+    private final int[] parents;
+    private final int[] offsets;
+    private final int[] subtreeSizes;
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int parallelThreshold = 256;
+    private LayoutProfiler profiler;
+    private final SubtreeWalker.Shape shape;
+    private final SubtreeWalker<LayoutTree> walker = new SubtreeWalker<>(8, LayoutTree::visit);
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private LayoutTree(LayoutNode root) {
+        List<LayoutNode> nodes = new ArrayList<>();
+        List<Integer> parentList = new ArrayList<>();
+        nodes.add(root);
+        parentList.add(-1);
+        for (int i = 0; i < nodes.size(); i++) {
+            for (LayoutNode child : nodes.get(i).children()) {
+                nodes.add(child);
+                parentList.add(i);
+            }
+        }
+
+        size = nodes.size();
+        names = new String[size];
+        sides = new int[size];
+        amounts = new double[size];
+        insets = new double[size * 4];
+        spacing = new double[size * 2];
+        functions = new LayoutFunction[size];
+        parents = new int[size];
+        offsets = new int[size + 1];
+        subtreeSizes = new int[size];
+        for (int i = 0; i < size; i++) {
+            LayoutNode node = nodes.get(i);
+            names[i] = node.name();
+            sides[i] = node.side() != null ? node.side().ordinal() : -1;
+            amounts[i] = node.amount();
+            insets[i * 4] = node.top();
+            insets[i * 4 + 1] = node.right();
+            insets[i * 4 + 2] = node.bottom();
+            insets[i * 4 + 3] = node.left();
+            spacing[i * 2] = node.hSpacing();
+            spacing[i * 2 + 1] = node.vSpacing();
+            functions[i] = node.layoutFunction();
+            parents[i] = parentList.get(i);
+            if (node.name() != null) indexes.putIfAbsent(node.name(), i);
+        }
+
+        // Breadth-first order: the children of a node start right after the children of the previous nodes
+        int next = 1;
+        for (int i = 0; i < size; i++) {
+            offsets[i] = next;
+            next += nodes.get(i).children().size();
+        }
+        offsets[size] = next;
+        Arrays.fill(subtreeSizes, 1);
+        for (int i = size - 1; i > 0; i--) {
+            subtreeSizes[parents[i]] += subtreeSizes[i];
+        }
+        shape = new SubtreeWalker.Shape(offsets, null, subtreeSizes);
+    }
+
+    public static LayoutTree of(LayoutNode root) {
+        return new LayoutTree(root);
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Lays out the tree in the given area. The buffer is resized to the number of nodes, and the area of each node is
+    /// written at its index; the root gets the given area.
+    public RectBuffer layout(Rect bounds, RectBuffer out) {
+        out.resize(size);
+        out.set(0, bounds);
+        if (profiler != null) profiler.beginPass(this, size, this::name, this::parent);
+        walker.walk(this, shape, out.array(), pool, parallelThreshold);
+        return out;
+    }
+
+    /// Calls the [LayoutFunction] of every node that has one with the area computed by [#layout(Rect, RectBuffer)],
+    /// in index order.
+    public LayoutTree apply(RectBuffer results) {
+        LayoutProfiler p = profiler;
+        for (int i = 0; i < size; i++) {
+            if (functions[i] == null) continue;
+            results.layout(i, functions[i]);
+            if (p != null) p.recordCall(i);
+        }
+        return this;
+    }
+
+    private void visit(double[] out, int node, double[] scratch) {
+        LayoutProfiler p = profiler;
+        if (p == null) {
+            cutChildren(out, node, scratch);
+        } else {
+            long start = System.nanoTime();
+            cutChildren(out, node, scratch);
+            p.record(node, offsets[node + 1] - offsets[node], System.nanoTime() - start);
+        }
+    }
+
+    /// Cuts the children of the given node from its area, which must already be in the results array. The remaining
+    /// area is kept in the first four slots of the given scratch array, each cut area in the next four.
+    private void cutChildren(double[] out, int node, double[] scratch) {
+        int from = offsets[node];
+        int to = offsets[node + 1];
+        if (from == to) return;
+
+        int in = node * 4;
+        System.arraycopy(out, node * RectBuffer.STRIDE, scratch, 0, 4);
+        RectKernel.insets(scratch, 0, insets[in], insets[in + 1], insets[in + 2], insets[in + 3]);
+        double hSpacing = spacing[node * 2];
+        double vSpacing = spacing[node * 2 + 1];
+        for (int c = from; c < to; c++) {
+            int side = sides[c];
+            if (side < 0) {
+                System.arraycopy(scratch, 0, out, c * RectBuffer.STRIDE, 4);
+                continue;
+            }
+            RectKernel.cut(scratch, 0, 4, side, amounts[c], RectKernel.isHorizontal(side) ? hSpacing : vSpacing);
+            System.arraycopy(scratch, 4, out, c * RectBuffer.STRIDE, 4);
+        }
+    }
+
+    //================================================================================
+    // Getters/Setters
+    //================================================================================
+
+    /// @return the number of nodes in the tree
+    public int size() {
+        return size;
+    }
+
+    /// @return the index of the first node with the given name, or `-1` if there's no such node
+    public int indexOf(String name) {
+        return indexes.getOrDefault(name, -1);
+    }
+
+    /// @return the name of the node at the given index, may be `null`
+    public String name(int node) {
+        return names[node];
+    }
+
+    /// @return the index of the parent of the given node, `-1` for the root
+    public int parent(int node) {
+        return parents[node];
+    }
+
+    /// @return the number of nodes in the subtree rooted at the given node, including the node itself
+    public int subtreeSize(int node) {
+        return subtreeSizes[node];
+    }
+
+    /// @return the amount by which the given node is cut from its parent
+    public double amount(int node) {
+        return amounts[node];
+    }
+
+    /// Changes the amount by which the given node is cut from its parent, useful when sizes change between passes.
+    public LayoutTree setAmount(int node, double amount) {
+        amounts[node] = amount;
+        return this;
+    }
+
+    /// @return the pool used to lay out subtrees in parallel, `null` if disabled
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    /// Sets the pool used to lay out subtrees in parallel, `null` to always work sequentially on the calling thread.
+    /// By default, it's the [ForkJoinPool#commonPool()].
+    public LayoutTree withPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /// @return the profiler recording the cost of each node, `null` if profiling is disabled
+    public LayoutProfiler profiler() {
+        return profiler;
+    }
+
+    /// Sets the profiler recording the cost of each node during [#layout(Rect, RectBuffer)] and the [LayoutFunction]
+    /// invocations of [#apply(RectBuffer)], `null` to disable profiling, which is the default.
+    public LayoutTree withProfiler(LayoutProfiler profiler) {
+        this.profiler = profiler;
+        return this;
+    }
+
+    /// @return the minimum number of nodes a subtree must have to be laid out by a separate task
+    public int parallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /// Sets the minimum number of nodes a subtree must have to be laid out by a separate task. Below it, the scheduling
+    /// overhead outweighs the gain, so the subtree stays on the current task.
+    public LayoutTree withParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+        return this;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.treemap;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.internal.SubtreeWalker;
+
+import java.util.concurrent.ForkJoinPool;
+
+/// Treemap layout engine, recursively splits an area among the nodes of a [WeightedTree] so that each node gets an
+/// area proportional to its weight.
+///
+/// A treemap is nothing more than a sequence of cuts: every row of the [TreemapAlgorithm#SQUARIFIED] algorithm is cut
+/// from the left or the top of the remaining area (as by [Rect#cutLeft(double)] and [Rect#cutTop(double)]), and then
+/// split among its children with the cut along the other axis. [TreemapAlgorithm#SLICE_AND_DICE] does the same but
+/// with one child per cut. The arithmetic is performed directly on the coordinates, so no [Rect] is allocated.
+///
+/// The results are written in a [RectBuffer] at the index of each node. Since the area of a subtree only depends on
+/// the area of its root, subtrees are independent, and the big ones (see [#withParallelThreshold(int)]) are laid out in
+/// parallel on a [ForkJoinPool]. Every node is written by exactly one task, so the results are identical to a
+/// sequential layout.
+///
+/// Instances are not thread-safe, the sequential traversal reuses the same stack across layouts.
+public final class Treemap {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private TreemapAlgorithm algorithm = TreemapAlgorithm.SQUARIFIED;
+    private double padding = 0;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int parallelThreshold = 4096;
+
+    private final SubtreeWalker<WeightedTree> walker = new SubtreeWalker<>(0, this::layoutChildren);
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public Treemap() {}
+
+    public Treemap(TreemapAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public static Treemap squarified() {
+        return new Treemap(TreemapAlgorithm.SQUARIFIED);
+    }
+
+    public static Treemap sliceAndDice() {
+        return new Treemap(TreemapAlgorithm.SLICE_AND_DICE);
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Lays out the given tree in the given area. The buffer is resized to the size of the tree, and the area of each
+    /// node is written at the node's index.
+    ///
+    /// Subtrees with at least [#parallelThreshold()] nodes are laid out in parallel if a pool is set, the method
+    /// returns only when the whole tree has been laid out.
+    public RectBuffer layout(WeightedTree tree, Rect bounds, RectBuffer out) {
+        out.resize(tree.size());
+        if (tree.size() == 0) return out;
+        out.set(0, bounds);
+        walker.walk(tree, tree.shape, out.array(), pool, parallelThreshold);
+        return out;
+    }
+
+    /// Splits the area of the given node (read from the results array) among its children.
+    private void layoutChildren(WeightedTree tree, double[] out, int node, double[] scratch) {
+        int from = tree.offsets[node];
+        int to = tree.offsets[node + 1];
+        if (from == to) return;
+
+        int o = node * RectBuffer.STRIDE;
+        double minX = out[o] + padding;
+        double minY = out[o + 1] + padding;
+        double maxX = Math.max(minX, out[o + 2] - padding);
+        double maxY = Math.max(minY, out[o + 3] - padding);
+        if (algorithm == TreemapAlgorithm.SQUARIFIED) {
+            squarify(tree, out, from, to, minX, minY, maxX, maxY);
+        } else {
+            slice(tree, out, from, to, minX, minY, maxX, maxY, (tree.depths[node] & 1) == 0);
+        }
+    }
+
+    private void squarify(WeightedTree tree, double[] out, int from, int to,
+                          double minX, double minY, double maxX, double maxY) {
+        int[] sorted = tree.sorted;
+        double[] weights = tree.weights;
+        double total = 0;
+        for (int k = from; k < to; k++) total += weights[sorted[k]];
+        double area = (maxX - minX) * (maxY - minY);
+        if (total <= 0 || area <= 0) {
+            for (int k = from; k < to; k++) set(out, sorted[k], minX, minY, minX, minY);
+            return;
+        }
+
+        double scale = area / total;
+        int i = from;
+        while (i < to) {
+            double first = weights[sorted[i]] * scale;
+            if (first <= 0) {
+                // Sorted in descending order, so all the remaining ones have no area too
+                for (int k = i; k < to; k++) set(out, sorted[k], minX, minY, minX, minY);
+                return;
+            }
+
+            // Grow the row as long as the worst aspect ratio improves
+            double w = maxX - minX;
+            double h = maxY - minY;
+            double side = Math.min(w, h);
+            double rowSum = first;
+            double worst = worst(rowSum, first, first, side);
+            int j = i + 1;
+            while (j < to) {
+                double a = weights[sorted[j]] * scale;
+                double sum = rowSum + a;
+                double candidate = worst(sum, first, a, side);
+                if (candidate > worst) break;
+                rowSum = sum;
+                worst = candidate;
+                j++;
+            }
+
+            boolean last = j == to;
+            if (w >= h) {
+                // Cut a column from the left, then cut its cells from the top
+                double colMaxX = last ? maxX : minX + rowSum / h;
+                double colW = colMaxX - minX;
+                double y = minY;
+                for (int k = i; k < j; k++) {
+                    double cellMaxY = k == j - 1 ? maxY : y + weights[sorted[k]] * scale / colW;
+                    set(out, sorted[k], minX, y, colMaxX, cellMaxY);
+                    y = cellMaxY;
+                }
+                minX = colMaxX;
+            } else {
+                // Cut a row from the top, then cut its cells from the left
+                double rowMaxY = last ? maxY : minY + rowSum / w;
+                double rowH = rowMaxY - minY;
+                double x = minX;
+                for (int k = i; k < j; k++) {
+                    double cellMaxX = k == j - 1 ? maxX : x + weights[sorted[k]] * scale / rowH;
+                    set(out, sorted[k], x, minY, cellMaxX, rowMaxY);
+                    x = cellMaxX;
+                }
+                minY = rowMaxY;
+            }
+            i = j;
+        }
+    }
+
+    /// @return the worst aspect ratio of a row with the given total area, biggest and smallest cell areas, laid out
+    /// along a side of the given length
+    private static double worst(double sum, double max, double min, double side) {
+        double s2 = sum * sum;
+        double side2 = side * side;
+        return Math.max(side2 * max / s2, s2 / (side2 * min));
+    }
+
+    private void slice(WeightedTree tree, double[] out, int from, int to,
+                       double minX, double minY, double maxX, double maxY, boolean horizontal) {
+        int[] children = tree.children;
+        double[] weights = tree.weights;
+        double total = 0;
+        for (int k = from; k < to; k++) total += weights[children[k]];
+        double extent = horizontal ? maxX - minX : maxY - minY;
+        double scale = total > 0 ? extent / total : 0;
+
+        double pos = horizontal ? minX : minY;
+        for (int k = from; k < to; k++) {
+            int child = children[k];
+            double end = k == to - 1 && total > 0 ? (horizontal ? maxX : maxY) : pos + weights[child] * scale;
+            if (horizontal) {
+                set(out, child, pos, minY, end, maxY);
+            } else {
+                set(out, child, minX, pos, maxX, end);
+            }
+            pos = end;
+        }
+    }
+
+    private static void set(double[] out, int node, double minX, double minY, double maxX, double maxY) {
+        int o = node * RectBuffer.STRIDE;
+        out[o] = minX;
+        out[o + 1] = minY;
+        out[o + 2] = maxX;
+        out[o + 3] = maxY;
+    }
+
+    //================================================================================
+    // Getters/Setters
+    //================================================================================
+
+    /// @return the algorithm used to split the areas
+    public TreemapAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    /// Sets the algorithm used to split the areas.
+    public Treemap withAlgorithm(TreemapAlgorithm algorithm) {
+        this.algorithm = algorithm;
+        return this;
+    }
+
+    /// @return the uniform insets applied to the area of a node before splitting it among its children
+    public double padding() {
+        return padding;
+    }
+
+    /// Sets the uniform insets applied to the area of a node before splitting it among its children, useful to leave
+    /// room for borders or labels.
+    public Treemap withPadding(double padding) {
+        this.padding = padding;
+        return this;
+    }
+
+    /// @return the pool used to lay out subtrees in parallel, `null` if disabled
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    /// Sets the pool used to lay out subtrees in parallel, `null` to always work sequentially on the calling thread.
+    /// By default, it's the [ForkJoinPool#commonPool()].
+    public Treemap withPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /// @return the minimum number of nodes a subtree must have to be laid out by a separate task
+    public int parallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /// Sets the minimum number of nodes a subtree must have to be laid out by a separate task. Smaller subtrees are
+    /// laid out by the task that reached them, since the scheduling overhead would outweigh the gain.
+    public Treemap withParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+        return this;
+    }
+}
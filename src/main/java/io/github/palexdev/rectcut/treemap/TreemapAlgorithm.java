@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.treemap;
+
+/// Enumerator for the algorithms the [Treemap] engine can use to split a node's area among its children.
+public enum TreemapAlgorithm {
+    /// Children are sorted by weight and laid out in rows (or columns) along the shorter side of the remaining area,
+    /// adding children to the current row as long as the worst aspect ratio improves. Produces cells close to squares.
+    SQUARIFIED,
+
+    /// Children keep their insertion order and are laid out side by side, horizontally for even depths and vertically
+    /// for odd depths. Produces thin cells but preserves ordering.
+    SLICE_AND_DICE,
+}
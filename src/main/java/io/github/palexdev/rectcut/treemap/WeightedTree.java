@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.treemap;
+
+import io.github.palexdev.rectcut.internal.SubtreeWalker;
+
+import java.util.Arrays;
+
+/// Immutable, array-based representation of a weighted tree, used as the input of the [Treemap] engine.
+///
+/// Nodes are identified by their index, assigned in insertion order by the [Builder], the root is always the node `0`.
+/// The weight of a node is the sum of its own weight and the weights of all its descendants, so that only leaves
+/// typically need a weight. Note that the children of a node always fill its whole area, so the own weight of an
+/// internal node only affects its size relative to its siblings.
+///
+/// Children are stored contiguously (compressed sparse row format), both in insertion order and sorted by weight in
+/// descending order, the latter being needed by the squarified algorithm. The layout of a tree never allocates per
+/// node, which is what makes trees with millions of nodes manageable.
+public final class WeightedTree {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final int size;
+    final double[] weights;
+    final int[] depths;
+    final int[] subtreeSizes;
+    final int[] offsets;
+    final int[] children;
+    final int[] sorted;
+    final SubtreeWalker.Shape shape;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private WeightedTree(int size, int[] parents, double[] ownWeights) {
+        this.size = size;
+        this.weights = Arrays.copyOf(ownWeights, size);
+        this.depths = new int[size];
+        this.subtreeSizes = new int[size];
+        this.offsets = new int[size + 1];
+        this.children = new int[Math.max(0, size - 1)];
+
+        // Parents always come before their children, so a reverse scan is enough to aggregate
+        Arrays.fill(subtreeSizes, 1);
+        for (int i = size - 1; i > 0; i--) {
+            int p = parents[i];
+            weights[p] += weights[i];
+            subtreeSizes[p] += subtreeSizes[i];
+        }
+        for (int i = 1; i < size; i++) {
+            depths[i] = depths[parents[i]] + 1;
+            offsets[parents[i] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] cursor = Arrays.copyOf(offsets, size);
+        for (int i = 1; i < size; i++) {
+            children[cursor[parents[i]]++] = i;
+        }
+
+        this.sorted = children.clone();
+        for (int i = 0; i < size; i++) {
+            sortByWeight(sorted, offsets[i], offsets[i + 1] - 1, weights);
+        }
+        this.shape = new SubtreeWalker.Shape(offsets, children, subtreeSizes);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Sorts the given segment of node indexes by weight in descending order. A plain quicksort is enough, since the
+    /// order of nodes with equal weight does not matter.
+    private static void sortByWeight(int[] a, int lo, int hi, double[] w) {
+        while (hi - lo > 16) {
+            double pivot = w[a[(lo + hi) >>> 1]];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (w[a[i]] > pivot) i++;
+                while (w[a[j]] < pivot) j--;
+                if (i <= j) {
+                    int t = a[i];
+                    a[i++] = a[j];
+                    a[j--] = t;
+                }
+            }
+            // Recurse on the smaller half to bound the stack depth
+            if (j - lo < hi - i) {
+                sortByWeight(a, lo, j, w);
+                lo = i;
+            } else {
+                sortByWeight(a, i, hi, w);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            int v = a[i];
+            int j = i - 1;
+            while (j >= lo && w[a[j]] < w[v]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of nodes in the tree
+    public int size() {
+        return size;
+    }
+
+    /// @return the weight of the given node, including all its descendants
+    public double weight(int node) {
+        return weights[node];
+    }
+
+    /// @return the depth of the given node, the root has depth 0
+    public int depth(int node) {
+        return depths[node];
+    }
+
+    /// @return the number of nodes in the subtree rooted at the given node, including the node itself
+    public int subtreeSize(int node) {
+        return subtreeSizes[node];
+    }
+
+    /// @return the number of children of the given node
+    public int childCount(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /// @return the `i`-th child of the given node, in insertion order
+    public int child(int node, int i) {
+        return children[offsets[node] + i];
+    }
+
+    //================================================================================
+    // Inner Classes
+    //================================================================================
+
+    /// Builder for [WeightedTree]. The root node (index `0`) is created automatically with a weight of `0`.
+    public static final class Builder {
+        private int[] parents = new int[64];
+        private double[] ownWeights = new double[64];
+        private int size = 1;
+
+        private Builder() {
+            parents[0] = -1;
+        }
+
+        /// Adds a node with the given weight as a child of the given parent, and returns its index.
+        ///
+        /// @throws IllegalArgumentException if the parent does not exist or the weight is negative
+        public int add(int parent, double weight) {
+            if (parent < 0 || parent >= size)
+                throw new IllegalArgumentException("Unknown parent node: " + parent);
+            if (weight < 0 || Double.isNaN(weight))
+                throw new IllegalArgumentException("Weights cannot be negative: " + weight);
+            if (size == parents.length) {
+                parents = Arrays.copyOf(parents, size * 2);
+                ownWeights = Arrays.copyOf(ownWeights, size * 2);
+            }
+            parents[size] = parent;
+            ownWeights[size] = weight;
+            return size++;
+        }
+
+        /// Sets the own weight of the root node.
+        public Builder withRootWeight(double weight) {
+            ownWeights[0] = weight;
+            return this;
+        }
+
+        /// @return the number of nodes added so far, including the root
+        public int size() {
+            return size;
+        }
+
+        public WeightedTree build() {
+            return new WeightedTree(size, parents, ownWeights);
+        }
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.validation;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/// Checks a set of layout results for common problems: rects with no area, rects overlapping each other, rects
+/// exceeding the bounds they were cut from, and parts of the bounds not covered by any rect.
+///
+/// These usually come from spacing, from the clamping done by the cut methods when the area is exhausted, or from
+/// negative amounts given to the add methods, and are otherwise only noticed visually.
+///
+/// Overlaps are found with a sweep line along the x axis. The rects crossing the sweep line are kept both in an
+/// interval tree over the y coordinates, to find the ones containing a given coordinate, and in a set sorted by their
+/// `minY`, to find the ones starting in a given range. Each rect is inserted and removed once, and each query only
+/// visits rects that do overlap, so the cost is `O((n + k) log n)` for `n` rects and `k` overlapping pairs. Gaps are
+/// found with a second sweep computing the area covered by the union of the rects.
+///
+/// Coordinates closer than [#epsilon()] are considered equal, so rects that touch or overlap by a rounding error are
+/// not reported.
+///
+/// Note that layouts using spacing have gaps by design, in that case disable the gap check with
+/// [#withGapCheck(boolean)].
+///
+/// Instances are not thread-safe.
+public final class LayoutValidator {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private double epsilon = 1e-9;
+    private int maxReports = 1000;
+    private boolean gapCheck = true;
+
+    // Sweep state
+    private double[] data;
+    private double[] ys;
+    private int ysCount;
+    private int[][] lists;
+    private int[] listSizes;
+    private boolean[] alive;
+    private ValidationReport report;
+
+    // Union state
+    private int[] cover;
+    private boolean[] full;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public LayoutValidator() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /// Delegates to [#validate(RectBuffer, Rect)] without bounds, only empty rects and overlaps are checked.
+    public ValidationReport validate(RectBuffer rects) {
+        return validate(rects, null);
+    }
+
+    /// Checks the given rects, if bounds are given they are also checked for rects exceeding them and, unless disabled,
+    /// for gaps.
+    public ValidationReport validate(RectBuffer rects, Rect bounds) {
+        report = new ValidationReport();
+        data = rects.array();
+        int n = rects.size();
+        int[] ids = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int o = i * RectBuffer.STRIDE;
+            double minX = data[o], minY = data[o + 1], maxX = data[o + 2], maxY = data[o + 3];
+            if (!(maxX - minX > epsilon && maxY - minY > epsilon)) {
+                report.addEmpty(i);
+            } else {
+                ids[count++] = i;
+            }
+            if (bounds != null && (minX < bounds.minX() - epsilon || minY < bounds.minY() - epsilon ||
+                                   maxX > bounds.maxX() + epsilon || maxY > bounds.maxY() + epsilon)) {
+                report.addOutside(i);
+            }
+        }
+
+        findOverlaps(ids, count);
+        if (bounds != null && gapCheck) findGaps(ids, count, bounds);
+
+        ValidationReport result = report;
+        report = null;
+        data = null;
+        lists = null;
+        return result;
+    }
+
+    /// Validates the given rects and throws an [AssertionError] describing the problems, if any. Always returns `true`,
+    /// so that it can be used in an `assert` statement and skipped entirely when assertions are disabled:
+    /// ```java
+    /// assert LayoutValidator.assertValid(results, bounds);
+    /// ```
+    public static boolean assertValid(RectBuffer rects, Rect bounds) {
+        ValidationReport report = new LayoutValidator().validate(rects, bounds);
+        if (!report.isValid()) throw new AssertionError("Invalid layout: " + report);
+        return true;
+    }
+
+    private void findOverlaps(int[] ids, int count) {
+        if (count < 2) return;
+
+        // Compress the y coordinates, the interval tree is built on the segments between them
+        ys = new double[count * 2];
+        for (int i = 0; i < count; i++) {
+            int o = ids[i] * RectBuffer.STRIDE;
+            ys[i * 2] = data[o + 1];
+            ys[i * 2 + 1] = data[o + 3];
+        }
+        ysCount = unique(ys);
+        int segments = ysCount - 1;
+        lists = new int[segments * 4][];
+        listSizes = new int[segments * 4];
+        alive = new boolean[data.length / RectBuffer.STRIDE];
+
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = ids[i];
+        Arrays.sort(order, Comparator.comparingDouble(id -> data[id * RectBuffer.STRIDE]));
+        PriorityQueue<Integer> ends = new PriorityQueue<>(Comparator.comparingDouble(id -> data[id * RectBuffer.STRIDE + 2]));
+        TreeSet<Long> byMinY = new TreeSet<>();
+
+        for (int id : order) {
+            int o = id * RectBuffer.STRIDE;
+            double minX = data[o], minY = data[o + 1], maxY = data[o + 3];
+            while (!ends.isEmpty() && data[ends.peek() * RectBuffer.STRIDE + 2] <= minX + epsilon) {
+                int gone = ends.poll();
+                alive[gone] = false;
+                byMinY.remove(key(gone));
+            }
+
+            // Rects containing minY (plus epsilon)...
+            int segment = upper(minY + epsilon) - 1;
+            if (segment >= 0 && segment < segments && !stab(1, 0, segments, segment, id)) break;
+            // ...and rects starting between minY and maxY
+            int lo = upper(minY + epsilon);
+            int hi = lower(maxY - epsilon);
+            if (lo < hi) {
+                boolean stop = false;
+                for (long k : byMinY.subSet((long) lo << 32, (long) hi << 32)) {
+                    if (!check((int) k, id)) {
+                        stop = true;
+                        break;
+                    }
+                }
+                if (stop) break;
+            }
+
+            alive[id] = true;
+            insert(1, 0, segments, index(minY), index(maxY), id);
+            byMinY.add(key(id));
+            ends.add(id);
+        }
+    }
+
+    /// Visits the nodes from the root to the given segment, checking the rects stored there against the given one.
+    ///
+    /// @return `false` if the maximum number of reports has been reached
+    private boolean stab(int node, int l, int r, int segment, int id) {
+        while (true) {
+            int[] list = lists[node];
+            int size = listSizes[node];
+            for (int i = 0; i < size; ) {
+                int other = list[i];
+                if (!alive[other]) {
+                    list[i] = list[--size];
+                    continue;
+                }
+                if (!check(other, id)) {
+                    listSizes[node] = size;
+                    return false;
+                }
+                i++;
+            }
+            listSizes[node] = size;
+            if (r - l == 1) return true;
+            int mid = (l + r) >>> 1;
+            if (segment < mid) {
+                node = node * 2;
+                r = mid;
+            } else {
+                node = node * 2 + 1;
+                l = mid;
+            }
+        }
+    }
+
+    private void insert(int node, int l, int r, int from, int to, int id) {
+        if (from <= l && r <= to) {
+            int[] list = lists[node];
+            int size = listSizes[node];
+            if (list == null) {
+                list = lists[node] = new int[4];
+            } else if (size == list.length) {
+                list = lists[node] = Arrays.copyOf(list, size * 2);
+            }
+            list[size] = id;
+            listSizes[node] = size + 1;
+            return;
+        }
+        int mid = (l + r) >>> 1;
+        if (from < mid) insert(node * 2, l, mid, from, to, id);
+        if (to > mid) insert(node * 2 + 1, mid, r, from, to, id);
+    }
+
+    /// Reports the given pair if they overlap by more than epsilon on both axes.
+    ///
+    /// @return `false` if the maximum number of reports has been reached
+    private boolean check(int a, int b) {
+        int oa = a * RectBuffer.STRIDE;
+        int ob = b * RectBuffer.STRIDE;
+        double w = Math.min(data[oa + 2], data[ob + 2]) - Math.max(data[oa], data[ob]);
+        double h = Math.min(data[oa + 3], data[ob + 3]) - Math.max(data[oa + 1], data[ob + 1]);
+        if (w > epsilon && h > epsilon) {
+            if (report.overlapCount() == maxReports) {
+                report.setTruncated();
+                return false;
+            }
+            report.addOverlap(a, b);
+        }
+        return true;
+    }
+
+    private void findGaps(int[] ids, int count, Rect bounds) {
+        double bMinX = bounds.minX(), bMinY = bounds.minY(), bMaxX = bounds.maxX(), bMaxY = bounds.maxY();
+        double height = bMaxY - bMinY;
+        if (bMaxX - bMinX <= epsilon || height <= epsilon) return;
+
+        // Rects clipped to the bounds, as minX, minY, maxX, maxY
+        double[] clipped = new double[count * 4];
+        int k = 0;
+        for (int i = 0; i < count; i++) {
+            int o = ids[i] * RectBuffer.STRIDE;
+            double minX = Math.max(data[o], bMinX), minY = Math.max(data[o + 1], bMinY);
+            double maxX = Math.min(data[o + 2], bMaxX), maxY = Math.min(data[o + 3], bMaxY);
+            if (maxX <= minX || maxY <= minY) continue;
+            clipped[k * 4] = minX;
+            clipped[k * 4 + 1] = minY;
+            clipped[k * 4 + 2] = maxX;
+            clipped[k * 4 + 3] = maxY;
+            k++;
+        }
+
+        ys = new double[k * 2 + 2];
+        for (int i = 0; i < k; i++) {
+            ys[i * 2] = clipped[i * 4 + 1];
+            ys[i * 2 + 1] = clipped[i * 4 + 3];
+        }
+        ys[k * 2] = bMinY;
+        ys[k * 2 + 1] = bMaxY;
+        ysCount = unique(ys);
+        int segments = ysCount - 1;
+        cover = new int[segments * 4];
+        full = new boolean[segments * 4];
+        double[] covered = new double[segments * 4];
+
+        // Events: even ones open a rect, odd ones close it
+        Integer[] events = new Integer[k * 2];
+        for (int i = 0; i < k * 2; i++) events[i] = i;
+        double[] finalClipped = clipped;
+        Arrays.sort(events, Comparator.comparingDouble(e -> finalClipped[(e >> 1) * 4 + ((e & 1) == 0 ? 0 : 2)]));
+
+        double area = 0;
+        double prevX = bMinX;
+        Rect sample = null;
+        for (int i = 0; i <= events.length; i++) {
+            double x = i < events.length ? clipped[(events[i] >> 1) * 4 + ((events[i] & 1) == 0 ? 0 : 2)] : bMaxX;
+            double dx = x - prevX;
+            if (dx > 0) {
+                area += covered[1] * dx;
+                if (sample == null && dx > epsilon && height - covered[1] > epsilon) {
+                    int segment = firstUncovered(1, 0, segments);
+                    sample = Rect.of(prevX, ys[segment], x, ys[segment + 1]);
+                }
+                prevX = x;
+            }
+            if (i == events.length) break;
+            int rect = events[i] >> 1;
+            int delta = (events[i] & 1) == 0 ? 1 : -1;
+            update(1, 0, segments, index(clipped[rect * 4 + 1]), index(clipped[rect * 4 + 3]), delta, covered);
+        }
+        report.setGap(Math.max(0, (bMaxX - bMinX) * height - area), sample);
+        cover = null;
+        full = null;
+    }
+
+    private void update(int node, int l, int r, int from, int to, int delta, double[] covered) {
+        if (from <= l && r <= to) {
+            cover[node] += delta;
+        } else {
+            int mid = (l + r) >>> 1;
+            if (from < mid) update(node * 2, l, mid, from, to, delta, covered);
+            if (to > mid) update(node * 2 + 1, mid, r, from, to, delta, covered);
+        }
+        boolean leaf = r - l == 1;
+        if (cover[node] > 0) {
+            covered[node] = ys[r] - ys[l];
+            full[node] = true;
+        } else if (leaf) {
+            covered[node] = 0;
+            full[node] = false;
+        } else {
+            covered[node] = covered[node * 2] + covered[node * 2 + 1];
+            full[node] = full[node * 2] && full[node * 2 + 1];
+        }
+    }
+
+    private int firstUncovered(int node, int l, int r) {
+        while (r - l > 1) {
+            int mid = (l + r) >>> 1;
+            if (!full[node * 2]) {
+                node = node * 2;
+                r = mid;
+            } else {
+                node = node * 2 + 1;
+                l = mid;
+            }
+        }
+        return l;
+    }
+
+    /// Sorts the array and removes duplicates, returns the number of unique values.
+    private static int unique(double[] values) {
+        Arrays.sort(values);
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[count - 1]) values[count++] = values[i];
+        }
+        return count;
+    }
+
+    /// @return the index of the given coordinate, which must be one of the compressed ones
+    private int index(double y) {
+        return Arrays.binarySearch(ys, 0, ysCount, y);
+    }
+
+    /// @return the index of the first compressed coordinate greater than the given value
+    private int upper(double y) {
+        int lo = 0, hi = ysCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ys[mid] <= y) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /// @return the index of the first compressed coordinate greater than or equal to the given value
+    private int lower(double y) {
+        int lo = 0, hi = ysCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ys[mid] < y) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private long key(int id) {
+        return (long) index(data[id * RectBuffer.STRIDE + 1]) << 32 | id;
+    }
+
+    //================================================================================
+    // Getters/Setters
+    //================================================================================
+
+    /// @return the tolerance used when comparing coordinates
+    public double epsilon() {
+        return epsilon;
+    }
+
+    /// Sets the tolerance used when comparing coordinates, by default `1e-9`.
+    public LayoutValidator withEpsilon(double epsilon) {
+        this.epsilon = Math.max(0, epsilon);
+        return this;
+    }
+
+    /// @return the maximum number of overlapping pairs reported
+    public int maxReports() {
+        return maxReports;
+    }
+
+    /// Sets the maximum number of overlapping pairs reported, once reached the search stops and the report is marked as
+    /// truncated. This bounds the cost of validating layouts where everything overlaps everything.
+    public LayoutValidator withMaxReports(int maxReports) {
+        this.maxReports = Math.max(1, maxReports);
+        return this;
+    }
+
+    /// @return whether gaps are checked when bounds are given
+    public boolean gapCheck() {
+        return gapCheck;
+    }
+
+    /// Sets whether gaps are checked when bounds are given, enabled by default.
+    public LayoutValidator withGapCheck(boolean gapCheck) {
+        this.gapCheck = gapCheck;
+        return this;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.rectcut.validation;
+
+import io.github.palexdev.rectcut.Rect;
+
+import java.util.Arrays;
+
+/// The result of [LayoutValidator#validate(io.github.palexdev.rectcut.RectBuffer, Rect)]. Problems are referenced by
+/// the index of the rects in the validated buffer.
+public final class ValidationReport {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private int[] overlaps = new int[16];
+    private int overlapCount = 0;
+    private boolean truncated = false;
+    private int[] empty = new int[8];
+    private int emptyCount = 0;
+    private int[] outside = new int[8];
+    private int outsideCount = 0;
+    private double gapArea = 0;
+    private Rect gapSample;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    ValidationReport() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+    void addOverlap(int a, int b) {
+        if (overlapCount * 2 == overlaps.length) overlaps = Arrays.copyOf(overlaps, overlaps.length * 2);
+        overlaps[overlapCount * 2] = Math.min(a, b);
+        overlaps[overlapCount * 2 + 1] = Math.max(a, b);
+        overlapCount++;
+    }
+
+    void addEmpty(int index) {
+        if (emptyCount == empty.length) empty = Arrays.copyOf(empty, emptyCount * 2);
+        empty[emptyCount++] = index;
+    }
+
+    void addOutside(int index) {
+        if (outsideCount == outside.length) outside = Arrays.copyOf(outside, outsideCount * 2);
+        outside[outsideCount++] = index;
+    }
+
+    void setTruncated() {
+        truncated = true;
+    }
+
+    void setGap(double gapArea, Rect gapSample) {
+        this.gapArea = gapArea;
+        this.gapSample = gapSample;
+    }
+
+    /// @return whether no problem was found
+    public boolean isValid() {
+        return overlapCount == 0 && emptyCount == 0 && outsideCount == 0 && gapSample == null;
+    }
+
+    //================================================================================
+    // Overridden Methods
+    //================================================================================
+    @Override
+    public String toString() {
+        if (isValid()) return "ValidationReport[valid]";
+        StringBuilder sb = new StringBuilder("ValidationReport[");
+        if (overlapCount > 0) {
+            sb.append(overlapCount).append(truncated ? "+" : "").append(" overlaps: ");
+            for (int i = 0; i < Math.min(overlapCount, 10); i++) {
+                if (i > 0) sb.append(", ");
+                sb.append('(').append(overlapA(i)).append(", ").append(overlapB(i)).append(')');
+            }
+            if (overlapCount > 10) sb.append(", ...");
+            sb.append("; ");
+        }
+        if (emptyCount > 0) sb.append(emptyCount).append(" empty: ").append(list(empty, emptyCount)).append("; ");
+        if (outsideCount > 0) sb.append(outsideCount).append(" outside: ").append(list(outside, outsideCount)).append("; ");
+        if (gapSample != null) sb.append("gaps of area ").append(gapArea).append(", e.g. ").append(gapSample).append("; ");
+        sb.setLength(sb.length() - 2);
+        return sb.append(']').toString();
+    }
+
+    private static String list(int[] values, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(count, 10); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(values[i]);
+        }
+        if (count > 10) sb.append(", ...");
+        return sb.toString();
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /// @return the number of overlapping pairs reported
+    public int overlapCount() {
+        return overlapCount;
+    }
+
+    /// @return the smaller index of the overlapping pair at the given position
+    public int overlapA(int i) {
+        return overlaps[i * 2];
+    }
+
+    /// @return the bigger index of the overlapping pair at the given position
+    public int overlapB(int i) {
+        return overlaps[i * 2 + 1];
+    }
+
+    /// @return whether the search for overlaps stopped because [LayoutValidator#maxReports()] was reached
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /// @return the number of rects with no area
+    public int emptyCount() {
+        return emptyCount;
+    }
+
+    /// @return the index of the empty rect at the given position
+    public int empty(int i) {
+        return empty[i];
+    }
+
+    /// @return the number of rects exceeding the validated area
+    public int outsideCount() {
+        return outsideCount;
+    }
+
+    /// @return the index of the rect exceeding the validated area at the given position
+    public int outside(int i) {
+        return outside[i];
+    }
+
+    /// @return the area of the validated bounds not covered by any rect, `0` if gaps were not checked
+    public double gapArea() {
+        return gapArea;
+    }
+
+    /// @return one of the uncovered regions, useful to locate gaps, `null` if there are no gaps or they were not checked
+    public Rect gapSample() {
+        return gapSample;
+    }
+}
@@ -1,3 +1,16 @@
 module rectcut {
     exports io.github.palexdev.rectcut;
-}
\ No newline at end of file
+    exports io.github.palexdev.rectcut.concurrent;
+    exports io.github.palexdev.rectcut.damage;
+    exports io.github.palexdev.rectcut.flex;
+    exports io.github.palexdev.rectcut.flow;
+    exports io.github.palexdev.rectcut.intern;
+    exports io.github.palexdev.rectcut.packing;
+    exports io.github.palexdev.rectcut.pagination;
+    exports io.github.palexdev.rectcut.plan;
+    exports io.github.palexdev.rectcut.profile;
+    exports io.github.palexdev.rectcut.stream;
+    exports io.github.palexdev.rectcut.tree;
+    exports io.github.palexdev.rectcut.treemap;
+    exports io.github.palexdev.rectcut.validation;
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.SizeCache;
+import io.github.palexdev.rectcut.concurrent.DoubleBufferedLayout;
+import io.github.palexdev.rectcut.damage.DamageCalculator;
+import io.github.palexdev.rectcut.flex.FlexSolver;
+import io.github.palexdev.rectcut.flow.FlowLayout;
+import io.github.palexdev.rectcut.intern.SizeInterner;
+import io.github.palexdev.rectcut.packing.GuillotinePacker;
+import io.github.palexdev.rectcut.plan.Amount;
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import io.github.palexdev.rectcut.stream.StreamingRows;
+import io.github.palexdev.rectcut.tree.LayoutNode;
+import io.github.palexdev.rectcut.tree.LayoutTree;
+import io.github.palexdev.rectcut.treemap.Treemap;
+import io.github.palexdev.rectcut.treemap.WeightedTree;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/// Allocation regression gate: every API documented as allocation-free is run for many passes, and the bytes allocated
+/// by the test thread are compared against a per-pass budget. Passes are warmed up first, so that lazily grown arrays
+/// and class initialization are not counted.
+public class AllocationGateTests {
+    private static final int WARMUP = 5_000;
+    private static final int PASSES = 20_000;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static long overhead;
+
+    @BeforeAll
+    static void setup() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        // Whatever the measurement itself allocates
+        Runnable empty = () -> {};
+        overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) overhead = Math.min(overhead, allocated(empty, 1));
+    }
+
+    @Test
+    void testLayoutPlan() {
+        LayoutPlan plan = LayoutPlan.builder()
+            .cut(LayoutPlan.ROOT, RectSide.TOP, Amount.of(40), "top")
+            .cut(LayoutPlan.ROOT, RectSide.BOTTOM, Amount.percent(10), "bottom")
+            .cut(LayoutPlan.ROOT, RectSide.LEFT, Amount.param("side"), "side")
+            .insets("side", 4, 4, 4, 4)
+            .cut("side", RectSide.TOP, Amount.of(20), "item")
+            .get("top", RectSide.RIGHT, Amount.of(50), "menu")
+            .middleH("top", Amount.of(200), "title")
+            .rest(LayoutPlan.ROOT, "content")
+            .build();
+        Rect bounds = Rect.of(0, 0, 1280, 720).withHSpacing(4).withVSpacing(4);
+        double[] params = {240};
+        RectBuffer out = new RectBuffer(plan.size());
+        assertBudget("LayoutPlan.layout", 0, () -> plan.layout(bounds, params, out));
+    }
+
+    @Test
+    void testLayoutTree() {
+        LayoutNode root = LayoutNode.fill("root").withInsets(8);
+        for (int i = 0; i < 20; i++) {
+            LayoutNode card = LayoutNode.cut(null, i % 2 == 0 ? RectSide.TOP : RectSide.LEFT, 30).withVSpacing(2);
+            for (int j = 0; j < 5; j++) card.add(LayoutNode.cut(null, RectSide.values()[j % 4], 4));
+            root.add(card.add(LayoutNode.fill(null)));
+        }
+        LayoutTree tree = LayoutTree.of(root).withPool(null);
+        Rect bounds = Rect.of(0, 0, 1920, 1080);
+        RectBuffer out = new RectBuffer(tree.size());
+        assertBudget("LayoutTree.layout", 0, () -> tree.layout(bounds, out));
+    }
+
+    @Test
+    void testFlexSolver() {
+        FlexSolver solver = new FlexSolver();
+        Random random = new Random(1);
+        for (int i = 0; i < 64; i++) {
+            solver.add(10, 20 + random.nextInt(50), 120, random.nextInt(3), 1);
+        }
+        double[] available = {800, 2400, 4000};
+        int[] pass = {0};
+        assertBudget("FlexSolver.solve", 0, () -> solver.solve(available[pass[0]++ % available.length]));
+    }
+
+    @Test
+    void testFlowLayout() {
+        Random random = new Random(2);
+        double[] sizes = new double[1000];
+        for (int i = 0; i < sizes.length; i++) sizes[i] = 10 + random.nextInt(60);
+        Rect area = Rect.of(0, 0, 800, 10_000).withHSpacing(4).withVSpacing(4);
+        FlowLayout flow = new FlowLayout();
+        RectBuffer items = new RectBuffer(sizes.length / 2);
+        RectBuffer lines = new RectBuffer(sizes.length / 2);
+        assertBudget("FlowLayout.layout", 0, () -> flow.layout(sizes, area, items, lines));
+    }
+
+    @Test
+    void testTreemap() {
+        Random random = new Random(3);
+        WeightedTree.Builder builder = WeightedTree.builder();
+        for (int i = 1; i < 2000; i++) {
+            int parent = random.nextInt(Math.min(i, 40));
+            builder.add(parent, i < 40 ? 0 : 1 + random.nextInt(100));
+        }
+        WeightedTree tree = builder.build();
+        Rect bounds = Rect.of(0, 0, 1920, 1080);
+        RectBuffer out = new RectBuffer(tree.size());
+        Treemap squarified = Treemap.squarified().withPool(null);
+        Treemap sliceAndDice = Treemap.sliceAndDice().withPool(null);
+        assertBudget("Treemap.layout(SQUARIFIED)", 0, () -> squarified.layout(tree, bounds, out));
+        assertBudget("Treemap.layout(SLICE_AND_DICE)", 0, () -> sliceAndDice.layout(tree, bounds, out));
+    }
+
+    @Test
+    void testGuillotinePacker() {
+        Random random = new Random(4);
+        double[] sizes = new double[200];
+        for (int i = 0; i < sizes.length; i++) sizes[i] = 8 + random.nextInt(64);
+        GuillotinePacker packer = GuillotinePacker.of(Rect.of(0, 0, 512, 512));
+        RectBuffer out = new RectBuffer(sizes.length / 2);
+        int[] bins = new int[sizes.length / 2];
+        assertBudget("GuillotinePacker.insertAll", 0, () -> packer.reset().insertAll(sizes, out.clear(), bins));
+    }
+
+    @Test
+    void testDamageCalculator() {
+        Random random = new Random(5);
+        RectBuffer before = new RectBuffer(500);
+        RectBuffer after = new RectBuffer(500);
+        for (int i = 0; i < 500; i++) {
+            double x = random.nextInt(1000), y = random.nextInt(1000);
+            before.add(x, y, x + 20, y + 20);
+            if (i % 10 == 0) x += 5;
+            after.add(x, y, x + 20, y + 20);
+        }
+        DamageCalculator damage = new DamageCalculator();
+        RectBuffer out = new RectBuffer();
+        assertBudget("DamageCalculator.compute", 0, () -> damage.compute(before, after, out));
+    }
+
+    @Test
+    void testRectBufferTransforms() {
+        RectBuffer base = new RectBuffer(1000);
+        for (int i = 0; i < 1000; i++) base.add(0, i * 20, 400, i * 20 + 18);
+        RectBuffer view = new RectBuffer(1000);
+        int[] pass = {0};
+        assertBudget("RectBuffer.transformTo", 0, () -> {
+            double scroll = pass[0]++ % 500;
+            base.transformTo(view, 1.25, 1.25, 0, -scroll, 1.5);
+            view.translate(2, 2).scale(0.5, 0.5).snap(2);
+        });
+    }
+
+    @Test
+    void testStreamingRows() {
+        StreamingRows rows = new StreamingRows(Rect.of(0, 0, 400, 1e9).withVSpacing(2));
+        for (int i = 0; i < 10_000; i++) rows.append(10 + i % 30);
+        RectBuffer out = new RectBuffer(64);
+        int[] pass = {0};
+        assertBudget("StreamingRows queries", 0, () -> {
+            int i = (pass[0]++ * 31) % rows.count();
+            rows.setHeight(i, 10 + pass[0] % 30);
+            double top = rows.offset(i);
+            rows.visible(top, top + 600, out);
+            rows.indexAt(top + 5);
+        });
+    }
+
+    @Test
+    void testDoubleBufferedLayout() {
+        DoubleBufferedLayout layout = new DoubleBufferedLayout(64);
+        assertBudget("DoubleBufferedLayout publish/front", 0, () -> {
+            RectBuffer back = layout.back().clear();
+            for (int i = 0; i < 64; i++) back.add(i, i, i + 10, i + 10);
+            layout.publish();
+            layout.front();
+        });
+    }
+
+    @Test
+    void testSizeInterner() {
+        SizeInterner interner = new SizeInterner(256);
+        int[] pass = {0};
+        assertBudget("SizeInterner hits", 0, () -> {
+            int i = pass[0]++;
+            interner.intern(10 + i % 16, 20);
+        });
+    }
+
+    @Test
+    void testSizeCache() {
+        SizeCache<Object> cache = new SizeCache<>(o -> 40, o -> 20);
+        Object[] targets = new Object[64];
+        for (int i = 0; i < targets.length; i++) targets[i] = new Object();
+        assertBudget("SizeCache queries", 0, () -> {
+            cache.beginPass();
+            for (Object t : targets) {
+                cache.width(t);
+                cache.height(t);
+            }
+        });
+    }
+
+    private static void assertBudget(String api, long bytesPerPass, Runnable pass) {
+        for (int i = 0; i < WARMUP; i++) pass.run();
+        // The best of a few attempts, so that a stray allocation from the JIT or the test framework does not fail it
+        long best = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < 3 && best > bytesPerPass * PASSES; attempt++) {
+            best = Math.min(best, allocated(pass, PASSES) - overhead);
+        }
+        double perPass = (double) best / PASSES;
+        assertTrue(
+            perPass <= bytesPerPass,
+            String.format("%s allocated %.2f bytes per pass, budget is %d", api, perPass, bytesPerPass)
+        );
+    }
+
+    private static long allocated(Runnable pass, int passes) {
+        long id = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < passes; i++) pass.run();
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+}
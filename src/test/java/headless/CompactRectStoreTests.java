@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.intern.CompactRectStore;
+import io.github.palexdev.rectcut.intern.InternedRect;
+import io.github.palexdev.rectcut.intern.RectSize;
+import io.github.palexdev.rectcut.intern.SizeInterner;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactRectStoreTests {
+
+    @Test
+    void testInterner() {
+        SizeInterner interner = new SizeInterner(16);
+        RectSize a = interner.intern(100, 40);
+        assertSame(a, interner.intern(100, 40));
+        assertNotSame(a, interner.intern(40, 100));
+        assertEquals(1, interner.hits());
+        assertEquals(16, interner.capacity());
+
+        // Bounded: many distinct sizes do not grow the cache, evicted sizes are still equal to new ones
+        for (int i = 0; i < 10_000; i++) interner.intern(i, i);
+        RectSize b = interner.intern(100, 40);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(16, interner.capacity());
+    }
+
+    @Test
+    void testStore() {
+        RectBuffer grid = new RectBuffer();
+        Rect area = Rect.of(0, 0, 1000, 1000);
+        for (int r = 0; r < 10; r++) {
+            Rect row = area.cutTop(100);
+            for (int c = 0; c < 10; c++) grid.add(row.cutLeft(100));
+        }
+        grid.add(0, 0, 1000, 50);
+
+        CompactRectStore store = new CompactRectStore().addAll(grid);
+        assertEquals(101, store.count());
+        assertEquals(2, store.distinctSizes());
+        assertSame(store.size(0), store.size(99));
+        for (int i = 0; i < grid.size(); i++) {
+            assertEquals(grid.rect(i), store.get(i).toRect());
+            assertEquals(grid.maxX(i), store.maxX(i));
+        }
+
+        InternedRect cell = store.get(11);
+        assertEquals(InternedRect.of(grid.rect(11), new SizeInterner()), cell);
+        assertTrue(cell.contains(100, 100));
+        assertFalse(cell.contains(200, 100));
+
+        assertEquals(100, store.indexAt(10, 10));
+        assertEquals(55, store.indexAt(550, 550));
+        assertEquals(-1, store.indexAt(1000, 10));
+
+        store.trimToSize();
+        assertEquals(101 * 20, store.footprint());
+        store.clear();
+        assertEquals(0, store.count());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(0));
+    }
+
+    @Test
+    void testSameAsInternedRect() {
+        SizeInterner interner = new SizeInterner();
+        CompactRectStore store = new CompactRectStore(interner, 4);
+        Rect[] rects = {Rect.of(0, 0, 10, 20), Rect.of(5, 5, 2, 20), Rect.of(5, 5, 20, -10), Rect.of(3, 3, 3, 3)};
+        for (Rect rect : rects) {
+            InternedRect expected = InternedRect.of(rect, interner);
+            int i = store.add(rect);
+            assertEquals(expected, store.get(i));
+            assertSame(expected.size(), store.size(i));
+            assertEquals(expected.maxX(), store.maxX(i));
+            assertEquals(expected.maxY(), store.maxY(i));
+        }
+        // Inverted rects are empty, like Rect's sizes
+        assertEquals(0, store.size(1).width());
+        assertEquals(0, store.size(2).height());
+        assertEquals(5, store.maxX(1));
+        // Empty regions contain no point
+        assertEquals(0, store.indexAt(5, 5));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.concurrent.ConcurrentCarver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentCarverTests {
+
+    @Test
+    void testMatchesRect() {
+        Random random = new Random(3);
+        Rect rect = Rect.of(10, 20, 310, 1020).withVSpacing(2);
+        ConcurrentCarver carver = ConcurrentCarver.vertical(rect);
+        while (rect.height() > 0) {
+            RectSide side = random.nextBoolean() ? RectSide.TOP : RectSide.BOTTOM;
+            double amount = random.nextInt(40);
+            assertEquals(rect.cut(side, amount), carver.cut(side, amount));
+            assertEquals(rect, carver.remaining());
+        }
+        // Exhausted, both keep returning the same degenerate slices
+        assertEquals(rect.cutTop(10), carver.cutTop(10));
+        assertNull(carver.claim(RectSide.TOP, 10));
+        assertTrue(carver.isExhausted());
+
+        carver.reset();
+        assertEquals(Rect.of(10, 20, 310, 1020), carver.remaining());
+        assertThrows(IllegalArgumentException.class, () -> carver.cutLeft(10));
+    }
+
+    @Test
+    void testConcurrentClaims() throws InterruptedException {
+        ConcurrentCarver carver = ConcurrentCarver.horizontal(
+            Rect.of(0, 0, 100_000, 100).withHSpacing(1)
+        );
+        int threads = 8;
+        List<List<Rect>> claimed = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<Rect> mine = new ArrayList<>();
+            claimed.add(mine);
+            RectSide side = t % 2 == 0 ? RectSide.LEFT : RectSide.RIGHT;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                Rect slice;
+                while ((slice = carver.claim(side, 7)) != null) mine.add(slice);
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+
+        List<Rect> all = new ArrayList<>();
+        claimed.forEach(all::addAll);
+        all.sort(Comparator.comparingDouble(Rect::minX));
+        double covered = 0;
+        for (int i = 0; i < all.size(); i++) {
+            Rect slice = all.get(i);
+            covered += slice.width();
+            if (i > 0) assertTrue(all.get(i - 1).maxX() <= slice.minX(), "Slices overlap");
+        }
+        // Each slice but the last one is followed by 1px of spacing
+        assertEquals(100_000, covered + all.size() - 1, 1);
+        assertTrue(carver.isExhausted());
+    }
+}
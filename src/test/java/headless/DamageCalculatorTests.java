@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.damage.DamageCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DamageCalculatorTests {
+
+    @Test
+    void testNoDamage() {
+        DamageCalculator calculator = new DamageCalculator();
+        RectBuffer before = buffer(Rect.of(0, 0, 10, 10), Rect.of(20, 0, 30, 10));
+        RectBuffer after = new RectBuffer().copyFrom(before);
+        RectBuffer out = buffer(Rect.of(1, 1, 2, 2));
+        assertEquals(0, calculator.compute(before, after, out));
+        assertTrue(out.isEmpty());
+
+        // Small changes within the epsilon are ignored
+        after.set(1, 20.25, 0, 30, 10.25);
+        assertEquals(2, calculator.compute(before, after, out));
+        assertEquals(0, calculator.withEpsilon(0.5).compute(before, after, out));
+
+        // Empty areas never produce damage
+        assertEquals(0, new DamageCalculator().compute(buffer(Rect.of(0, 0, 0, 10)), buffer(Rect.of(5, 5, 5, 5)), out));
+    }
+
+    @Test
+    void testMoved() {
+        DamageCalculator calculator = new DamageCalculator();
+        RectBuffer out = new RectBuffer();
+
+        // Far apart, both the old and new bounds are damaged
+        assertEquals(2, calculator.compute(buffer(Rect.of(0, 0, 10, 10)), buffer(Rect.of(100, 100, 110, 110)), out));
+        assertEquals(List.of(Rect.of(0, 0, 10, 10), Rect.of(100, 100, 110, 110)), rects(out));
+
+        // Overlapping and adjacent areas become a single region, as it covers no extra area
+        assertEquals(1, calculator.compute(buffer(Rect.of(0, 0, 10, 10)), buffer(Rect.of(5, 0, 15, 10)), out));
+        assertEquals(Rect.of(0, 0, 15, 10), out.rect(0));
+        assertEquals(1, calculator.compute(buffer(Rect.of(0, 0, 10, 10)), buffer(Rect.of(0, 10, 10, 20)), out));
+        assertEquals(Rect.of(0, 0, 10, 20), out.rect(0));
+
+        // Unchanged areas are left out
+        RectBuffer before = buffer(Rect.of(0, 0, 10, 10), Rect.of(50, 50, 60, 60), Rect.of(200, 0, 210, 10));
+        RectBuffer after = buffer(Rect.of(0, 0, 10, 10), Rect.of(50, 60, 60, 70), Rect.of(200, 0, 210, 10));
+        assertEquals(1, calculator.compute(before, after, out));
+        assertEquals(Rect.of(50, 50, 60, 70), out.rect(0));
+    }
+
+    @Test
+    void testAddedAndRemoved() {
+        DamageCalculator calculator = new DamageCalculator();
+        RectBuffer out = new RectBuffer();
+        RectBuffer small = buffer(Rect.of(0, 0, 10, 10));
+        RectBuffer large = buffer(Rect.of(0, 0, 10, 10), Rect.of(50, 0, 60, 10), Rect.of(0, 50, 10, 60));
+
+        assertEquals(2, calculator.compute(small, large, out));
+        assertEquals(List.of(Rect.of(50, 0, 60, 10), Rect.of(0, 50, 10, 60)), rects(out));
+        assertEquals(2, calculator.compute(large, small, out));
+        assertEquals(List.of(Rect.of(50, 0, 60, 10), Rect.of(0, 50, 10, 60)), rects(out));
+        assertEquals(3, calculator.compute(new RectBuffer(), large, out));
+        assertEquals(0, calculator.compute(new RectBuffer(), new RectBuffer(), out));
+    }
+
+    @Test
+    void testMaxRegions() {
+        RectBuffer before = new RectBuffer();
+        RectBuffer after = new RectBuffer();
+        for (int i = 0; i < 5; i++) {
+            before.add(i * 100, 0, i * 100 + 10, 10);
+            after.add(i * 100, 20, i * 100 + 10, 30);
+        }
+        RectBuffer out = new RectBuffer();
+        DamageCalculator calculator = new DamageCalculator();
+        assertEquals(8, calculator.compute(before, after, out));
+        assertCovered(before, out);
+        assertCovered(after, out);
+        assertEquals(10, calculator.withMaxRegions(10).compute(before, after, out));
+        assertCovered(before, out);
+        assertCovered(after, out);
+
+        // The cheapest pairs are merged first, so each region still covers neighbouring areas only
+        assertEquals(3, calculator.withMaxRegions(3).compute(before, after, out));
+        assertCovered(before, out);
+        assertCovered(after, out);
+        assertEquals(1, calculator.withMaxRegions(1).compute(before, after, out));
+        assertEquals(Rect.of(0, 0, 410, 30), out.rect(0));
+        assertThrows(IllegalArgumentException.class, () -> calculator.withMaxRegions(0));
+    }
+
+    @Test
+    void testManyChanges() {
+        // More changes than the merge input limit go through the coarse grid first
+        RectBuffer before = new RectBuffer();
+        RectBuffer after = new RectBuffer();
+        for (int r = 0; r < 30; r++) {
+            for (int c = 0; c < 30; c++) {
+                before.add(c * 20, r * 20, c * 20 + 10, r * 20 + 10);
+                after.add(c * 20 + 5, r * 20, c * 20 + 15, r * 20 + 10);
+            }
+        }
+        RectBuffer out = new RectBuffer();
+        int regions = new DamageCalculator().withMaxRegions(4).compute(before, after, out);
+        assertTrue(regions >= 1 && regions <= 4, "Regions: " + regions);
+        assertEquals(regions, out.size());
+        assertCovered(before, out);
+        assertCovered(after, out);
+    }
+
+    static RectBuffer buffer(Rect... rects) {
+        RectBuffer buffer = new RectBuffer();
+        for (Rect rect : rects) buffer.add(rect);
+        return buffer;
+    }
+
+    static List<Rect> rects(RectBuffer buffer) {
+        List<Rect> rects = new ArrayList<>();
+        for (int i = 0; i < buffer.size(); i++) rects.add(buffer.rect(i));
+        rects.sort((a, b) -> a.minY() != b.minY() ? Double.compare(a.minY(), b.minY()) : Double.compare(a.minX(), b.minX()));
+        return rects;
+    }
+
+    /// Every damaged area must be contained in one of the regions, since regions are unions of damaged areas.
+    static void assertCovered(RectBuffer damaged, RectBuffer regions) {
+        for (int i = 0; i < damaged.size(); i++) {
+            boolean covered = false;
+            for (int j = 0; j < regions.size() && !covered; j++) {
+                covered = regions.minX(j) <= damaged.minX(i) && regions.minY(j) <= damaged.minY(i) &&
+                          regions.maxX(j) >= damaged.maxX(i) && regions.maxY(j) >= damaged.maxY(i);
+            }
+            assertTrue(covered, "Not covered: " + damaged.rect(i));
+        }
+    }
+}
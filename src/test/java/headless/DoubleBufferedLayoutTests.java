@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.concurrent.DoubleBufferedLayout;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoubleBufferedLayoutTests {
+
+    @Test
+    void testPublishAndRead() {
+        DoubleBufferedLayout layout = new DoubleBufferedLayout();
+        assertTrue(layout.front().isEmpty());
+        assertEquals(0, layout.frontGeneration());
+        assertFalse(layout.hasNewer());
+
+        layout.back().clear().add(0, 0, 10, 10);
+        assertEquals(1, layout.publish());
+        assertTrue(layout.hasNewer());
+
+        RectBuffer front = layout.front();
+        assertEquals(1, front.size());
+        assertEquals(10, front.width(0));
+        assertEquals(1, layout.frontGeneration());
+        assertFalse(layout.hasNewer());
+
+        // Intermediate passes are skipped, the consumer always gets the latest
+        layout.back().clear().add(0, 0, 20, 20);
+        layout.publish();
+        layout.back().clear().add(0, 0, 30, 30);
+        layout.publish();
+        assertEquals(30, layout.front().width(0));
+        assertEquals(3, layout.frontGeneration());
+        assertEquals(3, layout.latestGeneration());
+
+        // Reading again without new passes returns the same buffer
+        assertSame(layout.front(), layout.front());
+    }
+
+    @Test
+    void testConsistentSnapshots() throws InterruptedException {
+        DoubleBufferedLayout layout = new DoubleBufferedLayout();
+        int passes = 200_000;
+        int rects = 32;
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread producer = new Thread(() -> {
+            for (int p = 1; p <= passes; p++) {
+                RectBuffer back = layout.back().clear();
+                for (int i = 0; i < rects; i++) back.add(p, p, p + i, p + i);
+                layout.publish();
+            }
+            done.set(true);
+        });
+        producer.start();
+
+        long last = 0;
+        while (true) {
+            boolean finished = done.get();
+            RectBuffer front = layout.front();
+            long gen = layout.frontGeneration();
+            assertTrue(gen >= last, "Generations must not go backwards");
+            if (gen > 0) {
+                // Every rect of a snapshot must belong to the same pass
+                assertEquals(rects, front.size());
+                for (int i = 0; i < rects; i++) {
+                    assertEquals(gen, front.minX(i));
+                    assertEquals(gen + i, front.maxY(i));
+                }
+            }
+            last = gen;
+            if (finished) break;
+        }
+        producer.join();
+        assertEquals(passes, layout.front().minX(0));
+        assertEquals(passes, layout.frontGeneration());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.flex.FlexSolver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlexSolverTests {
+
+    @Test
+    void testNoChildren() {
+        FlexSolver solver = new FlexSolver();
+        assertEquals(0.0, solver.solve(100.0));
+        assertEquals(0, solver.count());
+        assertEquals(0, solver.cut(Rect.of(0, 0, 100, 100), RectSide.LEFT, new RectBuffer()).size());
+    }
+
+    @Test
+    void testExactFit() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(0, 40, 100, 1, 1);
+        solver.add(0, 60, 100, 1, 1);
+        assertEquals(100.0, solver.solve(100.0));
+        assertEquals(40.0, solver.size(0));
+        assertEquals(60.0, solver.size(1));
+    }
+
+    @Test
+    void testGrowProportionally() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(0, 10, Double.MAX_VALUE, 1, 1);
+        solver.add(0, 10, Double.MAX_VALUE, 3, 1);
+        solver.solve(100.0);
+        assertEquals(30.0, solver.size(0));
+        assertEquals(70.0, solver.size(1));
+    }
+
+    @Test
+    void testGrowRedistributesWhenMaxReached() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(0, 10, 20, 1, 1);
+        solver.add(0, 10, Double.MAX_VALUE, 1, 1);
+        solver.add(0, 10, Double.MAX_VALUE, 1, 1);
+        assertEquals(100.0, solver.solve(100.0));
+        assertEquals(20.0, solver.size(0));
+        assertEquals(40.0, solver.size(1));
+        assertEquals(40.0, solver.size(2));
+        assertTrue(solver.rounds() <= 3);
+    }
+
+    @Test
+    void testShrinkProportionallyToPrefSize() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(0, 100, 100, 0, 1);
+        solver.add(0, 300, 300, 0, 1);
+        solver.solve(200.0);
+        assertEquals(50.0, solver.size(0));
+        assertEquals(150.0, solver.size(1));
+    }
+
+    @Test
+    void testShrinkRedistributesWhenMinReached() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(90, 100, 100, 0, 1);
+        solver.add(0, 100, 100, 0, 1);
+        assertEquals(120.0, solver.solve(120.0));
+        assertEquals(90.0, solver.size(0));
+        assertEquals(30.0, solver.size(1));
+    }
+
+    @Test
+    void testInflexibleChildrenKeepPrefSize() {
+        FlexSolver solver = new FlexSolver();
+        solver.addFixed(0, 50, 100);
+        solver.add(0, 50, 500, 1, 1);
+        solver.solve(400.0);
+        assertEquals(50.0, solver.size(0));
+        assertEquals(350.0, solver.size(1));
+
+        // Nothing can grow, the free space stays free
+        solver.clear();
+        solver.addFixed(0, 50, 100);
+        solver.addFixed(0, 70, 100);
+        assertEquals(120.0, solver.solve(400.0));
+    }
+
+    @Test
+    void testOverConstrained() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(80, 100, 100, 1, 1);
+        solver.add(80, 100, 100, 1, 1);
+        // Mins cannot be violated, the result overflows
+        assertEquals(160.0, solver.solve(100.0));
+        assertEquals(80.0, solver.size(0));
+        assertEquals(80.0, solver.size(1));
+
+        // Maxs cannot be violated either, the result underflows
+        assertEquals(200.0, solver.solve(1000.0));
+    }
+
+    @Test
+    void testNegativeAndZeroSpace() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(10, 50, 100, 1, 1);
+        solver.add(0, 50, 100, 1, 1);
+        assertEquals(10.0, solver.solve(-50.0));
+        assertEquals(10.0, solver.size(0));
+        assertEquals(0.0, solver.size(1));
+
+        assertEquals(10.0, solver.solve(0.0));
+    }
+
+    @Test
+    void testMinGreaterThanMax() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(60, 10, 20, 1, 1);
+        solver.solve(100.0);
+        assertEquals(60.0, solver.size(0));
+    }
+
+    @Test
+    void testZeroPrefSizesCannotShrink() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(0, 0, 100, 1, 1);
+        solver.add(0, 0, 100, 1, 1);
+        assertEquals(0.0, solver.solve(-10.0));
+    }
+
+    @Test
+    void testCutWithSpacing() {
+        FlexSolver solver = new FlexSolver();
+        solver.add(0, 10, Double.MAX_VALUE, 1, 1);
+        solver.add(0, 10, Double.MAX_VALUE, 1, 1);
+        solver.add(0, 10, Double.MAX_VALUE, 1, 1);
+
+        Rect area = Rect.of(0, 0, 110, 20).withHSpacing(10.0);
+        RectBuffer out = solver.cut(area, RectSide.LEFT, new RectBuffer());
+        assertEquals(3, out.size());
+        assertEquals(Rect.of(0, 0, 30, 20), out.rect(0));
+        assertEquals(Rect.of(40, 0, 70, 20), out.rect(1));
+        assertEquals(Rect.of(80, 0, 110, 20), out.rect(2));
+
+        // Cutting from the opposite side reverses the order
+        area = Rect.of(0, 0, 20, 110).withVSpacing(10.0);
+        solver.cut(area, RectSide.BOTTOM, out);
+        assertEquals(Rect.of(0, 80, 20, 110), out.rect(0));
+        assertEquals(Rect.of(0, 0, 20, 30), out.rect(2));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.flow.FlowAlignment;
+import io.github.palexdev.rectcut.flow.FlowLayout;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlowLayoutTests {
+
+    @Test
+    void testWrap() {
+        Rect area = Rect.of(0, 0, 100, 500).withHSpacing(10).withVSpacing(5);
+        double[] sizes = {30, 10, 30, 20, 30, 10, 50, 10};
+        RectBuffer items = new RectBuffer();
+        RectBuffer lines = new RectBuffer();
+        FlowLayout flow = new FlowLayout();
+
+        // The third item would need 110 with the spacing, so it goes on a new line, after the first line's height
+        assertEquals(35, flow.layout(sizes, area, items, lines));
+        assertEquals(2, flow.lineCount());
+        assertEquals(4, items.size());
+        assertEquals(Rect.of(0, 0, 30, 10), items.rect(0));
+        assertEquals(Rect.of(40, 0, 70, 20), items.rect(1));
+        assertEquals(Rect.of(0, 25, 30, 35), items.rect(2));
+        assertEquals(Rect.of(40, 25, 90, 35), items.rect(3));
+        assertEquals(2, lines.size());
+        assertEquals(Rect.of(0, 0, 70, 20), lines.rect(0));
+        assertEquals(Rect.of(0, 25, 90, 35), lines.rect(1));
+        // The area is not modified
+        assertEquals(Rect.of(0, 0, 100, 500), area);
+
+        // Items filling the line exactly don't wrap
+        assertEquals(10, flow.layout(new double[]{45, 10, 45, 10}, area, items, lines));
+        assertEquals(1, flow.lineCount());
+        assertEquals(Rect.of(0, 0, 100, 10), lines.rect(0));
+
+        // Positions are relative to the area, and the lines buffer is optional
+        Rect moved = Rect.of(50, 100, 150, 600).withHSpacing(10).withVSpacing(5);
+        assertEquals(35, flow.layout(sizes, moved, items, null));
+        assertEquals(Rect.of(90, 125, 140, 135), items.rect(3));
+    }
+
+    @Test
+    void testAlignment() {
+        Rect area = Rect.of(0, 0, 100, 500).withHSpacing(10).withVSpacing(5);
+        double[] sizes = {30, 10, 30, 20, 30, 10, 50, 10};
+        RectBuffer items = new RectBuffer();
+        RectBuffer lines = new RectBuffer();
+        FlowLayout flow = new FlowLayout();
+
+        flow.withAlignment(FlowAlignment.CENTER).layout(sizes, area, items, lines);
+        assertEquals(Rect.of(15, 0, 85, 20), lines.rect(0));
+        assertEquals(Rect.of(5, 25, 95, 35), lines.rect(1));
+        assertEquals(Rect.of(15, 0, 45, 10), items.rect(0));
+        assertEquals(Rect.of(55, 0, 85, 20), items.rect(1));
+
+        flow.withAlignment(FlowAlignment.END).layout(sizes, area, items, lines);
+        assertEquals(Rect.of(30, 0, 100, 20), lines.rect(0));
+        assertEquals(Rect.of(10, 25, 100, 35), lines.rect(1));
+        assertEquals(Rect.of(50, 25, 100, 35), items.rect(3));
+
+        // Line alignment only moves items shorter than their line
+        flow.withAlignment(FlowAlignment.START);
+        flow.withLineAlignment(FlowAlignment.START).layout(sizes, area, items, lines);
+        assertEquals(Rect.of(0, 0, 30, 10), items.rect(0));
+        flow.withLineAlignment(FlowAlignment.CENTER).layout(sizes, area, items, lines);
+        assertEquals(Rect.of(0, 5, 30, 15), items.rect(0));
+        assertEquals(Rect.of(40, 0, 70, 20), items.rect(1));
+        assertEquals(Rect.of(0, 25, 30, 35), items.rect(2));
+        flow.withLineAlignment(FlowAlignment.END).layout(sizes, area, items, lines);
+        assertEquals(Rect.of(0, 10, 30, 20), items.rect(0));
+        assertEquals(Rect.of(40, 0, 70, 20), items.rect(1));
+    }
+
+    @Test
+    void testWideItems() {
+        Rect area = Rect.of(0, 0, 100, 500).withHSpacing(10).withVSpacing(5);
+        RectBuffer items = new RectBuffer();
+        RectBuffer lines = new RectBuffer();
+        FlowLayout flow = new FlowLayout().withAlignment(FlowAlignment.CENTER);
+
+        // Items wider than the area get a line of their own, and are never moved before the area's start
+        assertEquals(40, flow.layout(new double[]{30, 10, 150, 10, 20, 10}, area, items, lines));
+        assertEquals(3, flow.lineCount());
+        assertEquals(Rect.of(35, 0, 65, 10), items.rect(0));
+        assertEquals(Rect.of(0, 15, 150, 25), items.rect(1));
+        assertEquals(Rect.of(40, 30, 60, 40), items.rect(2));
+        assertEquals(Rect.of(0, 15, 150, 25), lines.rect(1));
+
+        assertEquals(10, flow.layout(new double[]{150, 10}, area, items, lines));
+        assertEquals(1, flow.lineCount());
+        assertEquals(Rect.of(0, 0, 150, 10), items.rect(0));
+    }
+
+    @Test
+    void testEmpty() {
+        Rect area = Rect.of(0, 0, 100, 500);
+        RectBuffer items = new RectBuffer();
+        RectBuffer lines = new RectBuffer();
+        FlowLayout flow = new FlowLayout();
+        flow.layout(new double[]{30, 10, 30, 10}, area, items, lines);
+
+        // Stale results are discarded
+        assertEquals(0, flow.layout(new double[0], area, items, lines));
+        assertEquals(0, flow.lineCount());
+        assertTrue(items.isEmpty());
+        assertTrue(lines.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> flow.layout(new double[]{30, 10, 30}, area, items, lines));
+    }
+}
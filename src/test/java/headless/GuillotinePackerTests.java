@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.packing.FitHeuristic;
+import io.github.palexdev.rectcut.packing.GuillotinePacker;
+import io.github.palexdev.rectcut.packing.SplitHeuristic;
+import io.github.palexdev.rectcut.validation.LayoutValidator;
+import io.github.palexdev.rectcut.validation.ValidationReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GuillotinePackerTests {
+    private static final Rect BIN = Rect.of(10, 20, 266, 276);
+
+    @Test
+    void testAllHeuristics() {
+        Random random = new Random(9);
+        double[] sizes = new double[400];
+        for (int i = 0; i < sizes.length; i++) sizes[i] = 4 + random.nextInt(60);
+
+        LayoutValidator validator = new LayoutValidator().withGapCheck(false);
+        for (FitHeuristic fit : FitHeuristic.values()) {
+            for (SplitHeuristic split : SplitHeuristic.values()) {
+                for (boolean merge : new boolean[]{true, false}) {
+                    String name = fit + "/" + split + "/" + merge;
+                    GuillotinePacker packer = GuillotinePacker.of(BIN).withFit(fit).withSplit(split).withMerge(merge);
+                    RectBuffer out = new RectBuffer();
+                    int[] bins = new int[sizes.length / 2];
+                    assertEquals(bins.length, packer.insertAll(sizes, out, bins), name);
+                    assertEquals(bins.length, out.size(), name);
+                    assertTrue(packer.bins() > 1, name);
+                    double used = 0;
+                    for (int i = 0; i < bins.length; i++) used += sizes[i * 2] * sizes[i * 2 + 1];
+                    assertEquals(used / (packer.bins() * 256.0 * 256.0), packer.occupancy(), 1e-12, name);
+
+                    for (int b = 0; b < packer.bins(); b++) {
+                        RectBuffer inBin = new RectBuffer();
+                        for (int i = 0; i < bins.length; i++) {
+                            if (bins[i] != b) continue;
+                            assertEquals(sizes[i * 2], out.width(i), name);
+                            assertEquals(sizes[i * 2 + 1], out.height(i), name);
+                            inBin.add(out.rect(i));
+                        }
+                        assertFalse(inBin.isEmpty(), name);
+                        ValidationReport report = validator.validate(inBin, BIN);
+                        assertTrue(report.isValid(), () -> name + ": " + report);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSpacing() {
+        GuillotinePacker packer = GuillotinePacker.of(Rect.of(0, 0, 100, 100).withHSpacing(2).withVSpacing(2));
+        RectBuffer out = new RectBuffer();
+        for (int i = 0; i < 16; i++) assertEquals(0, packer.insert(23, 23, out));
+        // 4 * 23 + 3 * 2 = 98, one more does not fit
+        assertEquals(1, packer.insert(23, 23, out));
+        RectBuffer grown = new RectBuffer();
+        for (int i = 0; i < 16; i++) {
+            grown.add(out.minX(i), out.minY(i), out.maxX(i) + 2, out.maxY(i) + 2);
+        }
+        assertTrue(new LayoutValidator().withGapCheck(false).validate(grown).isValid());
+    }
+
+    @Test
+    void testFailedInsert() {
+        GuillotinePacker packer = GuillotinePacker.of(BIN).withMaxBins(1);
+        RectBuffer out = new RectBuffer();
+        assertEquals(-1, packer.insert(300, 10, out));
+        assertEquals(-1, packer.insert(10, 0, out));
+        assertEquals(0, packer.insert(256, 256, out));
+        assertEquals(-1, packer.insert(1, 1, out));
+        assertEquals(4, out.size());
+        for (int i : new int[]{0, 1, 3}) assertEquals(Rect.of(0, 0, 0, 0), out.rect(i));
+        assertEquals(Rect.of(10, 20, 266, 276), out.rect(2));
+        assertEquals(1, packer.occupancy());
+
+        int[] bins = new int[3];
+        assertEquals(1, packer.reset().insertAll(new double[]{10, 10, 300, 300, 250, 250}, out, bins));
+        assertArrayEquals(new int[]{0, -1, -1}, bins);
+        assertEquals(3, out.size());
+
+        assertThrows(IllegalArgumentException.class, () -> packer.insertAll(new double[3], out, null));
+        assertThrows(IllegalArgumentException.class, () -> packer.insertAll(new double[4], out, new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> GuillotinePacker.of(Rect.of(0, 0, 0, 10)));
+    }
+
+    @Test
+    void testNonFiniteSizes() {
+        for (FitHeuristic fit : FitHeuristic.values()) {
+            GuillotinePacker packer = GuillotinePacker.of(BIN).withFit(fit);
+            RectBuffer out = new RectBuffer();
+            packer.insert(10, 10, out);
+            assertThrows(IllegalArgumentException.class, () -> packer.insert(Double.NaN, 10, out), fit.name());
+            assertThrows(IllegalArgumentException.class, () -> packer.insert(10, Double.NaN, out), fit.name());
+            assertThrows(IllegalArgumentException.class, () -> packer.insert(Double.POSITIVE_INFINITY, 10, out), fit.name());
+            assertEquals(1, out.size());
+
+            // Nothing is placed if any size is invalid
+            assertThrows(IllegalArgumentException.class, () -> packer.insertAll(new double[]{10, 10, Double.NaN, 5}, out, null));
+            assertEquals(1, out.size());
+            assertEquals(100.0 / (256 * 256), packer.occupancy());
+        }
+    }
+
+    @Test
+    void testResetAndMultipleBins() {
+        double[] sizes = new double[60];
+        for (int i = 0; i < sizes.length; i++) sizes[i] = 100;
+        GuillotinePacker packer = GuillotinePacker.of(BIN);
+        RectBuffer first = new RectBuffer();
+        int[] bins = new int[30];
+        assertEquals(30, packer.insertAll(sizes, first, bins));
+        // Four 100x100 items per 256x256 bin
+        assertEquals(8, packer.bins());
+        for (int i = 0; i < 30; i++) assertEquals(i / 4, bins[i]);
+
+        packer.reset();
+        assertEquals(0, packer.bins());
+        assertEquals(0, packer.freeAreas());
+        assertEquals(0, packer.occupancy());
+        RectBuffer second = new RectBuffer();
+        packer.insertAll(sizes, second, null);
+        for (int i = 0; i < 30; i++) assertEquals(first.rect(i), second.rect(i));
+    }
+}
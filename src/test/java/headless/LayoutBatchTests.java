@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.LayoutBatch;
+import io.github.palexdev.rectcut.LayoutDiffer;
+import io.github.palexdev.rectcut.Rect;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LayoutBatchTests {
+
+    @Test
+    void testFlushAppliesLastRecord() {
+        List<String> calls = new ArrayList<>();
+        LayoutBatch<String> batch = new LayoutBatch<>((t, x, y, w, h) -> calls.add(t + " " + x + " " + y + " " + w + " " + h));
+
+        Rect area = Rect.of(0, 0, 100, 50);
+        area.cutLeft(20).layout(batch.of("a"));
+        area.cutLeft(30).layout(batch.of("b"));
+        batch.record("a", 1, 2, 3, 4);
+        assertTrue(calls.isEmpty());
+        assertEquals(2, batch.pending());
+        assertSame(batch.of("a"), batch.of("a"));
+
+        assertEquals(2, batch.flush());
+        assertEquals(List.of("a 1.0 2.0 3.0 4.0", "b 20.0 0.0 30.0 50.0"), calls);
+        assertEquals(3, batch.totalRecorded());
+        assertEquals(1, batch.totalCollapsed());
+        assertEquals(0, batch.pending());
+
+        // Order of first appearance, not of the pass
+        calls.clear();
+        batch.record("c", 0, 0, 1, 1).record("b", 0, 0, 2, 2).record("a", 0, 0, 3, 3);
+        batch.flush();
+        assertEquals(List.of("a 0.0 0.0 3.0 3.0", "b 0.0 0.0 2.0 2.0", "c 0.0 0.0 1.0 1.0"), calls);
+        assertEquals(0, batch.flush());
+    }
+
+    @Test
+    void testForgetAndDiscard() {
+        List<String> applied = new ArrayList<>();
+        LayoutBatch<String> batch = new LayoutBatch<>((t, x, y, w, h) -> applied.add(t));
+        batch.record("a", 0, 0, 1, 1).record("b", 0, 0, 1, 1).record("c", 0, 0, 1, 1);
+        batch.forget("b");
+        assertEquals(2, batch.size());
+        assertEquals(2, batch.pending());
+        batch.flush();
+        assertEquals(List.of("a", "c"), applied);
+
+        applied.clear();
+        batch.record("a", 0, 0, 1, 1).discard();
+        assertEquals(0, batch.flush());
+        assertTrue(applied.isEmpty());
+
+        // The freed slot is reused
+        batch.record("d", 0, 0, 1, 1).record("a", 0, 0, 1, 1);
+        batch.flush();
+        assertEquals(List.of("a", "d"), applied);
+
+        batch.clear();
+        assertEquals(0, batch.size());
+        assertEquals(0, batch.totalRecorded());
+    }
+
+    @Test
+    void testWithDiffer() {
+        int[] calls = {0};
+        LayoutDiffer<String> differ = new LayoutDiffer<>((t, x, y, w, h) -> calls[0]++);
+        LayoutBatch<String> batch = new LayoutBatch<>(differ::layout);
+        batch.record("a", 0, 0, 10, 10).record("b", 10, 0, 10, 10).flush();
+        assertEquals(2, calls[0]);
+
+        batch.record("a", 0, 0, 5, 5).record("a", 0, 0, 10, 10).record("b", 10, 0, 10, 12).flush();
+        assertEquals(3, calls[0]);
+        assertEquals(1, differ.totalSkipped());
+    }
+
+    @Test
+    void testNoRecordWhileFlushing() {
+        AtomicReference<LayoutBatch<String>> self = new AtomicReference<>();
+        LayoutBatch<String> batch = new LayoutBatch<>((t, x, y, w, h) -> self.get().record("other", x, y, w, h));
+        self.set(batch);
+        batch.record("a", 0, 0, 1, 1);
+        assertThrows(IllegalStateException.class, batch::flush);
+        assertEquals(0, batch.pending());
+    }
+}
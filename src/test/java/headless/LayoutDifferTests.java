@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.LayoutDiffer;
+import io.github.palexdev.rectcut.LayoutFunction;
+import io.github.palexdev.rectcut.Rect;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LayoutDifferTests {
+
+    @Test
+    void testSkipsUnchanged() {
+        List<String> calls = new ArrayList<>();
+        LayoutDiffer<String> differ = new LayoutDiffer<>((t, x, y, w, h) -> calls.add(t + " " + x + " " + w));
+
+        differ.beginPass();
+        assertTrue(differ.layout("a", 0, 0, 10, 10));
+        assertTrue(differ.layout("b", Rect.of(10, 0, 20, 10)));
+        assertEquals(2, differ.applied());
+        assertEquals(0, differ.skipped());
+
+        differ.beginPass();
+        assertFalse(differ.layout("a", 0, 0, 10, 10));
+        assertTrue(differ.layout("b", 10, 0, 11, 10));
+        assertEquals(1, differ.applied());
+        assertEquals(1, differ.skipped());
+        assertEquals(3, differ.totalApplied());
+        assertEquals(1, differ.totalSkipped());
+        assertEquals(List.of("a 0.0 10.0", "b 10.0 10.0", "b 10.0 11.0"), calls);
+
+        // Invalidated targets always go through
+        differ.invalidate("a");
+        assertTrue(differ.layout("a", 0, 0, 10, 10));
+        differ.invalidateAll();
+        assertTrue(differ.layout("a", 0, 0, 10, 10));
+        assertTrue(differ.layout("b", 10, 0, 11, 10));
+        assertFalse(differ.layout("b", 10, 0, 11, 10));
+
+        // Targets are compared by identity
+        String other = new String("a");
+        assertTrue(differ.layout(other, 0, 0, 10, 10));
+        assertEquals(3, differ.size());
+    }
+
+    @Test
+    void testEpsilon() {
+        int[] calls = {0};
+        LayoutDiffer<String> differ = new LayoutDiffer<String>((t, x, y, w, h) -> calls[0]++).withEpsilon(0.5);
+        differ.layout("a", 0, 0, 10, 10);
+        assertFalse(differ.layout("a", 0.5, -0.5, 10.25, 9.5));
+        assertTrue(differ.layout("a", 0, 0, 10, 10.75));
+        assertEquals(2, calls[0]);
+        // The bounds compared are the last applied ones, not the skipped ones
+        assertFalse(differ.layout("a", 0, 0, 10, 10.3));
+        assertTrue(differ.layout("a", 0, 0, 10, 10.2));
+
+        assertEquals(0, differ.withEpsilon(-1).epsilon());
+        assertTrue(differ.layout("a", 0, 0, 10, 10.2000001));
+    }
+
+    @Test
+    void testForgetReusesSlots() {
+        List<String> calls = new ArrayList<>();
+        LayoutDiffer<String> differ = new LayoutDiffer<>((t, x, y, w, h) -> calls.add(t + " " + w));
+        LayoutFunction a = differ.of("a");
+        assertSame(a, differ.of("a"));
+        a.apply(0, 0, 10, 10);
+        differ.layout("b", 0, 0, 20, 20);
+
+        differ.forget("a");
+        assertEquals(1, differ.size());
+        // The new target takes the free slot but none of its state
+        assertTrue(differ.layout("c", 0, 0, 10, 10));
+        assertNotSame(a, differ.of("c"));
+        assertFalse(differ.layout("b", 0, 0, 20, 20));
+        // A forgotten target starts over
+        assertTrue(differ.layout("a", 0, 0, 10, 10));
+        assertEquals(List.of("a 10.0", "b 20.0", "c 10.0", "a 10.0"), calls);
+
+        differ.clear();
+        assertEquals(0, differ.size());
+        assertEquals(0, differ.totalApplied());
+        assertTrue(differ.layout("b", 0, 0, 20, 20));
+    }
+}
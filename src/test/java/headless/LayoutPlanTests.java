@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.plan.Amount;
+import io.github.palexdev.rectcut.plan.CompiledLayout;
+import io.github.palexdev.rectcut.plan.CompiledLayouts;
+import io.github.palexdev.rectcut.plan.Cut;
+import io.github.palexdev.rectcut.plan.CutLayout;
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LayoutPlanTests {
+
+    @Test
+    void testMatchesRect() {
+        LayoutPlan plan = LayoutPlan.builder()
+            .cut(LayoutPlan.ROOT, RectSide.TOP, Amount.of(40), "top")
+            .cut(LayoutPlan.ROOT, RectSide.BOTTOM, Amount.percent(25), "bottom")
+            .cut(LayoutPlan.ROOT, RectSide.LEFT, Amount.param("left"), "left")
+            .insets("left", 4, 4, 4, 4)
+            .spacing("left", 0, 2)
+            .cut("left", RectSide.TOP, Amount.of(20), "item1")
+            .cut("left", RectSide.TOP, Amount.of(20), "item2")
+            .get("top", RectSide.RIGHT, Amount.of(50), "menu")
+            .add("bottom", RectSide.RIGHT, Amount.of(-10), "grip")
+            .middleH("top", Amount.param("title"), "title")
+            .rest(LayoutPlan.ROOT, "content")
+            .build();
+        assertEquals(10, plan.size());
+        assertEquals(2, plan.paramCount());
+        assertEquals(5, plan.indexOf("item2"));
+        assertEquals(-1, plan.indexOf("missing"));
+
+        Rect root = Rect.of(10, 10, 510, 410).withHSpacing(8).withVSpacing(6);
+        RectBuffer out = plan.layout(root, new double[]{150, 200}, new RectBuffer());
+
+        Rect top = root.cutTop(40);
+        Rect bottom = root.cutBottom(root.height() * 0.25);
+        Rect left = root.cutLeft(150).withInsets(4).withVSpacing(2);
+        Rect item1 = left.cutTop(20);
+        Rect item2 = left.cutTop(20);
+        Rect menu = top.getRight(50);
+        Rect grip = bottom.addRight(-10);
+        Rect title = top.middleHCut(200)[1];
+        Rect content = Rect.of(root.minX(), root.minY(), root.maxX(), root.maxY());
+        Rect[] expected = {root, top, bottom, left, item1, item2, menu, grip, title, content};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], out.rect(i), plan.name(i));
+        }
+    }
+
+    @Test
+    void testInvalidPlans() {
+        assertThrows(IllegalArgumentException.class, () -> LayoutPlan.builder()
+            .cut("missing", RectSide.TOP, Amount.of(10), "a"));
+        assertThrows(IllegalArgumentException.class, () -> LayoutPlan.builder()
+            .cut(LayoutPlan.ROOT, RectSide.TOP, Amount.of(10), "a")
+            .cut(LayoutPlan.ROOT, RectSide.TOP, Amount.of(10), "a"));
+        assertThrows(IllegalArgumentException.class, () -> LayoutPlan.builder()
+            .cut(LayoutPlan.ROOT, RectSide.TOP, Amount.of(10), LayoutPlan.ROOT));
+        assertThrows(IllegalArgumentException.class, () -> LayoutPlan.builder()
+            .cut(LayoutPlan.ROOT, null, Amount.of(10), "a"));
+
+        LayoutPlan plan = LayoutPlan.builder()
+            .cut(LayoutPlan.ROOT, RectSide.TOP, Amount.param("h"), "a")
+            .build();
+        assertThrows(IllegalArgumentException.class, () -> plan.layout(Rect.of(0, 0, 10, 10), new RectBuffer()));
+    }
+
+    @Test
+    void testCompiledLayoutsFallback() {
+        // The processor does not run on the tests, so the annotation is interpreted
+        CompiledLayout layout = CompiledLayouts.of(Toolbar.class);
+        assertFalse(CompiledLayouts.isGenerated(layout));
+        assertSame(layout, CompiledLayouts.of(Toolbar.class));
+        assertEquals("headless.ToolbarLayout", CompiledLayouts.generatedName(Toolbar.class));
+
+        RectBuffer out = layout.layout(Rect.of(0, 0, 200, 100), new RectBuffer());
+        assertEquals(Rect.of(0, 0, 160, 40), out.rect(layout.indexOf("bar"))); // What remains after the cut
+        assertEquals(Rect.of(160, 0, 200, 40), out.rect(layout.indexOf("close")));
+        assertThrows(IllegalArgumentException.class, () -> CompiledLayouts.of(String.class));
+    }
+
+    @CutLayout({
+        @Cut(side = RectSide.TOP, amount = 40, name = "bar"),
+        @Cut(from = "bar", side = RectSide.RIGHT, amount = 40, name = "close")
+    })
+    private static final class Toolbar {}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.plan.Amount;
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import io.github.palexdev.rectcut.profile.LayoutProfiler;
+import io.github.palexdev.rectcut.profile.LayoutProfiler.Metric;
+import io.github.palexdev.rectcut.tree.LayoutNode;
+import io.github.palexdev.rectcut.tree.LayoutTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LayoutProfilerTests {
+
+    @Test
+    void testTree() {
+        int[] calls = {0};
+        LayoutNode root = LayoutNode.fill("root").add(
+            LayoutNode.cut("top", RectSide.TOP, 40).add(
+                LayoutNode.cut("btn1", RectSide.RIGHT, 40).withLayout((x, y, w, h) -> calls[0]++),
+                LayoutNode.cut("btn2", RectSide.RIGHT, 40)
+            ),
+            LayoutNode.fill(null)
+        );
+        LayoutProfiler profiler = new LayoutProfiler();
+        LayoutTree tree = LayoutTree.of(root).withProfiler(profiler);
+        RectBuffer out = new RectBuffer();
+        for (int i = 0; i < 3; i++) tree.apply(tree.layout(Rect.of(0, 0, 400, 400), out));
+
+        assertEquals(3, profiler.passes());
+        assertEquals(5, profiler.size());
+        assertEquals(6, profiler.cuts(0));
+        assertEquals(6, profiler.cuts(tree.indexOf("top")));
+        assertEquals(0, profiler.cuts(tree.indexOf("btn1")));
+        assertEquals(3, profiler.calls(tree.indexOf("btn1")));
+        assertEquals(3, calls[0]);
+        assertEquals("#2", profiler.name(2));
+        assertTrue(profiler.totalNanos(0) >= profiler.selfNanos(0) + profiler.selfNanos(1));
+
+        assertEquals("""
+            root 6
+            root;top 6
+            """, profiler.toCollapsed(Metric.CUTS));
+        assertEquals("root;top;btn1 3\n", profiler.toCollapsed(Metric.CALLS));
+        String time = profiler.toCollapsed(Metric.TIME);
+        assertTrue(time.startsWith("root "), time);
+
+        profiler.reset();
+        assertEquals(0, profiler.passes());
+        assertEquals(0, profiler.cuts(0));
+        assertEquals("", profiler.toCollapsed(Metric.CUTS));
+    }
+
+    @Test
+    void testParallelTree() {
+        LayoutNode root = LayoutNode.fill("root");
+        for (int i = 0; i < 8; i++) {
+            LayoutNode column = LayoutNode.cut("col" + i, RectSide.LEFT, 10);
+            for (int j = 0; j < 100; j++) column.add(LayoutNode.cut(null, RectSide.TOP, 1));
+            root.add(column);
+        }
+        LayoutProfiler profiler = new LayoutProfiler();
+        LayoutTree tree = LayoutTree.of(root)
+            .withPool(new ForkJoinPool(4))
+            .withParallelThreshold(16)
+            .withProfiler(profiler);
+        RectBuffer out = new RectBuffer();
+        for (int i = 0; i < 10; i++) tree.layout(Rect.of(0, 0, 1000, 1000), out);
+        assertEquals(80, profiler.cuts(0));
+        for (int i = 0; i < 8; i++) assertEquals(1000, profiler.cuts(tree.indexOf("col" + i)));
+    }
+
+    @Test
+    void testPlan() {
+        LayoutPlan plan = LayoutPlan.builder()
+            .cut(LayoutPlan.ROOT, RectSide.TOP, Amount.of(40), "top")
+            .insets("top", 2, 2, 2, 2)
+            .cut("top", RectSide.LEFT, Amount.of(20), "icon")
+            .get("top", RectSide.RIGHT, Amount.of(20), "menu")
+            .rest(LayoutPlan.ROOT, "content")
+            .build();
+        assertEquals(-1, plan.parent(0));
+        assertEquals(1, plan.parent(plan.indexOf("menu")));
+
+        LayoutProfiler profiler = new LayoutProfiler();
+        RectBuffer profiled = new RectBuffer();
+        for (int i = 0; i < 4; i++) plan.layout(Rect.of(0, 0, 100, 100), new double[0], profiled, profiler);
+        RectBuffer plain = plan.layout(Rect.of(0, 0, 100, 100), new RectBuffer());
+        for (int i = 0; i < plan.size(); i++) assertEquals(plain.rect(i), profiled.rect(i));
+
+        assertEquals(4, profiler.passes());
+        assertEquals(8, profiler.cuts(0));
+        assertEquals(8, profiler.cuts(1));
+        assertEquals("""
+            root 8
+            root;top 8
+            """, profiler.toCollapsed(Metric.CUTS));
+
+        // Switching to another engine discards the data
+        LayoutTree tree = LayoutTree.of(LayoutNode.fill("other")).withProfiler(profiler);
+        tree.layout(Rect.of(0, 0, 10, 10), new RectBuffer());
+        assertEquals(1, profiler.passes());
+        assertEquals("other", profiler.name(0));
+    }
+}
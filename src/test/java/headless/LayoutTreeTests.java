@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.tree.LayoutNode;
+import io.github.palexdev.rectcut.tree.LayoutTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LayoutTreeTests {
+
+    @Test
+    void testTwoPanelShell() {
+        double[] calls = new double[4];
+        LayoutNode root = LayoutNode.fill("root").withInsets(8).add(
+            LayoutNode.cut("topBar", RectSide.TOP, 40)
+                .withHSpacing(4)
+                .add(
+                    LayoutNode.cut("btn1", RectSide.RIGHT, 40),
+                    LayoutNode.cut("btn2", RectSide.RIGHT, 40)
+                ),
+            LayoutNode.cut("bottomBar", RectSide.BOTTOM, 40),
+            LayoutNode.cut("left", RectSide.LEFT, 200),
+            LayoutNode.fill("right").withLayout((x, y, w, h) -> {
+                calls[0] = x;
+                calls[1] = y;
+                calls[2] = w;
+                calls[3] = h;
+            })
+        );
+        LayoutTree tree = LayoutTree.of(root);
+        RectBuffer out = tree.layout(Rect.of(0, 0, 416, 416), new RectBuffer());
+        assertEquals(7, tree.size());
+
+        // Same layout by hand
+        Rect area = Rect.of(0, 0, 416, 416).withInsets(8);
+        Rect topBar = area.cutTop(40).withHSpacing(4);
+        assertEquals(topBar, out.rect(tree.indexOf("topBar")));
+        assertEquals(topBar.cutRight(40), out.rect(tree.indexOf("btn1")));
+        assertEquals(topBar.cutRight(40), out.rect(tree.indexOf("btn2")));
+        assertEquals(area.cutBottom(40), out.rect(tree.indexOf("bottomBar")));
+        assertEquals(area.cutLeft(200), out.rect(tree.indexOf("left")));
+        assertEquals(area, out.rect(tree.indexOf("right")));
+
+        tree.apply(out);
+        assertArrayEquals(new double[]{208, 48, 200, 320}, calls);
+    }
+
+    @Test
+    void testParallelIsDeterministic() {
+        LayoutNode root = LayoutNode.fill("root");
+        Random random = new Random(7);
+        populate(root, random, 0);
+        LayoutTree tree = LayoutTree.of(root);
+        Rect bounds = Rect.of(0, 0, 1920, 1080);
+
+        RectBuffer sequential = tree.withPool(null).layout(bounds, new RectBuffer());
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            tree.withPool(pool).withParallelThreshold(8);
+            for (int i = 0; i < 10; i++) {
+                RectBuffer parallel = tree.layout(bounds, new RectBuffer());
+                assertArrayEquals(
+                    Arrays.copyOf(sequential.array(), tree.size() * 4),
+                    Arrays.copyOf(parallel.array(), tree.size() * 4)
+                );
+            }
+        }
+    }
+
+    private void populate(LayoutNode node, Random random, int depth) {
+        if (depth == 5) return;
+        node.withHSpacing(random.nextInt(3)).withVSpacing(random.nextInt(3)).withInsets(random.nextInt(2));
+        int children = 2 + random.nextInt(4);
+        for (int i = 0; i < children; i++) {
+            LayoutNode child = i == children - 1
+                ? LayoutNode.fill(null)
+                : LayoutNode.cut(null, RectSide.values()[random.nextInt(4)], 5 + random.nextInt(60));
+            node.add(child);
+            populate(child, random, depth + 1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.validation.LayoutValidator;
+import io.github.palexdev.rectcut.validation.ValidationReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LayoutValidatorTests {
+
+    @Test
+    void testTiledLayoutIsValid() {
+        Rect bounds = Rect.of(0, 0, 1000, 700);
+        RectBuffer rects = new RectBuffer();
+        Rect area = Rect.of(0, 0, 1000, 700);
+        rects.add(area.cutTop(40));
+        rects.add(area.cutBottom(30));
+        Rect left = area.cutLeft(200);
+        for (int i = 0; i < 9; i++) rects.add(left.cutTop(63));
+        rects.add(left);
+        for (int r = 0; r < 10; r++) {
+            Rect row = area.cutTop(r == 9 ? area.height() : 63);
+            for (int c = 0; c < 8; c++) rects.add(row.cutLeft(100));
+        }
+        ValidationReport report = new LayoutValidator().validate(rects, bounds);
+        assertTrue(report.isValid(), report::toString);
+        assertEquals(0, report.gapArea(), 1e-9);
+        assertTrue(LayoutValidator.assertValid(rects, bounds));
+    }
+
+    @Test
+    void testSpacingLeavesGaps() {
+        Rect bounds = Rect.of(0, 0, 100, 100);
+        Rect area = Rect.of(0, 0, 100, 100).withVSpacing(10);
+        RectBuffer rects = new RectBuffer();
+        rects.add(area.cutTop(40));
+        rects.add(area);
+        ValidationReport report = new LayoutValidator().validate(rects, bounds);
+        assertFalse(report.isValid());
+        assertEquals(0, report.overlapCount());
+        assertEquals(1000, report.gapArea(), 1e-9);
+        assertEquals(Rect.of(0, 40, 100, 50), report.gapSample());
+        assertTrue(new LayoutValidator().withGapCheck(false).validate(rects, bounds).isValid());
+        assertThrows(AssertionError.class, () -> LayoutValidator.assertValid(rects, bounds));
+    }
+
+    @Test
+    void testEmptyAndOutside() {
+        Rect area = Rect.of(0, 0, 100, 20);
+        RectBuffer rects = new RectBuffer();
+        rects.add(area.cutLeft(80));
+        rects.add(area.cutLeft(80)); // Clamped, 20 wide
+        rects.add(area.cutLeft(80)); // Clamped, empty
+        rects.add(area.addRight(-10)); // Negative add, inverted
+        rects.add(Rect.of(0, 0, 100, 20).addBottom(5));
+        ValidationReport report = new LayoutValidator().withGapCheck(false).validate(rects, Rect.of(0, 0, 100, 20));
+        assertEquals(2, report.emptyCount());
+        assertEquals(2, report.empty(0));
+        assertEquals(3, report.empty(1));
+        assertEquals(1, report.outsideCount());
+        assertEquals(4, report.outside(0));
+    }
+
+    @Test
+    void testOverlapsMatchBruteForce() {
+        Random random = new Random(13);
+        for (int round = 0; round < 20; round++) {
+            RectBuffer rects = new RectBuffer();
+            int n = 50 + random.nextInt(300);
+            for (int i = 0; i < n; i++) {
+                // Integer coordinates, so that touching edges are frequent
+                double x = random.nextInt(100);
+                double y = random.nextInt(100);
+                rects.add(x, y, x + random.nextInt(15), y + random.nextInt(15));
+            }
+            ValidationReport report = new LayoutValidator().withMaxReports(Integer.MAX_VALUE).validate(rects);
+            Set<Long> found = new HashSet<>();
+            for (int i = 0; i < report.overlapCount(); i++) {
+                assertTrue(found.add((long) report.overlapA(i) << 32 | report.overlapB(i)), "Duplicate pair");
+            }
+
+            Set<Long> expected = new HashSet<>();
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    double w = Math.min(rects.maxX(a), rects.maxX(b)) - Math.max(rects.minX(a), rects.minX(b));
+                    double h = Math.min(rects.maxY(a), rects.maxY(b)) - Math.max(rects.minY(a), rects.minY(b));
+                    if (w > 1e-9 && h > 1e-9) expected.add((long) a << 32 | b);
+                }
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    void testMaxReports() {
+        RectBuffer rects = new RectBuffer();
+        for (int i = 0; i < 100; i++) rects.add(0, 0, 10, 10);
+        ValidationReport report = new LayoutValidator().withMaxReports(50).validate(rects);
+        assertEquals(50, report.overlapCount());
+        assertTrue(report.isTruncated());
+    }
+}
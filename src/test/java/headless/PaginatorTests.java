@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.pagination.FragmentFunction;
+import io.github.palexdev.rectcut.pagination.Paginator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaginatorTests {
+
+    @Test
+    void testSplitsOversizedBlock() {
+        List<String> out = new ArrayList<>();
+        Paginator paginator = new Paginator(Rect.of(10, 20, 110, 120), recorder(out));
+        paginator.add(30);
+        paginator.add(250);
+        assertEquals(List.of(
+            "0 0 10.0 20.0 100.0 30.0",
+            "1 1 10.0 20.0 100.0 100.0",
+            "2 1 10.0 20.0 100.0 100.0",
+            "3 1 10.0 20.0 100.0 50.0"
+        ), out);
+        assertEquals(4, paginator.finish());
+    }
+
+    @Test
+    void testKeepTogether() {
+        List<String> out = new ArrayList<>();
+        Paginator paginator = new Paginator(Rect.of(0, 0, 100, 100).withVSpacing(4), recorder(out));
+        paginator.add(60);
+        // 20 + 4 + 20 does not fit in the 36 left, so the whole group moves
+        paginator.beginGroup();
+        paginator.add(20);
+        paginator.add(20);
+        assertTrue(out.size() == 1, "Group blocks are buffered until the group is closed");
+        paginator.endGroup();
+        assertEquals(List.of(
+            "0 0 0.0 0.0 100.0 60.0",
+            "1 1 0.0 0.0 100.0 20.0",
+            "1 2 0.0 24.0 100.0 20.0"
+        ), out);
+
+        // Taller than a page, flows normally from a new page: blocks that do not fit move, the oversized one also splits
+        out.clear();
+        paginator.beginGroup();
+        paginator.add(50);
+        paginator.add(50);
+        paginator.add(150);
+        paginator.endGroup();
+        assertEquals(List.of(
+            "2 3 0.0 0.0 100.0 50.0",
+            "3 4 0.0 0.0 100.0 50.0",
+            "4 5 0.0 0.0 100.0 100.0",
+            "5 5 0.0 0.0 100.0 50.0"
+        ), out);
+
+        assertThrows(IllegalStateException.class, () -> paginator.beginGroup().beginGroup());
+        assertThrows(IllegalStateException.class, paginator::pageBreak);
+        paginator.endGroup();
+        assertThrows(IllegalStateException.class, paginator::endGroup);
+    }
+
+    @Test
+    void testPageBreak() {
+        List<String> out = new ArrayList<>();
+        Paginator paginator = new Paginator(Rect.of(0, 0, 100, 100), recorder(out));
+        paginator.pageBreak();
+        assertEquals(0, paginator.page());
+        paginator.add(10);
+        paginator.pageBreak().pageBreak();
+        assertEquals(1, paginator.page());
+        paginator.add(10);
+        assertEquals("1 1 0.0 0.0 100.0 10.0", out.get(1));
+    }
+
+    @Test
+    void testFinishAndReset() {
+        List<String> out = new ArrayList<>();
+        Paginator paginator = new Paginator(Rect.of(0, 0, 100, 100).withVSpacing(2), recorder(out));
+        assertEquals(0, paginator.finish());
+
+        for (int i = 0; i < 10; i++) paginator.add(30);
+        // An open group is flushed
+        paginator.beginGroup().add(30);
+        assertEquals(4, paginator.finish());
+        assertEquals(11, paginator.blocks());
+        paginator.pageBreak();
+        assertEquals(4, paginator.finish());
+
+        List<String> first = new ArrayList<>(out);
+        out.clear();
+        paginator.reset();
+        assertEquals(0, paginator.page());
+        assertEquals(0, paginator.blocks());
+        for (int i = 0; i < 10; i++) paginator.add(30);
+        paginator.beginGroup().add(30);
+        assertEquals(4, paginator.finish());
+        assertEquals(first, out);
+    }
+
+    @Test
+    void testMatchesCutTop() {
+        Rect page = Rect.of(5, 5, 205, 1005).withVSpacing(3);
+        Rect expected = Rect.of(5, 5, 205, 1005).withVSpacing(3);
+        List<Rect> actual = new ArrayList<>();
+        Paginator paginator = new Paginator(page, (p, b, x, y, w, h) -> {
+            assertEquals(0, p);
+            actual.add(Rect.of(x, y, x + w, y + h));
+        });
+        double[] heights = {10, 0, 37.5, 100, 1, 250, 12.25};
+        for (double h : heights) paginator.add(h);
+        for (int i = 0; i < heights.length; i++) {
+            assertEquals(expected.cutTop(heights[i]), actual.get(i));
+        }
+        assertEquals(1, paginator.finish());
+    }
+
+    @Test
+    void testInvalidAndEdges() {
+        List<String> out = new ArrayList<>();
+        assertThrows(IllegalArgumentException.class, () -> new Paginator(Rect.of(0, 0, 100, 0), recorder(out)));
+
+        Paginator paginator = new Paginator(Rect.of(0, 0, 100, 100).withVSpacing(10), recorder(out));
+        assertThrows(IllegalArgumentException.class, () -> paginator.add(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> paginator.add(Double.NaN));
+        assertEquals(0, paginator.blocks());
+
+        // The spacing after a block cannot push the cursor past the content area
+        paginator.add(95);
+        paginator.add(0);
+        paginator.add(-5);
+        assertEquals("0 1 0.0 100.0 100.0 0.0", out.get(1));
+        assertEquals("0 2 0.0 100.0 100.0 0.0", out.get(2));
+        assertEquals(0, paginator.remaining());
+    }
+
+    private static FragmentFunction recorder(List<String> out) {
+        return (page, block, x, y, w, h) -> out.add(page + " " + block + " " + x + " " + y + " " + w + " " + h);
+    }
+}
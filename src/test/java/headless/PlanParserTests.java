@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectSide;
+import io.github.palexdev.rectcut.plan.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanParserTests {
+    private static final String SHELL = """
+        # Two panels shell
+        param sidebar
+        insets 8
+        toolbar = cut top 40
+        toolbar spacing 4, 0
+        close = toolbar cut right 32   # window button
+        title = toolbar middleh 50%
+        status = cut bottom 10%
+        sidebar = cut left $sidebar
+        header = sidebar get top 24
+        divider = status add top 2
+        logo = sidebar middlev $logo
+        content = rest
+        """;
+
+    @Test
+    void testParseMatchesBuilder() {
+        LayoutPlan parsed = PlanParser.parse(SHELL);
+        LayoutPlan built = LayoutPlan.builder()
+            .param("sidebar")
+            .insets(LayoutPlan.ROOT, 8, 8, 8, 8)
+            .cut(LayoutPlan.ROOT, RectSide.TOP, Amount.of(40), "toolbar")
+            .spacing("toolbar", 4, 0)
+            .cut("toolbar", RectSide.RIGHT, Amount.of(32), "close")
+            .middleH("toolbar", Amount.percent(50), "title")
+            .cut(LayoutPlan.ROOT, RectSide.BOTTOM, Amount.percent(10), "status")
+            .cut(LayoutPlan.ROOT, RectSide.LEFT, Amount.param("sidebar"), "sidebar")
+            .get("sidebar", RectSide.TOP, Amount.of(24), "header")
+            .add("status", RectSide.TOP, Amount.of(2), "divider")
+            .middleV("sidebar", Amount.param("logo"), "logo")
+            .rest(LayoutPlan.ROOT, "content")
+            .build();
+        assertEquals(built.size(), parsed.size());
+        assertEquals(2, parsed.paramCount());
+        assertEquals("logo", parsed.param(1));
+
+        Rect bounds = Rect.of(0, 0, 800, 600).withHSpacing(2).withVSpacing(3);
+        double[] params = {200, 64};
+        RectBuffer a = parsed.layout(bounds, params, new RectBuffer());
+        RectBuffer b = built.layout(bounds, params, new RectBuffer());
+        for (int i = 0; i < parsed.size(); i++) {
+            assertEquals(built.name(i), parsed.name(i));
+            assertEquals(b.rect(i), a.rect(i), parsed.name(i));
+        }
+    }
+
+    @Test
+    void testErrors() {
+        assertError("a = cut top", 1, 12);
+        assertError("a = cut middle 10", 1, 9);
+        assertError("\n\na = cut top 1x", 3, 13);
+        assertError("cut top 10", 1, 1);
+        assertError("a = missing cut top 10", 1, 1);
+        assertError("a = root explode 10", 1, 10);
+        assertError("a = insets 4", 1, 1);
+        assertError("a = cut top 10\na = cut top 10", 2, 1);
+        assertError("cut = cut top 10", 1, 1);
+        assertError("a = rest extra", 1, 10);
+        // Long lines are reported at the first extra token
+        assertError("a = cut top 10 1 2 3 4 5 6 7 8", 1, 16);
+    }
+
+    @Test
+    void testManyParams() {
+        LayoutPlan plan = PlanParser.parse("""
+            param a b c d e f, g h i j k l
+            x = cut left $l
+            """);
+        assertEquals(12, plan.paramCount());
+        assertEquals("a", plan.param(0));
+        assertEquals("l", plan.param(11));
+
+        double[] params = new double[12];
+        params[11] = 30;
+        RectBuffer out = plan.layout(Rect.of(0, 0, 100, 100), params, new RectBuffer());
+        assertEquals(Rect.of(0, 0, 30, 100), out.rect(plan.size() - 1));
+    }
+
+    @Test
+    void testCache() {
+        PlanCache cache = new PlanCache(2);
+        LayoutPlan first = cache.get(SHELL);
+        assertSame(first, cache.get(new StringBuilder(SHELL)));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+
+        LayoutPlan changed = cache.get(SHELL.replace("40", "48"));
+        assertNotSame(first, changed);
+        assertEquals(2, cache.size());
+
+        // Least recently used is evicted
+        cache.get(SHELL);
+        cache.get("a = rest");
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get(SHELL));
+        assertEquals(3, cache.hits());
+
+        assertThrows(PlanParseException.class, () -> cache.get("a = nope"));
+        assertEquals(2, cache.size());
+    }
+
+    private static void assertError(String text, int line, int column) {
+        PlanParseException ex = assertThrows(PlanParseException.class, () -> PlanParser.parse(text));
+        assertEquals(line, ex.line(), ex.getMessage());
+        assertEquals(column, ex.column(), ex.getMessage());
+    }
+}
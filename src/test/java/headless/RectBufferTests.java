@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RectBufferTests {
+
+    @Test
+    void testBasics() {
+        RectBuffer buffer = new RectBuffer(1);
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.add(0, 0, 10, 10));
+        assertEquals(1, buffer.add(Rect.of(5, 5, 3, 20)));
+        assertEquals(2, buffer.size());
+        assertTrue(buffer.capacity() >= 2);
+        assertEquals(Rect.of(5, 5, 3, 20), buffer.rect(1));
+        // Same clamping as Rect
+        assertEquals(0, buffer.width(1));
+        assertEquals(15, buffer.height(1));
+
+        buffer.set(0, 1, 2, 3, 4).set(1, Rect.of(4, 3, 2, 1));
+        assertEquals(Rect.of(1, 2, 3, 4), buffer.rect(0));
+        assertEquals(4, buffer.minX(1));
+        assertEquals(3, buffer.minY(1));
+        assertEquals(2, buffer.maxX(1));
+        assertEquals(1, buffer.maxY(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.set(2, 0, 0, 0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.rect(-1));
+
+        // Growing zeroes the new areas, even if the array held older values
+        buffer.resize(1).resize(3);
+        assertEquals(Rect.of(0, 0, 0, 0), buffer.rect(1));
+        assertEquals(Rect.of(0, 0, 0, 0), buffer.rect(2));
+        assertThrows(IllegalArgumentException.class, () -> buffer.resize(-1));
+
+        double[] array = buffer.array();
+        buffer.ensureCapacity(2);
+        assertSame(array, buffer.array());
+        buffer.ensureCapacity(100);
+        assertTrue(buffer.capacity() >= 100);
+        assertEquals(3, buffer.size());
+        assertEquals(Rect.of(1, 2, 3, 4), buffer.rect(0));
+
+        RectBuffer copy = new RectBuffer(1).copyFrom(buffer);
+        assertEquals(3, copy.size());
+        for (int i = 0; i < 3; i++) assertEquals(buffer.rect(i), copy.rect(i));
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertEquals(3, copy.size());
+
+        double[] applied = new double[4];
+        copy.layout(0, (x, y, w, h) -> {
+            applied[0] = x;
+            applied[1] = y;
+            applied[2] = w;
+            applied[3] = h;
+        });
+        assertArrayEquals(new double[]{1, 2, 2, 2}, applied);
+    }
+
+    @Test
+    void testTransforms() {
+        RectBuffer buffer = new RectBuffer();
+        buffer.add(0, 0, 100, 20);
+        buffer.add(0, 20, 100, 40);
+
+        buffer.translate(10, -5);
+        assertEquals(Rect.of(10, -5, 110, 15), buffer.rect(0));
+        buffer.scale(2, 0.5);
+        assertEquals(Rect.of(20, 7.5, 220, 17.5), buffer.rect(1));
+
+        RectBuffer out = new RectBuffer(1);
+        assertSame(out, buffer.transformTo(out, 1, 2, 5, 0));
+        assertEquals(2, out.size());
+        assertEquals(Rect.of(25, 15, 225, 35), out.rect(1));
+        // The source is left untouched
+        assertEquals(Rect.of(20, 7.5, 220, 17.5), buffer.rect(1));
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.scale(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> buffer.scale(1, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> buffer.snap(Double.NaN));
+    }
+
+    @Test
+    void testSnap() {
+        RectBuffer buffer = new RectBuffer();
+        // Three columns of a third each, on a 1.5x display
+        double third = 100 / 3.0;
+        for (int i = 0; i < 3; i++) buffer.add(i * third, 0.2, (i + 1) * third, 10.3);
+        buffer.snap(1.5);
+        for (int i = 0; i < 3; i++) {
+            for (double v : new double[]{buffer.minX(i), buffer.minY(i), buffer.maxX(i), buffer.maxY(i)}) {
+                double device = v * 1.5;
+                assertEquals(Math.rint(device), device, 1e-9);
+            }
+        }
+        // Neighbors still share their edges
+        assertEquals(buffer.maxX(0), buffer.minX(1));
+        assertEquals(buffer.maxX(1), buffer.minX(2));
+        assertEquals(100, buffer.maxX(2), 1e-9);
+
+        // Scrolling and snapping in one pass is the same as doing them one after the other
+        RectBuffer base = new RectBuffer();
+        for (int i = 0; i < 100; i++) base.add(i * 7.3, i * 3.1, i * 7.3 + 5.55, i * 3.1 + 2.45);
+        RectBuffer fused = base.transformTo(new RectBuffer(), 1.25, 1.25, -3.3, -17.7, 2);
+        RectBuffer separate = base.transformTo(new RectBuffer(), 1.25, 1.25, -3.3, -17.7).snap(2);
+        double[] a = fused.array();
+        double[] b = separate.array();
+        for (int i = 0; i < fused.size() * RectBuffer.STRIDE; i++) assertEquals(b[i], a[i], 1e-9);
+    }
+}
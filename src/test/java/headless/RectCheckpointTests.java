@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RectCheckpointTests {
+
+    @Test
+    void testCheckpoints() {
+        Rect rect = Rect.of(0, 0, 100, 100).withHSpacing(4.0);
+        assertEquals(1, rect.mark());
+        rect.cutLeft(30);
+        assertEquals(2, rect.mark());
+        rect.withHSpacing(8.0).cutLeft(30);
+        assertEquals(Rect.of(72, 0, 100, 100), rect);
+
+        // Reset keeps the checkpoint, so it can be retried
+        rect.reset();
+        assertEquals(Rect.of(34, 0, 100, 100), rect);
+        assertEquals(4.0, rect.hSpacing());
+        assertEquals(2, rect.checkpoints());
+        rect.cutRight(10);
+        assertEquals(Rect.of(34, 0, 86, 100), rect);
+
+        // Commit the inner attempt, then roll back the outer one
+        rect.commit();
+        assertEquals(1, rect.checkpoints());
+        rect.rollback();
+        assertEquals(Rect.of(0, 0, 100, 100), rect);
+        assertEquals(0, rect.checkpoints());
+    }
+
+    @Test
+    void testNoCheckpoints() {
+        Rect rect = Rect.of(0, 0, 100, 100);
+        assertThrows(IllegalStateException.class, rect::reset);
+        assertThrows(IllegalStateException.class, rect::rollback);
+        assertThrows(IllegalStateException.class, rect::commit);
+        rect.mark();
+        rect.commit();
+        assertThrows(IllegalStateException.class, rect::commit);
+        assertEquals(Rect.of(0, 0, 100, 100), rect);
+    }
+
+    @Test
+    void testDeepNesting() {
+        Rect rect = Rect.of(0, 0, 1000, 1000).withVSpacing(1);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, rect.mark());
+            rect.cutTop(5);
+        }
+        assertEquals(Rect.of(0, 600, 1000, 1000), rect);
+        for (int i = 99; i >= 0; i--) {
+            rect.rollback();
+            assertEquals(i * 6, rect.minY());
+        }
+        assertEquals(0, rect.checkpoints());
+        assertEquals(1, rect.vSpacing());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.RectKernel;
+import io.github.palexdev.rectcut.RectSide;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RectKernelTests {
+
+    @Test
+    void testMatchesRect() {
+        Random random = new Random(11);
+        RectSide[] sides = RectSide.values();
+        double[] o = new double[8];
+        for (int i = 0; i < 100_000; i++) {
+            // Include amounts larger than the area, negative amounts and fractional coordinates
+            double minX = random.nextDouble() * 100 - 50, minY = random.nextDouble() * 100 - 50;
+            Rect rect = Rect.of(minX, minY, minX + random.nextDouble() * 200, minY + random.nextDouble() * 200)
+                .withHSpacing(random.nextInt(3) * 1.5)
+                .withVSpacing(random.nextInt(3) * 0.7);
+            RectSide side = sides[random.nextInt(4)];
+            double amount = random.nextDouble() * 300 - 20;
+            int s = side.ordinal();
+            double spacing = RectKernel.isHorizontal(s) ? rect.hSpacing() : rect.vSpacing();
+
+            set(o, rect);
+            Rect expected = rect.get(side, amount);
+            RectKernel.get(o, 0, 4, s, amount);
+            assertEquals(expected, rect(o, 4));
+            assertEquals(rect, rect(o, 0));
+
+            expected = rect.add(side, amount);
+            RectKernel.add(o, 0, 4, s, amount);
+            assertEquals(expected, rect(o, 4));
+
+            assertEquals(side == RectSide.LEFT || side == RectSide.RIGHT ? rect.width() : rect.height(),
+                RectKernel.extent(o, 0, s));
+
+            expected = rect.cut(side, amount);
+            RectKernel.cut(o, 0, 4, s, amount, spacing);
+            assertEquals(expected, rect(o, 4), side.name());
+            assertEquals(rect, rect(o, 0), side.name());
+        }
+    }
+
+    @Test
+    void testInPlaceAndInsets() {
+        double[] o = {0, 0, 100, 100};
+        RectKernel.insets(o, 0, 1, 2, 3, 4);
+        assertArrayEquals(new double[]{4, 1, 98, 97}, o);
+
+        double cut = RectKernel.cut(o, 0, 0, RectSide.TOP.ordinal(), 10, 5);
+        assertEquals(11, cut);
+        assertArrayEquals(new double[]{4, 1, 98, 11}, o);
+
+        RectBuffer buffer = new RectBuffer();
+        buffer.add(0, 0, 50, 50);
+        buffer.add(0, 0, 0, 0);
+        RectKernel.cut(buffer.array(), 0, RectBuffer.STRIDE, RectSide.RIGHT.ordinal(), 20, 0);
+        assertEquals(Rect.of(30, 0, 50, 50), buffer.rect(1));
+        assertEquals(Rect.of(0, 0, 30, 50), buffer.rect(0));
+    }
+
+    private static void set(double[] o, Rect r) {
+        o[0] = r.minX();
+        o[1] = r.minY();
+        o[2] = r.maxX();
+        o[3] = r.maxY();
+    }
+
+    private static Rect rect(double[] o, int at) {
+        return Rect.of(o[at], o[at + 1], o[at + 2], o[at + 3]);
+    }
+}
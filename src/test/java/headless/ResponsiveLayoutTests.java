@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.plan.LayoutPlan;
+import io.github.palexdev.rectcut.plan.PlanParser;
+import io.github.palexdev.rectcut.plan.ResponsiveLayout;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponsiveLayoutTests {
+    private static final LayoutPlan COMPACT = PlanParser.parse("""
+        insets 8
+        toolbar = cut top 40
+        menu = toolbar cut left 40
+        title = toolbar middleh 50%
+        status = cut bottom 10%
+        content = rest
+        """);
+    private static final LayoutPlan WIDE = PlanParser.parse("""
+        insets 8
+        toolbar = cut top 40
+        toolbar spacing 4, 0
+        close = toolbar cut right 32
+        max = toolbar cut right 32
+        title = toolbar middleh 120
+        status = cut bottom 10%
+        divider = status add top 2
+        sidebar = cut left $sidebar
+        header = sidebar get top 24
+        logo = sidebar middlev $logo
+        inspector = cut right 25%
+        content = rest
+        """);
+
+    @Test
+    void testMatchesPlan() {
+        ResponsiveLayout layout = ResponsiveLayout.builder()
+            .base(COMPACT)
+            .breakpoint(600, WIDE)
+            .params(200, 64)
+            .spacing(2, 3)
+            .build();
+        assertEquals(2, layout.variants());
+        // Clamps kick in at small sizes, e.g. the insets eating the whole area
+        assertTrue(layout.widthSegments(0) > 1);
+        assertTrue(layout.heightSegments(1) > 1);
+
+        Random random = new Random(11);
+        RectBuffer expected = new RectBuffer();
+        RectBuffer actual = new RectBuffer();
+        for (int i = 0; i < 5000; i++) {
+            double x = random.nextInt(100) - 50;
+            double y = random.nextInt(100) - 50;
+            double w = i % 3 == 0 ? random.nextInt(120) : random.nextDouble() * 2000;
+            double h = i % 3 == 1 ? random.nextInt(120) : random.nextDouble() * 2000;
+            int variant = layout.layout(x, y, w, h, actual);
+            assertEquals(w >= 600 ? 1 : 0, variant);
+
+            LayoutPlan plan = layout.plan(variant);
+            Rect bounds = Rect.of(x, y, x + w, y + h).withHSpacing(2).withVSpacing(3);
+            plan.layout(bounds, new double[]{200, 64}, expected);
+            assertEquals(expected.size(), actual.size());
+            double[] e = expected.array();
+            double[] a = actual.array();
+            for (int k = 0; k < expected.size() * RectBuffer.STRIDE; k++) {
+                int area = k / RectBuffer.STRIDE;
+                assertEquals(e[k], a[k], 1e-9, () -> plan.name(area) + " at " + w + "x" + h);
+            }
+        }
+    }
+
+    @Test
+    void testNegativeSizesReplay() {
+        ResponsiveLayout layout = ResponsiveLayout.builder().base(COMPACT).build();
+        RectBuffer expected = COMPACT.layout(Rect.of(0, 0, -10, 50), new RectBuffer());
+        RectBuffer actual = new RectBuffer();
+        assertEquals(0, layout.layout(0, 0, -10, 50, actual));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.rect(i), actual.rect(i));
+        }
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> ResponsiveLayout.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> ResponsiveLayout.builder().base(WIDE).build());
+        assertThrows(IllegalArgumentException.class, () -> ResponsiveLayout.builder().base(COMPACT)
+            .breakpoint(600, WIDE)
+            .breakpoint(400, COMPACT));
+        assertThrows(IllegalArgumentException.class, () -> ResponsiveLayout.builder().breakpoint(0, WIDE));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.SizeCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SizeCacheTests {
+
+    @Test
+    void testOncePerPass() {
+        int[] calls = new int[2];
+        double[] widths = {40, 60};
+        SizeCache<Integer> cache = new SizeCache<>(
+            i -> {
+                calls[0]++;
+                return widths[i];
+            },
+            i -> {
+                calls[1]++;
+                return 20;
+            }
+        );
+        Integer a = 0, b = 1;
+
+        Rect area = Rect.of(0, 0, 400, 40);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(40, area.cutLeft(cache.width(a)).width());
+            assertEquals(60, area.cutLeft(cache.width(b)).width());
+            assertEquals(20, cache.height(a));
+        }
+        assertEquals(2, calls[0]);
+        assertEquals(1, calls[1]);
+        assertEquals(9, cache.queries());
+        assertEquals(3, cache.computed());
+
+        // Values are stale until the next pass
+        widths[0] = 80;
+        assertEquals(40, cache.width(a));
+        cache.beginPass();
+        assertEquals(80, cache.width(a));
+        assertEquals(3, calls[0]);
+
+        widths[1] = 10;
+        cache.invalidate(b);
+        assertEquals(10, cache.width(b));
+        assertEquals(80, cache.width(a));
+        assertEquals(4, calls[0]);
+    }
+
+    @Test
+    void testSuppliers() {
+        double[] width = {30};
+        SizeCache<String> cache = new SizeCache<>(s -> width[0], s -> 0);
+        DoubleSupplier supplier = cache.widthOf("a");
+        assertSame(supplier, cache.widthOf("a"));
+        assertNotSame(supplier, cache.heightOf("a"));
+        assertEquals(30, supplier.getAsDouble());
+
+        width[0] = 50;
+        assertEquals(30, supplier.getAsDouble());
+        cache.beginPass();
+        assertEquals(50, supplier.getAsDouble());
+    }
+
+    @Test
+    void testForgetAndReuse() {
+        SizeCache<Object> cache = new SizeCache<>(o -> o.hashCode() % 100, o -> 1);
+        Object[] targets = new Object[100];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = new Object();
+            cache.width(targets[i]);
+        }
+        assertEquals(100, cache.size());
+        for (int i = 0; i < 50; i++) cache.forget(targets[i]);
+        assertEquals(50, cache.size());
+
+        Object other = new Object();
+        assertEquals(other.hashCode() % 100, cache.width(other));
+        for (int i = 50; i < targets.length; i++) {
+            assertEquals(targets[i].hashCode() % 100, cache.width(targets[i]));
+        }
+        assertEquals(101, cache.computed());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.queries());
+    }
+
+    @Test
+    void testClamped() {
+        ToDoubleFunction<double[]> fn = SizeCache.clamped(s -> s[0], s -> s[1], s -> s[2]);
+        assertEquals(50, fn.applyAsDouble(new double[]{10, 50, 100}));
+        assertEquals(10, fn.applyAsDouble(new double[]{10, 5, 100}));
+        assertEquals(100, fn.applyAsDouble(new double[]{10, 500, 100}));
+        assertEquals(30, fn.applyAsDouble(new double[]{30, 50, 20})); // Min wins
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.stream.StreamingRows;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingRowsTests {
+
+    @Test
+    void testMatchesCutTop() {
+        Random random = new Random(5);
+        Rect area = Rect.of(10, 20, 410, 1e9).withVSpacing(3);
+        StreamingRows rows = new StreamingRows(area);
+        List<Rect> expected = new ArrayList<>();
+        double[] emitted = new double[4];
+        for (int i = 0; i < 5000; i++) {
+            double h = 10 + random.nextInt(50);
+            Rect row = area.cutTop(h);
+            expected.add(row);
+            rows.append(h, (x, y, w, hh) -> {
+                emitted[0] = x;
+                emitted[1] = y;
+                emitted[2] = w;
+                emitted[3] = hh;
+            });
+            assertEquals(row, Rect.of(emitted[0], emitted[1], emitted[0] + emitted[2], emitted[1] + emitted[3]));
+        }
+
+        RectBuffer out = new RectBuffer(1);
+        for (int i = 0; i < expected.size(); i += 7) {
+            rows.bounds(i, out.resize(1), 0);
+            assertEquals(expected.get(i), out.rect(0));
+            assertEquals(i, rows.indexAt(expected.get(i).minY()));
+            assertEquals(i, rows.indexAt(expected.get(i).maxY() + 1)); // In the spacing
+        }
+        Rect last = expected.getLast();
+        assertEquals(last.maxY() - 20, rows.totalHeight());
+        assertEquals(-1, rows.indexAt(19));
+        assertEquals(-1, rows.indexAt(last.maxY() + 3));
+    }
+
+    @Test
+    void testSetHeight() {
+        StreamingRows rows = new StreamingRows(Rect.of(0, 0, 100, 100));
+        for (int i = 0; i < 100; i++) rows.append(10);
+        rows.setHeight(10, 30);
+        assertEquals(30, rows.height(10));
+        assertEquals(100, rows.offset(10));
+        assertEquals(130, rows.offset(11));
+        assertEquals(1020, rows.totalHeight());
+        assertEquals(10, rows.indexAt(129));
+        assertEquals(11, rows.indexAt(130));
+
+        RectBuffer out = new RectBuffer();
+        assertEquals(9, rows.visible(95, 140, out));
+        assertEquals(3, out.size());
+        assertEquals(Rect.of(0, 100, 100, 130), out.rect(1));
+
+        rows.clear();
+        assertEquals(0, rows.count());
+        assertEquals(-1, rows.visible(0, 100, out));
+        assertThrows(IndexOutOfBoundsException.class, () -> rows.height(0));
+    }
+
+    @Test
+    void testInvalidHeights() {
+        StreamingRows rows = new StreamingRows(Rect.of(0, 0, 100, 1000));
+        rows.append(10);
+        assertThrows(IllegalArgumentException.class, () -> rows.append(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> rows.append(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> rows.append(Double.NEGATIVE_INFINITY, (x, y, w, h) -> fail()));
+        assertThrows(IllegalArgumentException.class, () -> rows.setHeight(0, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> rows.setHeight(0, Double.POSITIVE_INFINITY));
+        assertEquals(1, rows.count());
+        assertEquals(10, rows.height(0));
+        assertEquals(10, rows.totalHeight());
+    }
+
+    @Test
+    void testNegativeHeights() {
+        StreamingRows rows = new StreamingRows(Rect.of(0, 0, 100, 1000).withVSpacing(2));
+        rows.append(10);
+        double[] emitted = new double[1];
+        rows.append(-5, (x, y, w, h) -> emitted[0] = h);
+        rows.append(10);
+        assertEquals(0, emitted[0]);
+        assertEquals(0, rows.height(1));
+        assertEquals(12, rows.offset(1));
+        assertEquals(14, rows.offset(2));
+
+        // Offsets must not go backward, or the lookup of rows by offset breaks
+        rows.setHeight(0, -20);
+        assertEquals(0, rows.height(0));
+        assertEquals(2, rows.offset(1));
+        assertEquals(4, rows.offset(2));
+        assertEquals(0, rows.indexAt(1));
+        assertEquals(1, rows.indexAt(3));
+        assertEquals(2, rows.indexAt(5));
+        assertEquals(-1, rows.indexAt(16));
+    }
+}
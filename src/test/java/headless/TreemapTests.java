@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2024 Parisi Alessandro - alessandro.parisi406@gmail.com
+ * This file is part of rectcut-java (https://github.com/palexdev/rectcut-java)
+ *
+ * rectcut-java is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public License
+ * as published by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * rectcut-java is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with rectcut-java. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package headless;
+
+import io.github.palexdev.rectcut.Rect;
+import io.github.palexdev.rectcut.RectBuffer;
+import io.github.palexdev.rectcut.treemap.Treemap;
+import io.github.palexdev.rectcut.treemap.WeightedTree;
+import io.github.palexdev.rectcut.validation.LayoutValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TreemapTests {
+
+    @Test
+    void testSquarifiedProportional() {
+        Random random = new Random(21);
+        WeightedTree.Builder builder = WeightedTree.builder();
+        for (int i = 0; i < 30; i++) {
+            int group = builder.add(0, 0);
+            for (int j = 0; j < 1 + random.nextInt(10); j++) builder.add(group, 1 + random.nextInt(100));
+        }
+        WeightedTree tree = builder.build();
+        Rect bounds = Rect.of(10, 10, 810, 610);
+        RectBuffer out = Treemap.squarified().withPool(null).layout(tree, bounds, new RectBuffer());
+
+        assertEquals(bounds, out.rect(0));
+        for (int node = 0; node < tree.size(); node++) {
+            int n = tree.childCount(node);
+            if (n == 0) continue;
+            double parentArea = out.width(node) * out.height(node);
+            RectBuffer children = new RectBuffer();
+            for (int i = 0; i < n; i++) {
+                int child = tree.child(node, i);
+                double expected = parentArea * tree.weight(child) / tree.weight(node);
+                assertEquals(expected, out.width(child) * out.height(child), 1e-6 * parentArea);
+                children.add(out.rect(child));
+            }
+            // The children exactly tile their parent
+            assertTrue(new LayoutValidator().withEpsilon(1e-6).validate(children, out.rect(node)).isValid());
+        }
+    }
+
+    @Test
+    void testZeroWeights() {
+        WeightedTree.Builder builder = WeightedTree.builder();
+        int empty = builder.add(0, 0);
+        builder.add(empty, 0);
+        builder.add(empty, 0);
+        int full = builder.add(0, 10);
+        int leaf = builder.add(0, 0);
+        WeightedTree tree = builder.build();
+        assertEquals(0, tree.weight(empty));
+
+        Rect bounds = Rect.of(0, 0, 100, 50);
+        for (Treemap treemap : new Treemap[]{Treemap.squarified(), Treemap.sliceAndDice()}) {
+            RectBuffer out = treemap.withPool(null).layout(tree, bounds, new RectBuffer());
+            assertEquals(bounds, out.rect(full), treemap.algorithm().toString());
+            for (int node : new int[]{empty, leaf, empty + 1, empty + 2}) {
+                assertEquals(0, out.width(node) * out.height(node), treemap.algorithm().toString());
+            }
+        }
+
+        // Nothing has weight
+        WeightedTree none = WeightedTree.builder().build();
+        RectBuffer out = Treemap.squarified().layout(none, bounds, new RectBuffer());
+        assertEquals(1, out.size());
+        assertEquals(bounds, out.rect(0));
+    }
+
+    @Test
+    void testSliceAndDiceAlternates() {
+        WeightedTree.Builder builder = WeightedTree.builder();
+        int a = builder.add(0, 0);
+        int b = builder.add(0, 0);
+        int a1 = builder.add(a, 1);
+        int a2 = builder.add(a, 3);
+        builder.add(b, 4);
+        WeightedTree tree = builder.build();
+        RectBuffer out = Treemap.sliceAndDice().withPadding(2).layout(tree, Rect.of(0, 0, 104, 54), new RectBuffer());
+
+        // Depth 0 splits horizontally, inside the padding
+        assertEquals(Rect.of(2, 2, 52, 52), out.rect(a));
+        assertEquals(Rect.of(52, 2, 102, 52), out.rect(b));
+        // Depth 1 splits vertically
+        assertEquals(Rect.of(4, 4, 50, 15.5), out.rect(a1));
+        assertEquals(Rect.of(4, 15.5, 50, 50), out.rect(a2));
+    }
+
+    @Test
+    void testParallelIdentical() {
+        Random random = new Random(22);
+        WeightedTree.Builder builder = WeightedTree.builder();
+        for (int i = 1; i < 20_000; i++) {
+            int parent = random.nextInt(Math.min(i, 200));
+            builder.add(parent, i < 200 ? 0 : random.nextDouble() * 100);
+        }
+        WeightedTree tree = builder.build();
+        Rect bounds = Rect.of(0, 0, 1920, 1080);
+
+        for (Treemap treemap : new Treemap[]{Treemap.squarified(), Treemap.sliceAndDice().withPadding(1)}) {
+            RectBuffer sequential = treemap.withPool(null).layout(tree, bounds, new RectBuffer());
+            try (ForkJoinPool pool = new ForkJoinPool(4)) {
+                treemap.withPool(pool).withParallelThreshold(8);
+                for (int i = 0; i < 5; i++) {
+                    RectBuffer parallel = treemap.layout(tree, bounds, new RectBuffer());
+                    assertArrayEquals(
+                        Arrays.copyOf(sequential.array(), tree.size() * 4),
+                        Arrays.copyOf(parallel.array(), tree.size() * 4)
+                    );
+                }
+            }
+        }
+    }
+}